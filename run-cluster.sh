@@ -0,0 +1,143 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+IMAGE_NAME="${IMAGE_NAME:-redis-benchmark-runner}"
+NETWORK_NAME="${NETWORK_NAME:-redis-benchmark-net}"
+REDIS_IMAGE="${REDIS_IMAGE:-redis:7-alpine}"
+NODE_PREFIX="${NODE_PREFIX:-redis-benchmark-node}"
+RUNNER_CONTAINER="${RUNNER_CONTAINER:-redis-benchmark}"
+CLUSTER_SIZES="${CLUSTER_SIZES:-1 3 6}"
+TOTAL_SLOTS=16384
+NODE_COUNT=0
+IMAGE_BUILT=0
+
+stop_cluster() {
+  for ((i = 1; i <= NODE_COUNT; i++)); do
+    docker rm -f "${NODE_PREFIX}-${i}" >/dev/null 2>&1 || true
+  done
+  NODE_COUNT=0
+}
+
+cleanup() {
+  set +e
+  docker rm -f "${RUNNER_CONTAINER}" >/dev/null 2>&1 || true
+  stop_cluster
+  docker network rm "${NETWORK_NAME}" >/dev/null 2>&1 || true
+  if [[ "${IMAGE_BUILT}" -eq 1 ]]; then
+    docker rmi "${IMAGE_NAME}" >/dev/null 2>&1 || true
+  fi
+  set -e
+}
+
+ensure_docker() {
+  if ! command -v docker >/dev/null 2>&1; then
+    echo "Docker es requerido para ejecutar este benchmark."
+    exit 1
+  fi
+}
+
+build_image() {
+  echo "Construyendo imagen ${IMAGE_NAME}..."
+  docker build --rm --force-rm -t "${IMAGE_NAME}" "${ROOT_DIR}"
+  IMAGE_BUILT=1
+}
+
+ensure_network() {
+  if ! docker network ls --format '{{.Name}}' | grep -qx "${NETWORK_NAME}"; then
+    docker network create "${NETWORK_NAME}" >/dev/null
+  fi
+}
+
+node_cli() {
+  local index="$1"
+  shift
+  docker exec "${NODE_PREFIX}-${index}" redis-cli "$@"
+}
+
+node_ip() {
+  docker inspect -f '{{range .NetworkSettings.Networks}}{{.IPAddress}}{{end}}' "${NODE_PREFIX}-$1"
+}
+
+# Starts N empty cluster-enabled nodes, splits the 16384 slots evenly and joins them with CLUSTER MEET
+# (works for a single node too, unlike redis-cli --cluster create).
+start_cluster() {
+  local size="$1"
+  echo "Arrancando cluster Redis de ${size} nodo(s)..."
+  for ((i = 1; i <= size; i++)); do
+    docker run --rm -d --name "${NODE_PREFIX}-${i}" --network "${NETWORK_NAME}" "${REDIS_IMAGE}" \
+      redis-server --cluster-enabled yes --cluster-config-file nodes.conf --save "" --appendonly no >/dev/null
+    NODE_COUNT=$i
+  done
+  for ((i = 1; i <= size; i++)); do
+    for _ in {1..30}; do
+      if node_cli "$i" ping >/dev/null 2>&1; then
+        break
+      fi
+      sleep 1
+    done
+    local first=$(( (i - 1) * TOTAL_SLOTS / size ))
+    local last=$(( i * TOTAL_SLOTS / size - 1 ))
+    node_cli "$i" CLUSTER ADDSLOTSRANGE "${first}" "${last}" >/dev/null
+  done
+  local seed_ip
+  seed_ip="$(node_ip 1)"
+  for ((i = 2; i <= size; i++)); do
+    node_cli "$i" CLUSTER MEET "${seed_ip}" 6379 >/dev/null
+  done
+  echo "Esperando a que el cluster converja..."
+  for _ in {1..60}; do
+    local ready=1
+    for ((i = 1; i <= size; i++)); do
+      local info
+      info="$(node_cli "$i" CLUSTER INFO | tr -d '\r')"
+      if ! grep -qx "cluster_state:ok" <<<"${info}" || ! grep -qx "cluster_known_nodes:${size}" <<<"${info}"; then
+        ready=0
+      fi
+    done
+    if [[ "${ready}" -eq 1 ]]; then
+      echo "Cluster listo."
+      return
+    fi
+    sleep 1
+  done
+  echo "El cluster no convergió a tiempo" >&2
+  exit 1
+}
+
+cluster_nodes() {
+  local nodes=""
+  for ((i = 1; i <= NODE_COUNT; i++)); do
+    nodes+="${nodes:+,}redis://${NODE_PREFIX}-${i}:6379"
+  done
+  echo "${nodes}"
+}
+
+run_benchmarks() {
+  mkdir -p "${ROOT_DIR}/benchmark-results"
+  docker run --rm \
+    --name "${RUNNER_CONTAINER}" \
+    --network "${NETWORK_NAME}" \
+    -e REDIS_URI="redis://${NODE_PREFIX}-1:6379" \
+    -e BENCHMARK_COMMAND=cluster \
+    -e BENCHMARK_CLUSTER_NODES="$(cluster_nodes)" \
+    -v "${ROOT_DIR}/benchmark-results:/app/benchmark-results" \
+    "${IMAGE_NAME}" "$@"
+}
+
+ensure_docker
+trap cleanup EXIT INT TERM
+
+docker rm -f "${RUNNER_CONTAINER}" >/dev/null 2>&1 || true
+docker rmi "${IMAGE_NAME}" >/dev/null 2>&1 || true
+rm -f "${ROOT_DIR}/benchmark-results/cluster-scaling.csv"
+
+build_image
+ensure_network
+for size in ${CLUSTER_SIZES}; do
+  start_cluster "${size}"
+  run_benchmarks "$@"
+  stop_cluster
+done
+
+echo "Benchmarks de cluster completados. Resultados en benchmark-results/cluster-scaling.txt"
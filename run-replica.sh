@@ -0,0 +1,105 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+IMAGE_NAME="${IMAGE_NAME:-redis-benchmark-runner}"
+NETWORK_NAME="${NETWORK_NAME:-redis-benchmark-net}"
+REDIS_IMAGE="${REDIS_IMAGE:-redis:7-alpine}"
+REDIS_CONTAINER="${REDIS_CONTAINER:-redis-benchmark-redis}"
+REPLICA_PREFIX="${REPLICA_PREFIX:-redis-benchmark-replica}"
+RUNNER_CONTAINER="${RUNNER_CONTAINER:-redis-benchmark}"
+REPLICA_COUNT="${REPLICA_COUNT:-2}"
+IMAGE_BUILT=0
+
+cleanup() {
+  set +e
+  docker rm -f "${RUNNER_CONTAINER}" >/dev/null 2>&1 || true
+  for ((i = 1; i <= REPLICA_COUNT; i++)); do
+    docker rm -f "${REPLICA_PREFIX}-${i}" >/dev/null 2>&1 || true
+  done
+  docker rm -f "${REDIS_CONTAINER}" >/dev/null 2>&1 || true
+  docker network rm "${NETWORK_NAME}" >/dev/null 2>&1 || true
+  if [[ "${IMAGE_BUILT}" -eq 1 ]]; then
+    docker rmi "${IMAGE_NAME}" >/dev/null 2>&1 || true
+  fi
+  set -e
+}
+
+ensure_docker() {
+  if ! command -v docker >/dev/null 2>&1; then
+    echo "Docker es requerido para ejecutar este benchmark."
+    exit 1
+  fi
+}
+
+build_image() {
+  echo "Construyendo imagen ${IMAGE_NAME}..."
+  docker build --rm --force-rm -t "${IMAGE_NAME}" "${ROOT_DIR}"
+  IMAGE_BUILT=1
+}
+
+ensure_network() {
+  if ! docker network ls --format '{{.Name}}' | grep -qx "${NETWORK_NAME}"; then
+    docker network create "${NETWORK_NAME}" >/dev/null
+  fi
+}
+
+start_redis() {
+  echo "Arrancando Redis maestro y ${REPLICA_COUNT} réplica(s)..."
+  docker run --rm -d --name "${REDIS_CONTAINER}" --network "${NETWORK_NAME}" "${REDIS_IMAGE}" >/dev/null
+  for ((i = 1; i <= REPLICA_COUNT; i++)); do
+    docker run --rm -d --name "${REPLICA_PREFIX}-${i}" --network "${NETWORK_NAME}" "${REDIS_IMAGE}" \
+      redis-server --replicaof "${REDIS_CONTAINER}" 6379 >/dev/null
+  done
+}
+
+wait_for_replication() {
+  echo "Esperando a que las réplicas se sincronicen..."
+  for _ in {1..60}; do
+    local ready=1
+    for ((i = 1; i <= REPLICA_COUNT; i++)); do
+      if ! docker exec "${REPLICA_PREFIX}-${i}" redis-cli INFO replication 2>/dev/null | tr -d '\r' | grep -qx "master_link_status:up"; then
+        ready=0
+      fi
+    done
+    if [[ "${ready}" -eq 1 ]]; then
+      echo "Replicación lista."
+      return
+    fi
+    sleep 1
+  done
+  echo "Las réplicas no se sincronizaron a tiempo" >&2
+  exit 1
+}
+
+replica_uris() {
+  local uris=""
+  for ((i = 1; i <= REPLICA_COUNT; i++)); do
+    uris+="${uris:+,}redis://${REPLICA_PREFIX}-${i}:6379"
+  done
+  echo "${uris}"
+}
+
+run_benchmarks() {
+  mkdir -p "${ROOT_DIR}/benchmark-results"
+  docker run --rm \
+    --name "${RUNNER_CONTAINER}" \
+    --network "${NETWORK_NAME}" \
+    -e REDIS_URI="redis://${REDIS_CONTAINER}:6379" \
+    -e BENCHMARK_COMMAND=replica \
+    -e BENCHMARK_REPLICAS="$(replica_uris)" \
+    -v "${ROOT_DIR}/benchmark-results:/app/benchmark-results" \
+    "${IMAGE_NAME}" "$@"
+}
+
+ensure_docker
+trap cleanup EXIT INT TERM
+
+cleanup
+build_image
+ensure_network
+start_redis
+wait_for_replication
+run_benchmarks "$@"
+
+echo "Benchmark de réplicas completado. Resultados en benchmark-results/replica-scaling.txt"
@@ -8,6 +8,7 @@ REDIS_IMAGE="${REDIS_IMAGE:-redis:7-alpine}"
 REDIS_CONTAINER="${REDIS_CONTAINER:-redis-benchmark-redis}"
 RUNNER_CONTAINER="${RUNNER_CONTAINER:-redis-benchmark}"
 REDIS_URI="redis://${REDIS_CONTAINER}:6379"
+METRICS_PORT="${METRICS_PORT:-}"
 NETWORK_CREATED=0
 REDIS_STARTED=0
 IMAGE_BUILT=0
@@ -72,12 +73,18 @@ wait_for_redis() {
 
 run_benchmarks() {
   mkdir -p "${ROOT_DIR}/benchmark-results"
+  local metrics_args=()
+  if [[ -n "${METRICS_PORT}" ]]; then
+    echo "Métricas Prometheus en http://localhost:${METRICS_PORT}/metrics"
+    metrics_args=(-p "${METRICS_PORT}:${METRICS_PORT}" -e BENCHMARK_METRICS_PORT="${METRICS_PORT}")
+  fi
   docker run --rm \
     --name "${RUNNER_CONTAINER}" \
     --network "${NETWORK_NAME}" \
     -e REDIS_URI="${REDIS_URI}" \
+    ${metrics_args[@]+"${metrics_args[@]}"} \
     -v "${ROOT_DIR}/benchmark-results:/app/benchmark-results" \
-    "${IMAGE_NAME}"
+    "${IMAGE_NAME}" "$@"
 }
 
 ensure_docker
@@ -89,6 +96,6 @@ build_image
 ensure_network
 start_redis
 wait_for_redis
-run_benchmarks
+run_benchmarks "$@"
 
 echo "Benchmarks completados. Resultados en benchmark-results/latest.txt"
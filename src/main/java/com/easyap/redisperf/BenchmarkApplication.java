@@ -1,24 +1,17 @@
 package com.easyap.redisperf;
 
 import com.easyap.redisperf.cache.CacheAdapter;
-import com.easyap.redisperf.cache.jedis.JedisCacheAdapter;
-import com.easyap.redisperf.cache.redisson.RedissonCacheAdapter;
-import com.easyap.redisperf.cache.redisson.RedissonClientSideCacheAdapter;
 import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.jfr.PhaseEvent;
+import com.easyap.redisperf.jfr.ScenarioRecording;
 import com.easyap.redisperf.metrics.BenchmarkResult;
-import com.easyap.redisperf.model.CustomerProfile;
-import com.easyap.redisperf.model.InventorySnapshot;
-import com.easyap.redisperf.model.LargeTextDocument;
-import com.easyap.redisperf.model.MetricsBatch;
-import com.easyap.redisperf.model.OrderAggregate;
-import com.easyap.redisperf.model.PlainTextMessage;
-import org.apache.commons.lang3.RandomStringUtils;
+import com.easyap.redisperf.metrics.MetricsEndpoint;
+import com.easyap.redisperf.metrics.ServerStatsProbe;
 import org.redisson.api.RBucket;
 import org.redisson.api.RClientSideCaching;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.options.ClientSideCachingOptions;
 import org.redisson.codec.SerializationCodec;
-import redis.clients.jedis.JedisPooled;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -39,46 +32,69 @@ import java.util.stream.Collectors;
 public class BenchmarkApplication {
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ROOT);
-    private static final int LOCAL_CACHE_MAX_SIZE = 20_000;
 
     public static void main(String[] args) {
         BenchmarkConfig config = BenchmarkConfig.fromArgs(args);
+        MetricsEndpoint metrics = MetricsEndpoint.start(config.getMetricsPort());
+        try {
+            run(config, args);
+        } finally {
+            metrics.close();
+        }
+    }
+
+    private static void run(BenchmarkConfig config, String[] args) {
+        if (config.getCommand().equals("sweep")) {
+            new SweepEngine(config).run();
+            return;
+        }
+        if (config.getCommand().equals("sizes")) {
+            new PayloadSizeSweep(config, args).run();
+            return;
+        }
+        if (config.getCommand().equals("cluster")) {
+            new ClusterBenchmark(config).run();
+            return;
+        }
+        if (config.getCommand().equals("leaderboard")) {
+            new LeaderboardBenchmark(config).run();
+            return;
+        }
+        if (config.getCommand().equals("streams")) {
+            new StreamsBenchmark(config).run();
+            return;
+        }
+        if (config.getCommand().equals("pubsub")) {
+            new PubSubBenchmark(config).run();
+            return;
+        }
+        if (config.getCommand().equals("replica")) {
+            new ReplicaReadBenchmark(config).run();
+            return;
+        }
+        if (config.getCommand().equals("compare")) {
+            if (!new RegressionGate(config).run()) {
+                System.exit(1);
+            }
+            return;
+        }
+        if (config.getCommand().equals("coordinator")) {
+            new DistributedCoordinator(config, args).run();
+            return;
+        }
+        if (config.getCommand().equals("worker")) {
+            new DistributedWorker(config).run();
+            return;
+        }
         RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
         BenchmarkRunner runner = new BenchmarkRunner(config);
         ReadMostlyBenchmark readMostlyBenchmark = new ReadMostlyBenchmark(config);
 
-        List<ObjectGenerator<?>> generators = Arrays.asList(
-                new ObjectGenerator<>("CustomerProfile", CustomerProfile::random),
-                new ObjectGenerator<>("OrderAggregate", OrderAggregate::random),
-                new ObjectGenerator<>("InventorySnapshot", InventorySnapshot::random),
-                new ObjectGenerator<>("PlainTextMessage", PlainTextMessage::random),
-                new ObjectGenerator<>("LargeTextDocument", LargeTextDocument::random),
-                new ObjectGenerator<>("MetricsBatch", MetricsBatch::random),
-                new ObjectGenerator<>("LargeString", () -> RandomStringUtils.randomAlphabetic(2_048))
-        );
-
-        List<BenchmarkScenario> scenarios = Arrays.asList(
-                new BenchmarkScenario(
-                        "Jedis (no cache)",
-                        "UnifiedJedis with manual Java serialization and no local cache.",
-                        () -> new JedisCacheAdapter(clientFactory.createJedis())
-                ),
-                new BenchmarkScenario(
-                        "Jedis client cache",
-                        "UnifiedJedis using redis.clients.jedis.csc with a 20k-entry local cache.",
-                        () -> new JedisCacheAdapter(clientFactory.createCachedJedis(LOCAL_CACHE_MAX_SIZE))
-                ),
-                new BenchmarkScenario(
-                        "Redisson (no cache)",
-                        "Redisson using Java SerializationCodec (same payload format as Jedis) without local cache.",
-                        () -> new RedissonCacheAdapter(clientFactory.createRedisson())
-                ),
-                new BenchmarkScenario(
-                        "Redisson client cache",
-                        "Redisson client-side caching (RESP3 tracking + SerializationCodec) with a 20k-entry local cache.",
-                        () -> new RedissonClientSideCacheAdapter(clientFactory.createRedisson(), LOCAL_CACHE_MAX_SIZE)
-                )
-        );
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        List<BenchmarkScenario> scenarios = BenchmarkCatalog.selectScenarios(
+                BenchmarkCatalog.scenarios(clientFactory, config), config.getScenarioFilters());
+        List<TestMode> modes = BenchmarkCatalog.selectModes(config.getModeFilters());
 
         List<BenchmarkRecord> records = new ArrayList<>();
         List<String> setGetDiagnostics = new ArrayList<>();
@@ -88,39 +104,34 @@ public class BenchmarkApplication {
 
         System.out.printf(
                 Locale.ROOT,
-                "== Redis Benchmark ==%nRedis URI: %s%nThreads: %d | Iterations per thread: %d | TTL: %d s%n%n",
+                "== Redis Benchmark ==%nRedis URI: %s%nThreads: %d | Iterations per thread: %d | TTL: %d s | Runs: %d%nPayload pool: %d objects per type%s%n%n",
                 config.getRedisUri(),
                 config.getThreadCount(),
                 config.getIterationsPerThread(),
-                config.getTtlSeconds()
+                config.getTtlSeconds(),
+                config.getScenarioRuns(),
+                config.getPayloadPoolSize(),
+                config.isPreSerializePayloads() ? " (pre-serialized arena)" : ""
         );
 
-        for (ObjectGenerator<?> generator : generators) {
-            for (BenchmarkScenario scenario : scenarios) {
-                flushDatabase(clientFactory);
-                printTestHeader(TestMode.SET_GET, scenario, generator.name());
-                try (CacheAdapter cacheAdapter = scenario.cacheSupplier().get()) {
-                    BenchmarkResult result = runner.runScenario(scenario.name() + " | SetGet", generator, cacheAdapter);
-                    records.add(new BenchmarkRecord(TestMode.SET_GET, scenario.name(), generator.name(), result));
-                    setGetDiagnostics.add(formatSetGetDiagnostic(scenario.name(), generator.name(), result));
-                    printResult(result);
-                }
+        int runs = config.getScenarioRuns();
+        try (KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                clientFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                Arrays.asList(KeySpace.SET_GET_NAMESPACE, KeySpace.READ_MOSTLY_NAMESPACE),
+                config.getCleanupBatchSize(),
+                config.getCleanupThreads())) {
+            KeyspaceCleaner.Result initialCleanup = cleaner.reset();
+            if (initialCleanup.keys() > 0) {
+                System.out.printf(Locale.ROOT, "Removed %,d leftover benchmark keys in %.1f ms%n%n",
+                        initialCleanup.keys(), initialCleanup.durationMillis());
+            }
 
-                flushDatabase(clientFactory);
-                printTestHeader(TestMode.READ_MOSTLY, scenario, generator.name());
-                ReadMostlyBenchmark.Outcome outcome = readMostlyBenchmark.run(scenario.name(), generator, scenario.cacheSupplier());
-                readMostlyOutcomeMap.put(scenario.name() + "|" + generator.name(), outcome);
-                BenchmarkResult readMostlyResult = outcome.result();
-                records.add(new BenchmarkRecord(TestMode.READ_MOSTLY, scenario.name(), generator.name(), readMostlyResult));
-                printResult(readMostlyResult);
-                String readDiag = formatReadMostlyDiagnostic(scenario.name(), generator.name(), outcome);
-                readMostlyDiagnostics.add(readDiag);
-                System.out.println("  " + readDiag);
-                if (!outcome.consistent()) {
-                anomalyDiagnostics.add("Inconsistency detected: " + readDiag);
+            for (int run = 1; run <= runs; run++) {
+                if (runs > 1) {
+                    System.out.printf(Locale.ROOT, "%n##### Run %d/%d #####%n", run, runs);
                 }
-
-                flushDatabase(clientFactory);
+                runOnce(config, run, rotate(scenarios, run - 1), generators, modes, runner, readMostlyBenchmark, cleaner,
+                        records, setGetDiagnostics, readMostlyDiagnostics, anomalyDiagnostics, readMostlyOutcomeMap);
             }
         }
 
@@ -130,18 +141,102 @@ public class BenchmarkApplication {
         List<String> summaryTable = buildSummaryTable(records);
         summaryTable.forEach(System.out::println);
 
-        List<String> winners = computeWinners(records);
+        MultiRunSummary multiRun = new MultiRunSummary(records);
+        if (runs > 1) {
+            System.out.println();
+            multiRun.summaryTable().forEach(System.out::println);
+        }
+
+        List<String> winners = runs > 1 ? multiRun.winnerLines() : computeWinners(records);
         System.out.println();
         System.out.println("=== Winners per workload ===");
         winners.forEach(line -> System.out.println(" - " + line));
 
-        persistResults(records, readMostlyOutcomeMap, setGetDiagnostics, readMostlyDiagnostics, anomalyDiagnostics, winners, invalidationOk);
+        persistResults(records, readMostlyOutcomeMap, setGetDiagnostics, readMostlyDiagnostics, anomalyDiagnostics, winners, invalidationOk, multiRun);
 
         System.out.println();
         System.out.println("Consolidated results saved to benchmark-results/latest.csv");
         System.out.printf("Client-side caching invalidation probe: %s%n", invalidationOk ? "OK" : "FAILED");
     }
 
+    private static void runOnce(BenchmarkConfig config,
+                                int run,
+                                List<BenchmarkScenario> scenarios,
+                                List<ObjectGenerator<?>> generators,
+                                List<TestMode> modes,
+                                BenchmarkRunner runner,
+                                ReadMostlyBenchmark readMostlyBenchmark,
+                                KeyspaceCleaner cleaner,
+                                List<BenchmarkRecord> records,
+                                List<String> setGetDiagnostics,
+                                List<String> readMostlyDiagnostics,
+                                List<String> anomalyDiagnostics,
+                                Map<String, ReadMostlyBenchmark.Outcome> readMostlyOutcomeMap) {
+        for (ObjectGenerator<?> generator : generators) {
+            for (BenchmarkScenario scenario : scenarios) {
+                if (modes.contains(TestMode.SET_GET)) {
+                    printTestHeader(TestMode.SET_GET, scenario, generator.name());
+                    try (ScenarioRecording recording = ScenarioRecording.start(config.isJfrRecording(), TestMode.SET_GET.title(), scenario.name(), generator.name(), run);
+                         CacheAdapter cacheAdapter = scenario.cacheSupplier().get()) {
+                        BenchmarkResult result = runner.runScenario(scenario.name() + " | SetGet", generator, cacheAdapter);
+                        recording.operations(result.getOperations());
+                        KeyspaceCleaner.Result cleanup = cleanup(cleaner, scenario.name() + " | SetGet", generator.name());
+                        records.add(new BenchmarkRecord(TestMode.SET_GET, scenario.name(), generator.name(), result, cleanup.durationNanos(), run));
+                        setGetDiagnostics.add(formatSetGetDiagnostic(scenario.name(), generator.name(), result));
+                        printResult(result);
+                        printCleanup(cleanup);
+                    }
+                }
+
+                if (modes.contains(TestMode.READ_MOSTLY)) {
+                    printTestHeader(TestMode.READ_MOSTLY, scenario, generator.name());
+                    ReadMostlyBenchmark.Outcome outcome;
+                    KeyspaceCleaner.Result cleanup;
+                    try (ScenarioRecording recording = ScenarioRecording.start(config.isJfrRecording(), TestMode.READ_MOSTLY.title(), scenario.name(), generator.name(), run)) {
+                        outcome = readMostlyBenchmark.run(scenario.name(), generator, scenario.cacheSupplier());
+                        recording.operations(outcome.result().getOperations());
+                        cleanup = cleanup(cleaner, scenario.name() + " | ReadMostly", generator.name());
+                    }
+                    readMostlyOutcomeMap.put(outcomeKey(scenario.name(), generator.name(), run), outcome);
+                    BenchmarkResult readMostlyResult = outcome.result();
+                    records.add(new BenchmarkRecord(TestMode.READ_MOSTLY, scenario.name(), generator.name(), readMostlyResult, cleanup.durationNanos(), run));
+                    printResult(readMostlyResult);
+                    printCleanup(cleanup);
+                    String readDiag = formatReadMostlyDiagnostic(scenario.name(), generator.name(), outcome);
+                    readMostlyDiagnostics.add(readDiag);
+                    System.out.println("  " + readDiag);
+                    if (!outcome.consistent()) {
+                    anomalyDiagnostics.add("Inconsistency detected: " + readDiag);
+                    }
+                }
+            }
+        }
+    }
+
+    private static KeyspaceCleaner.Result cleanup(KeyspaceCleaner cleaner, String scenario, String objectName) {
+        PhaseEvent phase = PhaseEvent.begin(scenario, objectName, PhaseEvent.CLEANUP);
+        KeyspaceCleaner.Result result = cleaner.reset();
+        phase.commit();
+        return result;
+    }
+
+    /**
+     * Run {@code n} starts {@code n} places further into the scenario list, so across runs every scenario takes
+     * every position and slow drift (server memory, JIT, thermal) is spread evenly instead of favouring whichever
+     * scenario always runs first.
+     */
+    static <T> List<T> rotate(List<T> items, int offset) {
+        List<T> rotated = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            rotated.add(items.get((i + offset) % items.size()));
+        }
+        return rotated;
+    }
+
+    private static String outcomeKey(String scenarioName, String objectName, int run) {
+        return scenarioName + "|" + objectName + "|" + run;
+    }
+
     private static void printTestHeader(TestMode mode, BenchmarkScenario scenario, String objectName) {
         System.out.println();
         System.out.printf("=== %s | Object: %s | Scenario: %s ===%n", mode.title(), objectName, scenario.name());
@@ -161,6 +256,39 @@ public class BenchmarkApplication {
                 result.getLatencySnapshot().p95Millis(),
                 result.getLatencySnapshot().p99Millis()
         );
+        if (!Double.isNaN(result.cpuMicrosPerOperation())) {
+            System.out.println("  " + formatCpu(result));
+        }
+        if (result.getCounters().containsKey("server.commands")) {
+            System.out.println("  " + ServerStatsProbe.summary(result.getCounters(), result.getOperations()));
+        }
+        if (!result.getCounters().isEmpty()) {
+            System.out.println("  Counters: " + formatCounters(result.getCounters()));
+        }
+    }
+
+    /**
+     * Process CPU per operation, then the share of each thread group that used any.
+     */
+    private static String formatCpu(BenchmarkResult result) {
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "CPU: %.1f us/op", result.cpuMicrosPerOperation()));
+        result.getCounters().forEach((name, micros) -> {
+            if (name.startsWith("cpu.") && !name.equals("cpu.processMicros") && micros > 0) {
+                String group = name.substring("cpu.".length(), name.length() - "Micros".length());
+                line.append(String.format(Locale.ROOT, " | %s %.1f", group, micros / (double) result.getOperations()));
+            }
+        });
+        return line.toString();
+    }
+
+    private static String formatCounters(Map<String, Long> counters) {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void printCleanup(KeyspaceCleaner.Result cleanup) {
+        System.out.printf(Locale.ROOT, "  Cleanup: %,d keys unlinked in %.1f ms%n", cleanup.keys(), cleanup.durationMillis());
     }
 
     private static String formatSetGetDiagnostic(String scenarioName, String objectName, BenchmarkResult result) {
@@ -198,11 +326,13 @@ public class BenchmarkApplication {
         List<String> lines = new ArrayList<>();
         lines.add("=== Comparative Table ===");
         String header = String.format(Locale.ROOT,
-                "%-18s | %-26s | %-22s | %12s | %9s | %9s | %9s",
+                "%-18s | %-26s | %-22s | %3s | %12s | %10s | %9s | %9s | %9s",
                 "Mode",
                 "Scenario",
                 "Object",
+                "Run",
                 "Ops/s",
+                "CPU us/op",
                 "Avg(ms)",
                 "p95(ms)",
                 "p99(ms)");
@@ -213,16 +343,19 @@ public class BenchmarkApplication {
                 .sorted(Comparator
                         .comparing((BenchmarkRecord r) -> r.mode().ordinal())
                         .thenComparing(BenchmarkRecord::objectName)
-                        .thenComparing(BenchmarkRecord::scenarioName))
+                        .thenComparing(BenchmarkRecord::scenarioName)
+                        .thenComparing(BenchmarkRecord::run))
                 .forEach(record -> {
                     BenchmarkResult result = record.result();
                     lines.add(String.format(
                             Locale.ROOT,
-                            "%-18s | %-26s | %-22s | %12.0f | %9.2f | %9.2f | %9.2f",
+                            "%-18s | %-26s | %-22s | %3d | %12.0f | %10.1f | %9.2f | %9.2f | %9.2f",
                             record.mode().title(),
                             record.scenarioName(),
                             record.objectName(),
+                            record.run(),
                             result.throughputPerSecond(),
+                            result.cpuMicrosPerOperation(),
                             result.averageLatencyMillis(),
                             result.getLatencySnapshot().p95Millis(),
                             result.getLatencySnapshot().p99Millis()
@@ -232,9 +365,75 @@ public class BenchmarkApplication {
         return lines;
     }
 
+    private static List<String> buildCoalescingComparison(List<BenchmarkRecord> records) {
+        Map<String, BenchmarkRecord> byKey = new HashMap<>();
+        for (BenchmarkRecord record : records) {
+            byKey.put(record.mode() + "|" + record.scenarioName() + "|" + record.objectName() + "|" + record.run(), record);
+        }
+        List<String> lines = new ArrayList<>();
+        for (BenchmarkRecord record : records) {
+            String name = record.scenarioName();
+            if (!name.endsWith(BenchmarkCatalog.COALESCED_SUFFIX)) {
+                continue;
+            }
+            String baseName = name.substring(0, name.length() - BenchmarkCatalog.COALESCED_SUFFIX.length());
+            BenchmarkRecord base = byKey.get(record.mode() + "|" + baseName + "|" + record.objectName() + "|" + record.run());
+            if (base == null) {
+                continue;
+            }
+            double baseP99 = base.result().getLatencySnapshot().p99Millis();
+            double p99 = record.result().getLatencySnapshot().p99Millis();
+            long leaders = BenchmarkResult.sumEvents(record.result().getCounters(), "coalescing.leaders");
+            long followers = BenchmarkResult.sumEvents(record.result().getCounters(), "coalescing.followers");
+            long reads = leaders + followers;
+            lines.add(String.format(Locale.ROOT, "%s | %s | %s: p99 %.2f -> %.2f ms (%+.1f %%), coalesced reads %.1f %%",
+                    record.mode().title(),
+                    baseName,
+                    record.objectName(),
+                    baseP99,
+                    p99,
+                    baseP99 == 0 ? 0.0 : (p99 - baseP99) / baseP99 * 100.0,
+                    reads == 0 ? 0.0 : followers * 100.0 / reads));
+        }
+        return lines;
+    }
+
+    /**
+     * Each library scenario against the raw RESP client on the same workload and payload: the throughput share it
+     * keeps and the p50 it adds on top of the wire round-trip.
+     */
+    private static List<String> buildBaselineComparison(List<BenchmarkRecord> records) {
+        Map<String, BenchmarkRecord> baselines = new HashMap<>();
+        for (BenchmarkRecord record : records) {
+            if (BenchmarkCatalog.BASELINE_SCENARIO.equals(record.scenarioName())) {
+                baselines.put(record.mode() + "|" + record.objectName() + "|" + record.run(), record);
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        for (BenchmarkRecord record : records) {
+            BenchmarkRecord baseline = baselines.get(record.mode() + "|" + record.objectName() + "|" + record.run());
+            if (baseline == null || baseline == record) {
+                continue;
+            }
+            double baselineOps = baseline.result().throughputPerSecond();
+            double baselineP50 = baseline.result().getLatencySnapshot().p50Millis();
+            double p50 = record.result().getLatencySnapshot().p50Millis();
+            lines.add(String.format(Locale.ROOT, "%s | %s | %s: %.1f %% of baseline throughput, p50 %+.3f ms",
+                    record.mode().title(),
+                    record.scenarioName(),
+                    record.objectName(),
+                    baselineOps == 0 ? 0.0 : record.result().throughputPerSecond() * 100.0 / baselineOps,
+                    p50 - baselineP50));
+        }
+        return lines;
+    }
+
     private static List<String> computeWinners(List<BenchmarkRecord> records) {
         Map<ModeObjectKey, BenchmarkRecord> bestByMode = new HashMap<>();
         for (BenchmarkRecord record : records) {
+            if (BenchmarkCatalog.BASELINE_SCENARIO.equals(record.scenarioName())) {
+                continue;
+            }
             ModeObjectKey key = new ModeObjectKey(record.mode(), record.objectName());
             bestByMode.merge(key, record, (current, candidate) ->
                     candidate.result().throughputPerSecond() > current.result().throughputPerSecond() ? candidate : current);
@@ -313,13 +512,14 @@ public class BenchmarkApplication {
                                        List<String> readMostlyDiagnostics,
                                        List<String> anomalyDiagnostics,
                                        List<String> winners,
-                                       boolean invalidationOk) {
+                                       boolean invalidationOk,
+                                       MultiRunSummary multiRun) {
         Path directory = Paths.get("benchmark-results");
         try {
             Files.createDirectories(directory);
 
             List<String> csvLines = new ArrayList<>();
-            csvLines.add("mode,scenario,object,operations,seconds,ops_per_sec,average_ms,p50_ms,p95_ms,p99_ms,writer_threads,reader_threads,final_version,max_observed_version,consistent");
+            csvLines.add("mode,scenario,object,operations,seconds,ops_per_sec,average_ms,p50_ms,p95_ms,p99_ms,writer_threads,reader_threads,final_version,max_observed_version,consistent,cleanup_ms,run,cpu_us_per_op,server_us_per_cmd,server_cmds_per_op,net_in_bytes,net_out_bytes,tracked_keys");
             for (BenchmarkRecord record : records) {
                 BenchmarkResult result = record.result();
                 double seconds = result.getDurationNanos() / 1_000_000_000.0;
@@ -329,7 +529,7 @@ public class BenchmarkApplication {
                 String observedVersion = "";
                 String consistent = "";
                 if (record.mode() == TestMode.READ_MOSTLY) {
-                    ReadMostlyBenchmark.Outcome outcome = readMostlyOutcomeMap.get(record.scenarioName() + "|" + record.objectName());
+                    ReadMostlyBenchmark.Outcome outcome = readMostlyOutcomeMap.get(outcomeKey(record.scenarioName(), record.objectName(), record.run()));
                     if (outcome != null) {
                         writerThreads = String.valueOf(outcome.writerThreads());
                         readerThreads = String.valueOf(outcome.readerThreads());
@@ -339,7 +539,7 @@ public class BenchmarkApplication {
                     }
                 }
                 csvLines.add(String.format(Locale.ROOT,
-                        "%s,%s,%s,%d,%.6f,%.0f,%.2f,%.2f,%.2f,%.2f,%s,%s,%s,%s,%s",
+                        "%s,%s,%s,%d,%.6f,%.0f,%.2f,%.2f,%.2f,%.2f,%s,%s,%s,%s,%s,%.1f,%d,%s,%s,%s,%s,%s,%s",
                         record.mode().title(),
                         escapeCsv(record.scenarioName()),
                         escapeCsv(record.objectName()),
@@ -354,7 +554,15 @@ public class BenchmarkApplication {
                         readerThreads,
                         finalVersion,
                         observedVersion,
-                        consistent));
+                        consistent,
+                        record.cleanupMillis(),
+                        record.run(),
+                        csvNumber(result.cpuMicrosPerOperation()),
+                        csvNumber(ServerStatsProbe.usecPerCommand(result.getCounters())),
+                        csvNumber(ServerStatsProbe.commandsPerOperation(result.getCounters(), result.getOperations())),
+                        csvCounter(result, "server.netInputBytes"),
+                        csvCounter(result, "server.netOutputBytes"),
+                        csvCounter(result, "server.trackingKeys")));
             }
 
             Path output = directory.resolve("latest.csv");
@@ -363,6 +571,8 @@ public class BenchmarkApplication {
             String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT).format(LocalDateTime.now());
             Path archived = directory.resolve("run-" + timestamp + ".csv");
             Files.write(archived, csvLines);
+            Files.write(directory.resolve("multi-run-summary.csv"), multiRun.summaryCsv());
+            Files.write(directory.resolve("multi-run-winners.csv"), multiRun.winnersCsv());
 
             List<String> notes = new ArrayList<>();
             notes.add("Redis Benchmark Report");
@@ -389,6 +599,34 @@ public class BenchmarkApplication {
                 readMostlyDiagnostics.forEach(diag -> notes.add("  " + diag));
             }
             notes.add("");
+            notes.add("Client overhead (vs. " + BenchmarkCatalog.BASELINE_SCENARIO + "):");
+            List<String> overhead = buildBaselineComparison(records);
+            if (overhead.isEmpty()) {
+                notes.add("  (none)");
+            } else {
+                overhead.forEach(line -> notes.add("  " + line));
+            }
+            notes.add("");
+            notes.add("Request coalescing (p99 vs. the same scenario without coalescing):");
+            List<String> coalescing = buildCoalescingComparison(records);
+            if (coalescing.isEmpty()) {
+                notes.add("  (none)");
+            } else {
+                coalescing.forEach(line -> notes.add("  " + line));
+            }
+            notes.add("");
+            notes.add("Adapter counters:");
+            List<BenchmarkRecord> withCounters = records.stream()
+                    .filter(record -> !record.result().getCounters().isEmpty())
+                    .collect(Collectors.toList());
+            if (withCounters.isEmpty()) {
+                notes.add("  (none)");
+            } else {
+                withCounters.forEach(record -> notes.add(String.format(Locale.ROOT, "  %s | Scenario=%s | Object=%s | %s",
+                        record.mode().title(), record.scenarioName(), record.objectName(),
+                        formatCounters(record.result().getCounters()))));
+            }
+            notes.add("");
             notes.add("Inconsistencies:");
             if (anomalyDiagnostics.isEmpty()) {
                 notes.add("  (none)");
@@ -397,18 +635,14 @@ public class BenchmarkApplication {
             }
             notes.add("");
             notes.add("Client-side cache invalidation probe: " + (invalidationOk ? "OK" : "FAILED"));
+            double cleanupMillis = records.stream().mapToDouble(BenchmarkRecord::cleanupMillis).sum();
+            notes.add(String.format(Locale.ROOT, "Scoped cleanup time (all scenarios): %.1f ms", cleanupMillis));
             Files.write(directory.resolve("latest-notes.txt"), notes);
         } catch (IOException e) {
             System.err.println("Failed to write benchmark artefacts: " + e.getMessage());
         }
     }
 
-    private static void flushDatabase(RedisClientFactory factory) {
-        try (JedisPooled jedis = factory.createJedis()) {
-            jedis.flushAll();
-        }
-    }
-
     private static String repeat(char value, int count) {
         StringBuilder builder = new StringBuilder(count);
         for (int i = 0; i < count; i++) {
@@ -427,6 +661,18 @@ public class BenchmarkApplication {
         return value;
     }
 
+    /**
+     * Empty when not measured (e.g. the JVM or server did not expose it).
+     */
+    private static String csvNumber(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String csvCounter(BenchmarkResult result, String counter) {
+        Long value = result.getCounters().get(counter);
+        return value == null ? "" : String.valueOf(value);
+    }
+
     private static class ModeObjectKey {
         private final TestMode mode;
         private final String objectName;
@@ -0,0 +1,487 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CoalescingCacheAdapter;
+import com.easyap.redisperf.cache.jedis.ChunkedJedisCacheAdapter;
+import com.easyap.redisperf.cache.jedis.JedisCacheAdapter;
+import com.easyap.redisperf.cache.jedis.JedisReplicaCacheAdapter;
+import com.easyap.redisperf.cache.near.BytesNearCacheAdapter;
+import com.easyap.redisperf.cache.near.NearCacheInvalidationHandler;
+import com.easyap.redisperf.cache.near.NearCacheStats;
+import com.easyap.redisperf.cache.near.NearCacheStore;
+import com.easyap.redisperf.cache.near.ObjectNearCacheAdapter;
+import com.easyap.redisperf.cache.near.OffHeapNearCache;
+import com.easyap.redisperf.cache.near.TinyLfuCache;
+import com.easyap.redisperf.cache.near.TrackingInvalidationListener;
+import com.easyap.redisperf.cache.near.TrackingMode;
+import com.easyap.redisperf.cache.redisson.RedissonCacheAdapter;
+import com.easyap.redisperf.cache.redisson.RedissonClientSideCacheAdapter;
+import com.easyap.redisperf.cache.redisson.RedissonLocalCachedMapAdapter;
+import com.easyap.redisperf.cache.resp.RespCacheAdapter;
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.leaderboard.JedisLeaderboardAdapter;
+import com.easyap.redisperf.leaderboard.LeaderboardAdapter;
+import com.easyap.redisperf.leaderboard.RedissonLeaderboardAdapter;
+import com.easyap.redisperf.model.CustomerProfile;
+import com.easyap.redisperf.model.InventorySnapshot;
+import com.easyap.redisperf.model.LargeTextDocument;
+import com.easyap.redisperf.model.MetricsBatch;
+import com.easyap.redisperf.model.OrderAggregate;
+import com.easyap.redisperf.model.PlainTextMessage;
+import com.easyap.redisperf.model.SizedRecord;
+import com.easyap.redisperf.pubsub.JedisPubSubAdapter;
+import com.easyap.redisperf.pubsub.PubSubAdapter;
+import com.easyap.redisperf.pubsub.RedissonPubSubAdapter;
+import com.easyap.redisperf.stream.JedisStreamAdapter;
+import com.easyap.redisperf.stream.RedissonStreamAdapter;
+import com.easyap.redisperf.stream.StreamAdapter;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.options.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.options.LocalCachedMapOptions.SyncStrategy;
+import org.redisson.config.ReadMode;
+import redis.clients.jedis.JedisPooled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Payload generators and client scenarios known to the benchmark, plus the filters that select a subset of them.
+ */
+public final class BenchmarkCatalog {
+
+    public static final int LOCAL_CACHE_MAX_SIZE = 20_000;
+    public static final int LARGE_LOCAL_CACHE_MAX_SIZE = 1_000_000;
+    public static final String COALESCED_SUFFIX = " (coalesced)";
+    public static final String BASELINE_SCENARIO = "RESP baseline (no cache)";
+
+    private static final String LOCAL_CACHED_MAP_NAME = KeySpace.SET_GET_NAMESPACE + ":local-cached-map";
+
+    private static final int NEAR_CACHE_STRIPES = Runtime.getRuntime().availableProcessors() * 4;
+    private static final List<String> TRACKED_PREFIXES = Arrays.asList(
+            KeySpace.SET_GET_NAMESPACE + ":",
+            KeySpace.READ_MOSTLY_NAMESPACE + ":");
+
+    private BenchmarkCatalog() {
+    }
+
+    public static List<ObjectGenerator<?>> generators() {
+        return Arrays.asList(
+                new ObjectGenerator<>("CustomerProfile", CustomerProfile::random),
+                new ObjectGenerator<>("OrderAggregate", OrderAggregate::random),
+                new ObjectGenerator<>("InventorySnapshot", InventorySnapshot::random),
+                new ObjectGenerator<>("PlainTextMessage", PlainTextMessage::random),
+                new ObjectGenerator<>("LargeTextDocument", LargeTextDocument::random),
+                new ObjectGenerator<>("MetricsBatch", MetricsBatch::random),
+                new ObjectGenerator<>("LargeString", () -> RandomStringUtils.randomAlphabetic(2_048))
+        );
+    }
+
+    /**
+     * Payload of about {@code bytes} serialized bytes for {@code command=sizes}: random alphanumeric {@code text},
+     * random {@code bytes} (incompressible, no decoding cost beyond a copy) or a {@code structured} record.
+     */
+    public static ObjectGenerator<?> sizedGenerator(String variant, int bytes) {
+        String name = Character.toUpperCase(variant.charAt(0)) + variant.substring(1).toLowerCase(Locale.ROOT) + "-" + sizeLabel(bytes);
+        switch (variant.toLowerCase(Locale.ROOT)) {
+            case "text":
+                return new ObjectGenerator<>(name, () -> RandomStringUtils.randomAlphanumeric(bytes));
+            case "bytes":
+                return new ObjectGenerator<>(name, () -> {
+                    byte[] value = new byte[bytes];
+                    ThreadLocalRandom.current().nextBytes(value);
+                    return value;
+                });
+            case "structured":
+                return new ObjectGenerator<>(name, () -> SizedRecord.random(bytes));
+            default:
+                throw new IllegalArgumentException("Unknown payload variant: " + variant);
+        }
+    }
+
+    /**
+     * {@code 64B}, {@code 16KB}, {@code 4MB}; sizes that are not a whole number of KB or MB keep bytes.
+     */
+    public static String sizeLabel(long bytes) {
+        if (bytes >= 1024 * 1024 && bytes % (1024 * 1024) == 0) {
+            return bytes / (1024 * 1024) + "MB";
+        }
+        if (bytes >= 1024 && bytes % 1024 == 0) {
+            return bytes / 1024 + "KB";
+        }
+        return bytes + "B";
+    }
+
+    public static List<BenchmarkScenario> scenarios(RedisClientFactory clientFactory, BenchmarkConfig config) {
+        long offHeapBytes = config.getOffHeapMegabytes() * 1024L * 1024L;
+        List<BenchmarkScenario> scenarios = new ArrayList<>(Arrays.asList(
+                new BenchmarkScenario(
+                        "Jedis (no cache)",
+                        "UnifiedJedis with manual Java serialization and no local cache.",
+                        () -> new JedisCacheAdapter(clientFactory.createJedis())
+                ),
+                new BenchmarkScenario(
+                        "Jedis client cache",
+                        "UnifiedJedis using redis.clients.jedis.csc with a 20k-entry local cache.",
+                        () -> new JedisCacheAdapter(clientFactory.createCachedJedis(LOCAL_CACHE_MAX_SIZE))
+                ),
+                new BenchmarkScenario(
+                        "Redisson (no cache)",
+                        "Redisson using Java SerializationCodec (same payload format as Jedis) without local cache.",
+                        () -> new RedissonCacheAdapter(clientFactory.createRedisson())
+                ),
+                new BenchmarkScenario(
+                        "Redisson client cache",
+                        "Redisson client-side caching (RESP3 tracking + SerializationCodec) with a 20k-entry local cache.",
+                        () -> new RedissonClientSideCacheAdapter(clientFactory.createRedisson(), LOCAL_CACHE_MAX_SIZE)
+                ),
+                new BenchmarkScenario(
+                        "Jedis W-TinyLFU near cache",
+                        "Jedis fronted by a striped W-TinyLFU cache of raw values (20k entries), invalidated through CLIENT TRACKING redirected to a dedicated connection.",
+                        () -> createNearCache(clientFactory, TrackingMode.DEFAULT,
+                                stats -> new TinyLfuCache<>(LOCAL_CACHE_MAX_SIZE, NEAR_CACHE_STRIPES, stats)),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis W-TinyLFU near cache (BCAST)",
+                        "Same W-TinyLFU cache, invalidated through CLIENT TRACKING BCAST on the perf:/rw: prefixes.",
+                        () -> createNearCache(clientFactory, TrackingMode.BCAST,
+                                stats -> new TinyLfuCache<>(LOCAL_CACHE_MAX_SIZE, NEAR_CACHE_STRIPES, stats)),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis object near cache",
+                        "Jedis fronted by a W-TinyLFU cache of decoded objects (20k entries); hits skip deserialization and return the shared instance.",
+                        () -> createObjectNearCache(clientFactory, null),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis object near cache (copy)",
+                        "Same object cache, handing out a serialization-based defensive copy on every hit.",
+                        () -> createObjectNearCache(clientFactory, ObjectNearCacheAdapter::serializationCopy),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis off-heap near cache",
+                        "Jedis fronted by a 20k-entry cache of raw values kept in direct-memory slabs, invalidated through redirected CLIENT TRACKING.",
+                        () -> createNearCache(clientFactory, TrackingMode.DEFAULT,
+                                stats -> new OffHeapNearCache(LOCAL_CACHE_MAX_SIZE, offHeapBytes, NEAR_CACHE_STRIPES, stats)),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis off-heap near cache (1M)",
+                        "Same off-heap cache sized for 1M entries.",
+                        () -> createNearCache(clientFactory, TrackingMode.DEFAULT,
+                                stats -> new OffHeapNearCache(LARGE_LOCAL_CACHE_MAX_SIZE, offHeapBytes, NEAR_CACHE_STRIPES, stats)),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis client cache (1M)",
+                        "UnifiedJedis using redis.clients.jedis.csc with a 1M-entry local cache.",
+                        () -> new JedisCacheAdapter(clientFactory.createCachedJedis(LARGE_LOCAL_CACHE_MAX_SIZE)),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Redisson client cache (1M)",
+                        "Redisson client-side caching with a 1M-entry local cache.",
+                        () -> new RedissonClientSideCacheAdapter(clientFactory.createRedisson(), LARGE_LOCAL_CACHE_MAX_SIZE),
+                        true
+                ),
+                new BenchmarkScenario(
+                        "Jedis chunked large values",
+                        "UnifiedJedis streaming values into " + config.getChunkBytes() / 1024 + " KB chunks (pipelined SETEX, versioned manifest swapped with SET GET), read back chunk by chunk.",
+                        () -> new ChunkedJedisCacheAdapter(clientFactory.createJedis(), config.getChunkBytes()),
+                        true
+                )
+        ));
+        scenarios.addAll(localCachedMapScenarios(clientFactory));
+        for (BenchmarkScenario core : new ArrayList<>(scenarios)) {
+            if (!core.optional()) {
+                scenarios.add(coalesced(core));
+            }
+        }
+        scenarios.add(0, new BenchmarkScenario(
+                BASELINE_SCENARIO,
+                "Minimal NIO RESP2 client (one connection per thread, direct buffers, pre-encoded SETEX/GET) as the client-overhead floor.",
+                () -> new RespCacheAdapter(clientFactory.endpoint(), clientFactory.tuning(), RedisClientFactory.RESP_CLIENT_NAME)
+        ));
+        return scenarios;
+    }
+
+    /**
+     * Cluster-aware clients seeded with the given node URIs, used by {@code command=cluster}.
+     */
+    public static List<BenchmarkScenario> clusterScenarios(RedisClientFactory clientFactory, List<String> nodeUris) {
+        return Arrays.asList(
+                new BenchmarkScenario(
+                        "Jedis cluster (no cache)",
+                        "JedisCluster (CRC16 slot routing, one pool per primary) with manual Java serialization.",
+                        () -> new JedisCacheAdapter(clientFactory.createJedisCluster(nodeUris))
+                ),
+                new BenchmarkScenario(
+                        "Redisson cluster (no cache)",
+                        "Redisson useClusterServers with SerializationCodec, reads from masters.",
+                        () -> new RedissonCacheAdapter(clientFactory.createRedissonCluster(nodeUris))
+                )
+        );
+    }
+
+    /**
+     * Clients that read from the given replicas of the factory's server, used by {@code command=replica}. With no
+     * replicas every read goes to the master, which is the baseline of the scaling report; the Redisson read modes
+     * would all do the same there, so a single master-only Redisson scenario stands in for them.
+     */
+    public static List<BenchmarkScenario> replicaScenarios(RedisClientFactory clientFactory, List<String> replicaUris) {
+        BenchmarkScenario jedis = new BenchmarkScenario(
+                "Jedis replica reads",
+                "Writes to the master pool, reads round-robin over one JedisPooled per replica.",
+                () -> {
+                    List<JedisPooled> replicas = new ArrayList<>(replicaUris.size());
+                    for (String replicaUri : replicaUris) {
+                        replicas.add(clientFactory.withUri(replicaUri).createJedis());
+                    }
+                    return new JedisReplicaCacheAdapter(clientFactory.createJedis(), replicas);
+                }
+        );
+        if (replicaUris.isEmpty()) {
+            return Arrays.asList(
+                    jedis,
+                    new BenchmarkScenario(
+                            "Redisson replica reads (master only)",
+                            "Redisson single-server client: the baseline of both replica read modes.",
+                            () -> new RedissonCacheAdapter(clientFactory.createRedisson())
+                    )
+            );
+        }
+        return Arrays.asList(
+                jedis,
+                new BenchmarkScenario(
+                        "Redisson replica reads (SLAVE)",
+                        "Redisson useMasterSlaveServers with ReadMode.SLAVE.",
+                        () -> new RedissonCacheAdapter(createReplicaRedisson(clientFactory, replicaUris, ReadMode.SLAVE))
+                ),
+                new BenchmarkScenario(
+                        "Redisson replica reads (MASTER_SLAVE)",
+                        "Redisson useMasterSlaveServers with ReadMode.MASTER_SLAVE (reads spread over master and replicas).",
+                        () -> new RedissonCacheAdapter(createReplicaRedisson(clientFactory, replicaUris, ReadMode.MASTER_SLAVE))
+                )
+        );
+    }
+
+    private static RedissonClient createReplicaRedisson(RedisClientFactory clientFactory, List<String> replicaUris, ReadMode readMode) {
+        return clientFactory.createRedissonMasterSlave(replicaUris, readMode);
+    }
+
+    /**
+     * Sorted-set clients used by {@code command=leaderboard}.
+     */
+    public static List<WorkloadScenario<LeaderboardAdapter>> leaderboardScenarios(RedisClientFactory clientFactory) {
+        return Arrays.asList(
+                new WorkloadScenario<LeaderboardAdapter>(
+                        "Jedis leaderboard",
+                        "JedisPooled ZADD/ZINCRBY/ZREVRANK/ZREVRANGE WITHSCORES.",
+                        () -> new JedisLeaderboardAdapter(clientFactory.createJedis())
+                ),
+                new WorkloadScenario<LeaderboardAdapter>(
+                        "Redisson leaderboard",
+                        "Redisson RScoredSortedSet with StringCodec (add, addScore, revRank, entryRangeReversed).",
+                        () -> new RedissonLeaderboardAdapter(clientFactory.createRedisson())
+                )
+        );
+    }
+
+    /**
+     * Stream clients used by {@code command=streams}.
+     */
+    public static List<WorkloadScenario<StreamAdapter>> streamScenarios(RedisClientFactory clientFactory) {
+        return Arrays.asList(
+                new WorkloadScenario<StreamAdapter>(
+                        "Jedis streams",
+                        "JedisPooled binary XADD, XREADGROUP (StreamEntryBinary) and XACK.",
+                        () -> new JedisStreamAdapter(clientFactory.createJedis())
+                ),
+                new WorkloadScenario<StreamAdapter>(
+                        "Redisson streams",
+                        "Redisson RStream with string field names and byte[] values (add, readGroup, ack).",
+                        () -> new RedissonStreamAdapter(clientFactory.createRedisson())
+                )
+        );
+    }
+
+    /**
+     * Publish/subscribe clients used by {@code command=pubsub}.
+     */
+    public static List<WorkloadScenario<PubSubAdapter>> pubSubScenarios(RedisClientFactory clientFactory) {
+        return Arrays.asList(
+                new WorkloadScenario<PubSubAdapter>(
+                        "Jedis pub/sub",
+                        "PUBLISH through JedisPooled; every subscriber is a BinaryJedisPubSub on its own connection and thread.",
+                        () -> new JedisPubSubAdapter(clientFactory.createJedis(),
+                                () -> clientFactory.createDirectJedis(RedisClientFactory.JEDIS_CLIENT_NAME))
+                ),
+                new WorkloadScenario<PubSubAdapter>(
+                        "Redisson pub/sub",
+                        "Redisson RTopic with ByteArrayCodec; listeners share the subscription connection pool (16).",
+                        () -> new RedissonPubSubAdapter(clientFactory.createRedisson())
+                )
+        );
+    }
+
+    /**
+     * Workload scenarios whose name contains one of the filters; all of them without filters.
+     */
+    public static <A extends AutoCloseable> List<WorkloadScenario<A>> selectWorkloadScenarios(List<WorkloadScenario<A>> scenarios,
+                                                                                           List<String> filters) {
+        if (filters.isEmpty() || filters.stream().anyMatch(filter -> filter.equalsIgnoreCase("all"))) {
+            return scenarios;
+        }
+        List<WorkloadScenario<A>> selected = new ArrayList<>();
+        for (WorkloadScenario<A> scenario : scenarios) {
+            if (matchesAny(scenario.name(), filters)) {
+                selected.add(scenario);
+            }
+        }
+        return selected;
+    }
+
+    public static List<BenchmarkScenario> selectScenarios(List<BenchmarkScenario> scenarios, List<String> filters) {
+        List<BenchmarkScenario> selected = new ArrayList<>();
+        boolean all = filters.stream().anyMatch(filter -> filter.equalsIgnoreCase("all"));
+        for (BenchmarkScenario scenario : scenarios) {
+            if (filters.isEmpty()) {
+                if (!scenario.optional()) {
+                    selected.add(scenario);
+                }
+            } else if (all || matchesAny(scenario.name(), filters)) {
+                selected.add(scenario);
+            }
+        }
+        return selected;
+    }
+
+    public static List<ObjectGenerator<?>> selectGenerators(List<ObjectGenerator<?>> generators, List<String> filters) {
+        if (filters.isEmpty()) {
+            return generators;
+        }
+        List<ObjectGenerator<?>> selected = new ArrayList<>();
+        for (ObjectGenerator<?> generator : generators) {
+            for (String filter : filters) {
+                if (generator.name().equalsIgnoreCase(filter)) {
+                    selected.add(generator);
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    public static List<TestMode> selectModes(List<String> filters) {
+        if (filters.isEmpty()) {
+            return Arrays.asList(TestMode.values());
+        }
+        List<TestMode> selected = new ArrayList<>();
+        for (TestMode mode : TestMode.values()) {
+            String compactName = compact(mode.name());
+            for (String filter : filters) {
+                if (compactName.equals(compact(filter)) || mode.title().equalsIgnoreCase(filter)) {
+                    selected.add(mode);
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * One baseline (INVALIDATE / LRU / CLEAR) plus one variant per alternative value of each option, changing a
+     * single dimension at a time.
+     */
+    private static List<BenchmarkScenario> localCachedMapScenarios(RedisClientFactory clientFactory) {
+        List<BenchmarkScenario> scenarios = new ArrayList<>();
+        scenarios.add(localCachedMap(clientFactory, SyncStrategy.INVALIDATE, EvictionPolicy.LRU, ReconnectionStrategy.CLEAR));
+        scenarios.add(localCachedMap(clientFactory, SyncStrategy.UPDATE, EvictionPolicy.LRU, ReconnectionStrategy.CLEAR));
+        scenarios.add(localCachedMap(clientFactory, SyncStrategy.NONE, EvictionPolicy.LRU, ReconnectionStrategy.CLEAR));
+        for (EvictionPolicy eviction : Arrays.asList(EvictionPolicy.LFU, EvictionPolicy.SOFT, EvictionPolicy.WEAK)) {
+            scenarios.add(localCachedMap(clientFactory, SyncStrategy.INVALIDATE, eviction, ReconnectionStrategy.CLEAR));
+        }
+        for (ReconnectionStrategy reconnection : Arrays.asList(ReconnectionStrategy.NONE, ReconnectionStrategy.LOAD)) {
+            scenarios.add(localCachedMap(clientFactory, SyncStrategy.INVALIDATE, EvictionPolicy.LRU, reconnection));
+        }
+        return scenarios;
+    }
+
+    private static BenchmarkScenario localCachedMap(RedisClientFactory clientFactory,
+                                                    SyncStrategy sync,
+                                                    EvictionPolicy eviction,
+                                                    ReconnectionStrategy reconnection) {
+        return new BenchmarkScenario(
+                String.format(Locale.ROOT, "Redisson local cached map (%s/%s/%s)", sync, eviction, reconnection),
+                "Redisson RLocalCachedMap (20k local entries) with sync=" + sync + ", eviction=" + eviction
+                        + ", reconnection=" + reconnection + "; every benchmark key is a field of one hash.",
+                () -> new RedissonLocalCachedMapAdapter(clientFactory.createRedisson(), LOCAL_CACHED_MAP_NAME,
+                        LOCAL_CACHE_MAX_SIZE, sync, eviction, reconnection),
+                true);
+    }
+
+    private static BenchmarkScenario coalesced(BenchmarkScenario scenario) {
+        return new BenchmarkScenario(
+                scenario.name() + COALESCED_SUFFIX,
+                scenario.description() + " Concurrent reads of the same key share one round-trip (single-flight).",
+                () -> new CoalescingCacheAdapter(scenario.cacheSupplier().get()),
+                true);
+    }
+
+    private static CacheAdapter createNearCache(RedisClientFactory clientFactory,
+                                                TrackingMode mode,
+                                                Function<NearCacheStats, NearCacheStore<byte[]>> storeFactory) {
+        NearCacheStats stats = new NearCacheStats();
+        NearCacheStore<byte[]> cache = storeFactory.apply(stats);
+        TrackingInvalidationListener listener = new TrackingInvalidationListener(
+                clientFactory.endpoint(),
+                mode,
+                TRACKED_PREFIXES,
+                new NearCacheInvalidationHandler(cache, stats));
+        return new BytesNearCacheAdapter(trackedJedis(clientFactory, mode, listener), cache, stats, listener);
+    }
+
+    private static CacheAdapter createObjectNearCache(RedisClientFactory clientFactory, UnaryOperator<Object> copier) {
+        NearCacheStats stats = new NearCacheStats();
+        TinyLfuCache<Object> cache = new TinyLfuCache<>(LOCAL_CACHE_MAX_SIZE, NEAR_CACHE_STRIPES, stats);
+        TrackingInvalidationListener listener = new TrackingInvalidationListener(
+                clientFactory.endpoint(),
+                TrackingMode.DEFAULT,
+                TRACKED_PREFIXES,
+                new NearCacheInvalidationHandler(cache, stats));
+        return new ObjectNearCacheAdapter(trackedJedis(clientFactory, TrackingMode.DEFAULT, listener), cache, stats, listener, copier);
+    }
+
+    private static JedisCacheAdapter trackedJedis(RedisClientFactory clientFactory,
+                                                  TrackingMode mode,
+                                                  TrackingInvalidationListener listener) {
+        long clientId = listener.start();
+        JedisPooled jedis = mode == TrackingMode.DEFAULT
+                ? clientFactory.createTrackingJedis(clientId)
+                : clientFactory.createJedis();
+        return new JedisCacheAdapter(jedis);
+    }
+
+    private static boolean matchesAny(String name, List<String> filters) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (String filter : filters) {
+            if (normalized.contains(filter.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String compact(String value) {
+        return value.replace("_", "").replace("-", "").replace("/", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -10,12 +10,27 @@ public final class BenchmarkRecord {
     private final String scenarioName;
     private final String objectName;
     private final BenchmarkResult result;
+    private final long cleanupNanos;
+    private final int run;
 
     public BenchmarkRecord(TestMode mode, String scenarioName, String objectName, BenchmarkResult result) {
+        this(mode, scenarioName, objectName, result, 0L);
+    }
+
+    public BenchmarkRecord(TestMode mode, String scenarioName, String objectName, BenchmarkResult result, long cleanupNanos) {
+        this(mode, scenarioName, objectName, result, cleanupNanos, 1);
+    }
+
+    /**
+     * @param run 1-based repetition this result belongs to when {@code runs} is above 1
+     */
+    public BenchmarkRecord(TestMode mode, String scenarioName, String objectName, BenchmarkResult result, long cleanupNanos, int run) {
         this.mode = Objects.requireNonNull(mode, "mode");
         this.scenarioName = Objects.requireNonNull(scenarioName, "scenarioName");
         this.objectName = Objects.requireNonNull(objectName, "objectName");
         this.result = Objects.requireNonNull(result, "result");
+        this.cleanupNanos = cleanupNanos;
+        this.run = run;
     }
 
     public TestMode mode() {
@@ -33,4 +48,16 @@ public final class BenchmarkRecord {
     public BenchmarkResult result() {
         return result;
     }
+
+    public long cleanupNanos() {
+        return cleanupNanos;
+    }
+
+    public int run() {
+        return run;
+    }
+
+    public double cleanupMillis() {
+        return cleanupNanos / 1_000_000.0;
+    }
 }
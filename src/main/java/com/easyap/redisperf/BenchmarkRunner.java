@@ -1,12 +1,26 @@
 package com.easyap.redisperf;
 
 import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
 import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.jfr.OperationEvent;
+import com.easyap.redisperf.jfr.PhaseEvent;
+import com.easyap.redisperf.metrics.AllocationMeter;
 import com.easyap.redisperf.metrics.BenchmarkResult;
+import com.easyap.redisperf.metrics.CpuProbe;
+import com.easyap.redisperf.metrics.GaugeSampler;
+import com.easyap.redisperf.metrics.JvmProbe;
 import com.easyap.redisperf.metrics.LatencyCollector;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import com.easyap.redisperf.metrics.LiveMetrics;
+import com.easyap.redisperf.metrics.ServerConnectionGauge;
+import com.easyap.redisperf.metrics.ServerStatsProbe;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -15,141 +29,196 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 public class BenchmarkRunner {
 
     private final BenchmarkConfig config;
+    private final List<String> serverUris;
 
     public BenchmarkRunner(BenchmarkConfig config) {
+        this(config, Collections.singletonList(config.getRedisUri()));
+    }
+
+    /**
+     * @param serverUris servers whose {@code INFO} and client connections are reported, e.g. every cluster primary
+     */
+    public BenchmarkRunner(BenchmarkConfig config, List<String> serverUris) {
         this.config = Objects.requireNonNull(config, "config");
+        this.serverUris = new ArrayList<>(serverUris);
     }
 
     public BenchmarkResult runScenario(String scenario,
                                        ObjectGenerator<?> generator,
                                        CacheAdapter cacheAdapter) {
+        return runScenario(scenario, generator, cacheAdapter, null, null);
+    }
+
+    /**
+     * @param startGate runs between the warm-up and the timed section, e.g. a barrier shared with other
+     *                  processes; {@code null} starts right away
+     * @param histogram receives every iteration latency on top of the sampled collector; may be {@code null}
+     */
+    public BenchmarkResult runScenario(String scenario,
+                                       ObjectGenerator<?> generator,
+                                       CacheAdapter cacheAdapter,
+                                       Runnable startGate,
+                                       LatencyHistogram histogram) {
 
         int threads = config.getThreadCount();
         int iterationsPerThread = config.getIterationsPerThread();
         int totalIterations = threads * iterationsPerThread;
 
-        List<BenchmarkValue> values = generatePayloads(generator, scenario, iterationsPerThread, threads);
+        PayloadPool pool = PayloadPool.create(generator, config.getPayloadPoolSize(), config.isPreSerializePayloads());
+        KeySpace keySpace = KeySpace.create(KeySpace.SET_GET_NAMESPACE, generator.name(), scenario,
+                Math.min(totalIterations, config.getKeySpaceSize()));
 
-        performWarmup(cacheAdapter, values);
+        PhaseEvent warmup = PhaseEvent.begin(scenario, generator.name(), PhaseEvent.WARMUP);
+        performWarmup(cacheAdapter, pool, keySpace);
+        warmup.commit();
+        if (startGate != null) {
+            startGate.run();
+        }
 
-        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, CpuProbe.workerThreads());
         LatencyCollector latencyCollector = new LatencyCollector(config.getLatencySampleSize());
         AtomicLong operations = new AtomicLong();
+        LongAdder workerAllocated = new LongAdder();
+
+        // the scrape thread may only read the adapter's own gauges: the server connection gauges share one connection
+        LiveMetrics.Section live = LiveMetrics.begin(scenario, generator.name(), cacheAdapter.gauges(), cacheAdapter::counters);
+        try (ServerConnectionGauge connections = ServerConnectionGauge.open(serverUris);
+             ServerStatsProbe serverStats = ServerStatsProbe.start(serverUris);
+             GaugeSampler gauges = GaugeSampler.start(telemetryGauges(cacheAdapter.gauges(), connections))) {
+            JvmProbe jvmProbe = JvmProbe.start();
+            CpuProbe cpuProbe = CpuProbe.start();
+            PhaseEvent measure = PhaseEvent.begin(scenario, generator.name(), PhaseEvent.MEASURE);
+            long startWall = System.nanoTime();
+
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int index = t;
+                futures.add(executor.submit(buildWorker(scenario, cacheAdapter, pool.cursor(index, threads), keySpace, latencyCollector, histogram, live, operations, workerAllocated, iterationsPerThread, index)));
+            }
 
-        long startWall = System.nanoTime();
-
-        List<Future<Void>> futures = new ArrayList<>(threads);
-        for (int t = 0; t < threads; t++) {
-            int index = t;
-            futures.add(executor.submit(buildWorker(cacheAdapter, values, latencyCollector, operations, iterationsPerThread, index)));
-        }
+            for (Future<Void> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Benchmark interrupted", ie);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Benchmark worker failed", e.getCause());
+                }
+            }
+            Map<String, Long> cpu = cpuProbe.finish();
+            Map<String, Long> server = serverStats.finish();
 
-        for (Future<Void> f : futures) {
+            executor.shutdown();
             try {
-                f.get();
-            } catch (InterruptedException ie) {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                throw new IllegalStateException("Benchmark interrupted", ie);
-            } catch (ExecutionException e) {
-                throw new IllegalStateException("Benchmark worker failed", e.getCause());
             }
-        }
 
-        executor.shutdown();
-        try {
-            executor.awaitTermination(30, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+            long duration = System.nanoTime() - startWall;
+            measure.commit();
 
-        long duration = System.nanoTime() - startWall;
+            LatencyCollector.LatencySnapshot snapshot = latencyCollector.snapshot();
 
-        LatencyCollector.LatencySnapshot snapshot = latencyCollector.snapshot();
+            Map<String, Long> counters = new LinkedHashMap<>(cacheAdapter.counters());
+            counters.putAll(gauges.finish());
+            counters.putAll(jvmProbe.finish());
+            if (AllocationMeter.isSupported()) {
+                counters.put("jvm.workerAllocBytes", workerAllocated.sum());
+            }
+            counters.putAll(cpu);
+            counters.putAll(server);
 
-        // cleanup keys quickly (best-effort)
-        for (BenchmarkValue value : values) {
-            try {
-                cacheAdapter.set(value.key(), null, config.getTtlSeconds());
-            } catch (Exception ignored) {
-                // Best-effort cleanup
+            return new BenchmarkResult(scenario, generator.name(), operations.get(), duration, snapshot, counters);
+        } finally {
+            if (live != null) {
+                live.end();
             }
         }
+    }
 
-        return new BenchmarkResult(scenario, generator.name(), operations.get(), duration, snapshot);
+    static Map<String, LongSupplier> telemetryGauges(Map<String, LongSupplier> adapterGauges, ServerConnectionGauge connections) {
+        Map<String, LongSupplier> gauges = new LinkedHashMap<>(adapterGauges);
+        gauges.putAll(connections.gauges(
+                RedisClientFactory.JEDIS_CLIENT_NAME, RedisClientFactory.REDISSON_CLIENT_NAME, RedisClientFactory.RESP_CLIENT_NAME));
+        return gauges;
     }
 
-    private Callable<Void> buildWorker(CacheAdapter cacheAdapter,
-                                       List<BenchmarkValue> values,
+    private Callable<Void> buildWorker(String scenario,
+                                       CacheAdapter cacheAdapter,
+                                       PayloadPool.Cursor payloads,
+                                       KeySpace keySpace,
                                        LatencyCollector latencyCollector,
+                                       LatencyHistogram histogram,
+                                       LiveMetrics.Section live,
                                        AtomicLong operations,
+                                       LongAdder workerAllocated,
                                        int iterationsPerThread,
                                        int threadIndex) {
+        String adapterName = cacheAdapter.getClass().getSimpleName();
+        long slowNanos = config.getJfrSlowOperationNanos();
+        int sampleEvery = config.getJfrSampleEvery();
         return () -> {
+            long allocated = 0;
             int startIndex = threadIndex * iterationsPerThread;
             int endIndex = startIndex + iterationsPerThread;
             for (int i = startIndex; i < endIndex; i++) {
-                BenchmarkValue value = values.get(i);
+                CacheKey key = keySpace.key(i);
+                Object payload = payloads.next();
+                // only set and get are metered: not the payload pool, nor the harness's own bookkeeping
+                long allocationMark = AllocationMeter.currentThreadAllocatedBytes();
                 long iterationStart = System.nanoTime();
-                cacheAdapter.set(value.key(), value.payload(), config.getTtlSeconds());
-                Object retrieved = cacheAdapter.get(value.key());
+                Object retrieved;
+                try {
+                    cacheAdapter.set(key, payload, config.getTtlSeconds());
+                    retrieved = cacheAdapter.get(key);
+                    allocated += AllocationMeter.currentThreadAllocatedBytes() - allocationMark;
+                } catch (RuntimeException e) {
+                    if (live != null) {
+                        live.error();
+                    }
+                    throw e;
+                }
                 long elapsed = System.nanoTime() - iterationStart;
                 latencyCollector.record(elapsed);
+                if (histogram != null) {
+                    histogram.record(elapsed);
+                }
+                if (live != null) {
+                    live.record(elapsed, 2);
+                }
+                if (elapsed >= slowNanos || (sampleEvery > 0 && (i - startIndex) % sampleEvery == 0)) {
+                    OperationEvent.emit(scenario, adapterName, key, elapsed, elapsed >= slowNanos ? OperationEvent.SLOW : OperationEvent.SAMPLED);
+                }
                 operations.addAndGet(2);
                 if (retrieved == null) {
-                    throw new IllegalStateException("Unexpected null value for key " + value.key());
+                    if (live != null) {
+                        live.error();
+                    }
+                    throw new IllegalStateException("Unexpected null value for key " + key);
                 }
             }
+            workerAllocated.add(allocated);
             return null;
         };
     }
 
-    private void performWarmup(CacheAdapter cacheAdapter, List<BenchmarkValue> values) {
+    private void performWarmup(CacheAdapter cacheAdapter, PayloadPool pool, KeySpace keySpace) {
         long warmupDeadline = System.nanoTime() + config.getWarmupDuration().toNanos();
+        PayloadPool.Cursor payloads = pool.cursor(0, 1);
         int index = 0;
         while (System.nanoTime() < warmupDeadline) {
-            BenchmarkValue value = values.get(index % values.size());
-            cacheAdapter.set(value.key(), value.payload(), config.getTtlSeconds());
-            cacheAdapter.get(value.key());
+            CacheKey key = keySpace.key(index);
+            cacheAdapter.set(key, payloads.next(), config.getTtlSeconds());
+            cacheAdapter.get(key);
             index++;
         }
     }
-
-    private List<BenchmarkValue> generatePayloads(ObjectGenerator<?> generator,
-                                                  String scenario,
-                                                  int iterationsPerThread,
-                                                  int threads) {
-        int total = iterationsPerThread * threads;
-        return IntStream.range(0, total)
-                .mapToObj(i -> new BenchmarkValue(buildKey(generator.name(), scenario, i), generator.generate()))
-                .collect(Collectors.toList());
-    }
-
-    private String buildKey(String generatorName, String scenario, int index) {
-        String sanitizedScenario = scenario.replaceAll("[^A-Za-z0-9_\\-]", "_");
-        return "perf:" + generatorName + ":" + sanitizedScenario + ":" + index;
-    }
-
-    private static class BenchmarkValue {
-        private final String key;
-        private final Object payload;
-
-        BenchmarkValue(String key, Object payload) {
-            this.key = key;
-            this.payload = payload;
-        }
-
-        String key() {
-            return key;
-        }
-
-        Object payload() {
-            return payload;
-        }
-    }
 }
@@ -10,11 +10,17 @@ public final class BenchmarkScenario {
     private final String name;
     private final String description;
     private final Supplier<CacheAdapter> cacheSupplier;
+    private final boolean optional;
 
     public BenchmarkScenario(String name, String description, Supplier<CacheAdapter> cacheSupplier) {
+        this(name, description, cacheSupplier, false);
+    }
+
+    public BenchmarkScenario(String name, String description, Supplier<CacheAdapter> cacheSupplier, boolean optional) {
         this.name = Objects.requireNonNull(name, "name");
         this.description = Objects.requireNonNull(description, "description");
         this.cacheSupplier = Objects.requireNonNull(cacheSupplier, "cacheSupplier");
+        this.optional = optional;
     }
 
     public String name() {
@@ -28,4 +34,11 @@ public final class BenchmarkScenario {
     public Supplier<CacheAdapter> cacheSupplier() {
         return cacheSupplier;
     }
+
+    /**
+     * Optional scenarios only run when selected explicitly through the {@code scenarios} filter.
+     */
+    public boolean optional() {
+        return optional;
+    }
 }
@@ -0,0 +1,218 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cluster.ClusterNode;
+import com.easyap.redisperf.cluster.ClusterTopology;
+import com.easyap.redisperf.cluster.NodeCountingCacheAdapter;
+import com.easyap.redisperf.cluster.RedirectProbe;
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.config.RedisEndpoint;
+import com.easyap.redisperf.metrics.BenchmarkResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Set/Get against a Redis Cluster with the cluster-aware clients: per-node throughput (by slot owner), the cost of
+ * {@code -ASK}/{@code -MOVED} redirects, and aggregate throughput appended to {@code cluster-scaling.csv} so runs
+ * against clusters of different sizes can be compared. Read-Mostly is skipped: it hammers a single key and
+ * therefore a single node.
+ */
+public class ClusterBenchmark {
+
+    private static final int REDIRECT_ROUNDS = 20;
+    private static final String REDIRECT_PROBE_KEY = KeySpace.SET_GET_NAMESPACE + ":redirect-probe";
+    private static final String SCALING_HEADER = "primaries,scenario,object,ops_per_sec,p99_ms";
+
+    private final BenchmarkConfig config;
+
+    public ClusterBenchmark(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    public void run() {
+        List<String> nodeUris = config.getClusterNodes();
+        RedisEndpoint credentials = RedisEndpoint.fromUri(nodeUris.get(0));
+        ClusterTopology topology = ClusterTopology.load(nodeUris.get(0));
+        int primaries = topology.primaries().size();
+        List<String> primaryUris = new ArrayList<>(primaries);
+        for (ClusterNode node : topology.primaries()) {
+            primaryUris.add(node.uri(credentials));
+        }
+        // server statistics and connection gauges cover every primary, not just the seed node
+        BenchmarkRunner runner = new BenchmarkRunner(config, primaryUris);
+        RedisClientFactory clientFactory = new RedisClientFactory(nodeUris.get(0));
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        List<BenchmarkScenario> scenarios = BenchmarkCatalog.selectScenarios(
+                BenchmarkCatalog.clusterScenarios(clientFactory, nodeUris), config.getScenarioFilters());
+
+        System.out.printf(Locale.ROOT, "== Redis Cluster Benchmark ==%nPrimaries: %d %s%nThreads: %d | Iterations per thread: %d%n",
+                primaries, topology.primaries(), config.getThreadCount(), config.getIterationsPerThread());
+
+        List<String> rows = new ArrayList<>();
+        rows.add("primaries,scenario,object,node,ops_per_sec,p99_ms");
+        List<String> scalingRows = new ArrayList<>();
+        List<String> redirectRows = new ArrayList<>();
+        redirectRows.add("primaries,scenario,nodes,rounds,steady_p50_us,ask_p50_us,moved_p50_us,moved_max_us");
+
+        List<KeyspaceCleaner> cleaners = new ArrayList<>(primaries);
+        try {
+            for (ClusterNode node : topology.primaries()) {
+                cleaners.add(new KeyspaceCleaner(
+                        new RedisClientFactory(node.uri(credentials)).createJedis(KeyspaceCleaner.CLIENT_NAME),
+                        Collections.singletonList(KeySpace.SET_GET_NAMESPACE),
+                        config.getCleanupBatchSize(),
+                        config.getCleanupThreads(),
+                        1));
+            }
+            reset(cleaners);
+
+            for (ObjectGenerator<?> generator : generators) {
+                for (BenchmarkScenario scenario : scenarios) {
+                    System.out.printf(Locale.ROOT, "%n=== Cluster Set/Get | Object: %s | Scenario: %s ===%n", generator.name(), scenario.name());
+                    try (NodeCountingCacheAdapter cacheAdapter = new NodeCountingCacheAdapter(scenario.cacheSupplier().get(), topology)) {
+                        // warm-up traffic goes through the same adapter; only the measured section is attributed
+                        BenchmarkResult result = runner.runScenario(scenario.name() + " | SetGet", generator, cacheAdapter,
+                                cacheAdapter::resetCounts, null);
+                        double seconds = result.getDurationNanos() / 1_000_000_000.0;
+                        System.out.printf(Locale.ROOT, "  %.0f ops/s, p99=%.2f ms%n",
+                                result.throughputPerSecond(), result.getLatencySnapshot().p99Millis());
+                        rows.add(String.format(Locale.ROOT, "%d,\"%s\",%s,all,%.0f,%.2f",
+                                primaries, scenario.name(), generator.name(),
+                                result.throughputPerSecond(), result.getLatencySnapshot().p99Millis()));
+                        scalingRows.add(String.format(Locale.ROOT, "%d,\"%s\",%s,%.0f,%.2f",
+                                primaries, scenario.name(), generator.name(),
+                                result.throughputPerSecond(), result.getLatencySnapshot().p99Millis()));
+                        for (ClusterNode node : topology.primaries()) {
+                            long operations = result.getCounters().getOrDefault(
+                                    NodeCountingCacheAdapter.COUNTER_PREFIX + node.address() + NodeCountingCacheAdapter.COUNTER_SUFFIX, 0L);
+                            double share = result.getOperations() == 0 ? 0.0 : operations * 100.0 / result.getOperations();
+                            System.out.printf(Locale.ROOT, "    %-21s %12.0f ops/s (%.1f %%)%n", node.address(), operations / seconds, share);
+                            rows.add(String.format(Locale.ROOT, "%d,\"%s\",%s,%s,%.0f,",
+                                    primaries, scenario.name(), generator.name(), node.address(), operations / seconds));
+                        }
+                    } catch (RuntimeException e) {
+                        System.out.println("  skipped: " + e.getMessage());
+                    } finally {
+                        reset(cleaners);
+                    }
+                }
+            }
+
+            for (BenchmarkScenario scenario : scenarios) {
+                try (CacheAdapter cacheAdapter = scenario.cacheSupplier().get()) {
+                    RedirectProbe.Result probe = RedirectProbe.run(cacheAdapter, topology, credentials, REDIRECT_PROBE_KEY, REDIRECT_ROUNDS);
+                    if (probe == null) {
+                        System.out.printf(Locale.ROOT, "%nRedirect probe skipped for %s: single primary%n", scenario.name());
+                        continue;
+                    }
+                    System.out.printf(Locale.ROOT, "%nRedirect probe | %s | %s: steady p50=%.1f us, ASK p50=%.1f us, MOVED p50=%.1f us (max %.1f us)%n",
+                            scenario.name(), probe.nodes(), micros(probe.steadyP50Nanos()), micros(probe.askP50Nanos()),
+                            micros(probe.movedP50Nanos()), micros(probe.movedMaxNanos()));
+                    redirectRows.add(String.format(Locale.ROOT, "%d,\"%s\",%s,%d,%.1f,%.1f,%.1f,%.1f",
+                            primaries, scenario.name(), probe.nodes(), probe.rounds(), micros(probe.steadyP50Nanos()),
+                            micros(probe.askP50Nanos()), micros(probe.movedP50Nanos()), micros(probe.movedMaxNanos())));
+                } catch (RuntimeException e) {
+                    System.out.println("Redirect probe failed for " + scenario.name() + ": " + e.getMessage());
+                } finally {
+                    reset(cleaners);
+                }
+            }
+        } finally {
+            for (KeyspaceCleaner cleaner : cleaners) {
+                cleaner.close();
+            }
+        }
+
+        persist(rows, redirectRows, scalingRows);
+    }
+
+    private static void reset(List<KeyspaceCleaner> cleaners) {
+        for (KeyspaceCleaner cleaner : cleaners) {
+            cleaner.reset();
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    private static void persist(List<String> rows, List<String> redirectRows, List<String> scalingRows) {
+        Path directory = Paths.get("benchmark-results");
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("cluster-latest.csv"), rows);
+            Files.write(directory.resolve("cluster-redirects.csv"), redirectRows);
+
+            Path scalingFile = directory.resolve("cluster-scaling.csv");
+            List<String> scaling = new ArrayList<>();
+            if (Files.exists(scalingFile)) {
+                scaling.addAll(Files.readAllLines(scalingFile));
+            }
+            if (scaling.isEmpty()) {
+                scaling.add(SCALING_HEADER);
+            }
+            scaling.addAll(scalingRows);
+            Files.write(scalingFile, scaling);
+
+            List<String> summary = buildScalingSummary(scaling.subList(1, scaling.size()));
+            System.out.println();
+            summary.forEach(System.out::println);
+            Files.write(directory.resolve("cluster-scaling.txt"), summary);
+            System.out.println();
+            System.out.println("Cluster results saved to benchmark-results/cluster-latest.csv, cluster-redirects.csv and cluster-scaling.csv");
+        } catch (IOException e) {
+            System.err.println("Failed to persist cluster results: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Throughput per primary count for each scenario and object, relative to the smallest cluster measured. A
+     * repeated primary count keeps its latest run.
+     */
+    static List<String> buildScalingSummary(List<String> scalingRows) {
+        Map<String, TreeMap<Integer, Double>> series = new TreeMap<>();
+        for (String row : scalingRows) {
+            // primaries,"scenario",object,ops_per_sec,p99_ms
+            int firstComma = row.indexOf(',');
+            int scenarioEnd = row.indexOf("\",", firstComma + 2);
+            if (firstComma < 0 || scenarioEnd < 0) {
+                continue;
+            }
+            String[] rest = row.substring(scenarioEnd + 2).split(",");
+            if (rest.length < 2) {
+                continue;
+            }
+            try {
+                int primaries = Integer.parseInt(row.substring(0, firstComma));
+                String key = row.substring(firstComma + 2, scenarioEnd) + " | " + rest[0];
+                series.computeIfAbsent(key, k -> new TreeMap<>()).put(primaries, Double.parseDouble(rest[1]));
+            } catch (NumberFormatException ignored) {
+                // skip malformed rows
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("=== Cluster scaling (aggregate ops/s by number of primaries) ===");
+        for (Map.Entry<String, TreeMap<Integer, Double>> entry : series.entrySet()) {
+            double base = entry.getValue().firstEntry().getValue();
+            int baseNodes = entry.getValue().firstKey();
+            StringBuilder line = new StringBuilder(entry.getKey()).append(':');
+            for (Map.Entry<Integer, Double> point : entry.getValue().entrySet()) {
+                line.append(String.format(Locale.ROOT, "  %d -> %.0f (x%.2f vs %d)",
+                        point.getKey(), point.getValue(), base == 0 ? 0.0 : point.getValue() / base, baseNodes));
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+}
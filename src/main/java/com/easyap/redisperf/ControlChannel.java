@@ -0,0 +1,261 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.metrics.LatencyHistogram;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Framed messages between the distributed coordinator and its workers over one TCP connection: a type byte
+ * followed by a fixed payload per type. Both ends run the same jar, so there is no versioning.
+ */
+final class ControlChannel implements Closeable {
+
+    enum Type {
+        /** worker to coordinator, carries a label for logs. */
+        HELLO,
+        /** coordinator to worker, a {@link Task}. */
+        TASK,
+        /** worker to coordinator, warm-up done and waiting for {@link #GO}. */
+        READY,
+        GO,
+        /** coordinator to worker, another worker failed before the start; skip the timed section. */
+        ABORT,
+        /** worker to coordinator, a {@link Report}. */
+        RESULT,
+        /** worker to coordinator, carries the failure message. */
+        ERROR,
+        SHUTDOWN
+    }
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    ControlChannel(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Connects to {@code host:port}, retrying until {@code timeout} so workers can be started before the
+     * coordinator listens.
+     */
+    static ControlChannel connect(String hostPort, Duration timeout) {
+        int separator = hostPort.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("coordinator must be host:port but was " + hostPort);
+        }
+        InetSocketAddress address = new InetSocketAddress(hostPort.substring(0, separator),
+                Integer.parseInt(hostPort.substring(separator + 1)));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Socket socket = new Socket();
+            try {
+                socket.connect(address, 1_000);
+                return new ControlChannel(socket);
+            } catch (IOException e) {
+                closeQuietly(socket);
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Could not reach coordinator at " + hostPort, e);
+                }
+            }
+            try {
+                Thread.sleep(500L);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while connecting to " + hostPort, ie);
+            }
+        }
+    }
+
+    String remoteAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
+    void send(Type type) {
+        try {
+            out.writeByte(type.ordinal());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void sendText(Type type, String text) {
+        try {
+            out.writeByte(type.ordinal());
+            out.writeUTF(text);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void sendTask(Task task) {
+        try {
+            out.writeByte(Type.TASK.ordinal());
+            out.writeUTF(task.scenario);
+            out.writeUTF(task.generator);
+            out.writeInt(task.workerIndex);
+            out.writeInt(task.workerCount);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Buckets are sent sparse (index, count): almost all of them are empty.
+     */
+    void sendReport(Report report) {
+        try {
+            out.writeByte(Type.RESULT.ordinal());
+            out.writeLong(report.operations);
+            out.writeLong(report.durationNanos);
+            long[] buckets = report.histogram.buckets();
+            int used = 0;
+            for (long count : buckets) {
+                if (count != 0) {
+                    used++;
+                }
+            }
+            out.writeInt(buckets.length);
+            out.writeInt(used);
+            for (int i = 0; i < buckets.length; i++) {
+                if (buckets[i] != 0) {
+                    out.writeInt(i);
+                    out.writeLong(buckets[i]);
+                }
+            }
+            out.writeLong(report.histogram.sumNanos());
+            out.writeLong(report.histogram.maxNanos());
+            out.writeInt(report.counters.size());
+            for (Map.Entry<String, Long> counter : report.counters.entrySet()) {
+                out.writeUTF(counter.getKey());
+                out.writeLong(counter.getValue());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Blocks for the next message type; the payload, if any, is read with the matching {@code read*} method.
+     */
+    Type read() {
+        try {
+            int ordinal = in.readUnsignedByte();
+            if (ordinal >= Type.values().length) {
+                throw new IllegalStateException("Unknown control message " + ordinal);
+            }
+            return Type.values()[ordinal];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Type expect(Type... allowed) {
+        Type type = read();
+        for (Type candidate : allowed) {
+            if (candidate == type) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Unexpected control message " + type + " from " + remoteAddress());
+    }
+
+    String readText() {
+        try {
+            return in.readUTF();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Task readTask() {
+        try {
+            return new Task(in.readUTF(), in.readUTF(), in.readInt(), in.readInt());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Report readReport() {
+        try {
+            long operations = in.readLong();
+            long durationNanos = in.readLong();
+            long[] buckets = new long[in.readInt()];
+            int used = in.readInt();
+            for (int i = 0; i < used; i++) {
+                int index = in.readInt();
+                buckets[index] = in.readLong();
+            }
+            LatencyHistogram histogram = LatencyHistogram.fromBuckets(buckets, in.readLong(), in.readLong());
+            int counterCount = in.readInt();
+            Map<String, Long> counters = new LinkedHashMap<>();
+            for (int i = 0; i < counterCount; i++) {
+                counters.put(in.readUTF(), in.readLong());
+            }
+            return new Report(operations, durationNanos, histogram, counters);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(socket);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // nothing left to release
+        }
+    }
+
+    static final class Task {
+
+        final String scenario;
+        final String generator;
+        final int workerIndex;
+        final int workerCount;
+
+        Task(String scenario, String generator, int workerIndex, int workerCount) {
+            this.scenario = scenario;
+            this.generator = generator;
+            this.workerIndex = workerIndex;
+            this.workerCount = workerCount;
+        }
+    }
+
+    static final class Report {
+
+        final long operations;
+        final long durationNanos;
+        final LatencyHistogram histogram;
+        final Map<String, Long> counters;
+
+        Report(long operations, long durationNanos, LatencyHistogram histogram, Map<String, Long> counters) {
+            this.operations = operations;
+            this.durationNanos = durationNanos;
+            this.histogram = histogram;
+            this.counters = counters;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.BenchmarkResult;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives Set/Get from several JVMs at once, for targets a single JVM cannot saturate. The coordinator forks
+ * {@code localWorkers} copies of this jar with {@code command=worker} and waits for the rest to connect from other
+ * hosts; every task then starts on all workers together once their warm-ups are done. Operations are summed, the
+ * duration is the slowest worker's and percentiles come from the merged histograms rather than averaged per-worker
+ * percentiles. Read-Mostly is skipped: its single hot key would make workers contend on one slot instead of adding
+ * load.
+ */
+public class DistributedCoordinator {
+
+    private static final int ACCEPT_TIMEOUT_MILLIS = 120_000;
+
+    private final BenchmarkConfig config;
+    private final String[] args;
+
+    /**
+     * @param args the command line of the coordinator, forwarded to local workers so they share its configuration
+     */
+    public DistributedCoordinator(BenchmarkConfig config, String[] args) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.args = args == null ? new String[0] : args.clone();
+    }
+
+    public void run() {
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        List<BenchmarkScenario> scenarios = BenchmarkCatalog.selectScenarios(
+                BenchmarkCatalog.scenarios(clientFactory, config), config.getScenarioFilters());
+        int workerCount = config.getWorkers();
+
+        System.out.printf(Locale.ROOT,
+                "== Distributed Redis Benchmark ==%nRedis URI: %s%nWorkers: %d (%d local) | Threads per worker: %d | Iterations per thread: %d%n",
+                config.getRedisUri(), workerCount, config.getLocalWorkers(), config.getThreadCount(), config.getIterationsPerThread());
+
+        List<Process> processes = new ArrayList<>();
+        List<ControlChannel> channels = new ArrayList<>(workerCount);
+        List<String> rows = new ArrayList<>();
+        rows.add("scenario,object,workers,operations,ops_per_sec,p50_ms,p95_ms,p99_ms,max_ms,slowest_worker_ops_per_sec,fastest_worker_ops_per_sec");
+        try (ServerSocket server = new ServerSocket(config.getControlPort());
+             KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                     clientFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                     Collections.singletonList(KeySpace.SET_GET_NAMESPACE),
+                     config.getCleanupBatchSize(),
+                     config.getCleanupThreads())) {
+            server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+            for (int i = 0; i < config.getLocalWorkers(); i++) {
+                processes.add(forkWorker(i, server.getLocalPort()));
+            }
+            System.out.printf(Locale.ROOT, "Waiting for %d worker(s) on port %d...%n", workerCount, server.getLocalPort());
+            while (channels.size() < workerCount) {
+                ControlChannel channel = new ControlChannel(server.accept());
+                channel.expect(ControlChannel.Type.HELLO);
+                System.out.printf(Locale.ROOT, "  worker %d: %s from %s%n", channels.size() + 1, channel.readText(), channel.remoteAddress());
+                channels.add(channel);
+            }
+            cleaner.reset();
+
+            for (ObjectGenerator<?> generator : generators) {
+                for (BenchmarkScenario scenario : scenarios) {
+                    System.out.printf(Locale.ROOT, "%n=== Distributed Set/Get | Object: %s | Scenario: %s ===%n", generator.name(), scenario.name());
+                    try {
+                        rows.add(runTask(channels, scenario.name(), generator.name()));
+                    } catch (IllegalStateException e) {
+                        System.out.println("  skipped: " + e.getMessage());
+                    } finally {
+                        cleaner.reset();
+                    }
+                }
+            }
+
+            for (ControlChannel channel : channels) {
+                channel.send(ControlChannel.Type.SHUTDOWN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (ControlChannel channel : channels) {
+                channel.close();
+            }
+            awaitWorkers(processes);
+        }
+
+        persist(rows);
+    }
+
+    /**
+     * One task on every worker: hand out the task, wait until all are warmed up (or one fails), release them
+     * together and merge what comes back.
+     *
+     * @return the CSV row of the merged result
+     */
+    private String runTask(List<ControlChannel> channels, String scenario, String object) {
+        int workerCount = channels.size();
+        for (int i = 0; i < workerCount; i++) {
+            channels.get(i).sendTask(new ControlChannel.Task(scenario, object, i, workerCount));
+        }
+
+        List<String> failures = new ArrayList<>();
+        boolean[] ready = new boolean[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            ControlChannel channel = channels.get(i);
+            if (channel.expect(ControlChannel.Type.READY, ControlChannel.Type.ERROR) == ControlChannel.Type.READY) {
+                ready[i] = true;
+            } else {
+                failures.add("worker " + (i + 1) + ": " + channel.readText());
+            }
+        }
+        for (int i = 0; i < workerCount; i++) {
+            if (ready[i]) {
+                channels.get(i).send(failures.isEmpty() ? ControlChannel.Type.GO : ControlChannel.Type.ABORT);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(String.join("; ", failures));
+        }
+
+        List<ControlChannel.Report> reports = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            ControlChannel channel = channels.get(i);
+            if (channel.expect(ControlChannel.Type.RESULT, ControlChannel.Type.ERROR) == ControlChannel.Type.RESULT) {
+                reports.add(channel.readReport());
+            } else {
+                failures.add("worker " + (i + 1) + ": " + channel.readText());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(String.join("; ", failures));
+        }
+
+        BenchmarkResult merged = merge(scenario + " | SetGet", object, reports);
+        LatencyHistogram histogram = mergedHistogram(reports);
+        double slowest = Double.MAX_VALUE;
+        double fastest = 0.0;
+        for (int i = 0; i < reports.size(); i++) {
+            double throughput = throughput(reports.get(i));
+            slowest = Math.min(slowest, throughput);
+            fastest = Math.max(fastest, throughput);
+            System.out.printf(Locale.ROOT, "    worker %-3d %12.0f ops/s, p99=%.2f ms%n",
+                    i + 1, throughput, reports.get(i).histogram.snapshot().p99Millis());
+        }
+        System.out.printf(Locale.ROOT, "  aggregate %.0f ops/s over %,d ops, p50=%.2f ms, p99=%.2f ms, max=%.2f ms%n",
+                merged.throughputPerSecond(), merged.getOperations(), merged.getLatencySnapshot().p50Millis(),
+                merged.getLatencySnapshot().p99Millis(), histogram.maxNanos() / 1_000_000.0);
+        return String.format(Locale.ROOT, "\"%s\",%s,%d,%d,%.0f,%.3f,%.3f,%.3f,%.3f,%.0f,%.0f",
+                scenario, object, workerCount, merged.getOperations(), merged.throughputPerSecond(),
+                merged.getLatencySnapshot().p50Millis(), merged.getLatencySnapshot().p95Millis(),
+                merged.getLatencySnapshot().p99Millis(), histogram.maxNanos() / 1_000_000.0, slowest, fastest);
+    }
+
+    /**
+     * Workers start together but finish apart, so the aggregate rate uses the longest duration: total operations
+     * over the window in which any worker was still running.
+     */
+    static BenchmarkResult merge(String scenario, String object, List<ControlChannel.Report> reports) {
+        long operations = 0;
+        long duration = 0;
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (ControlChannel.Report report : reports) {
+            operations += report.operations;
+            duration = Math.max(duration, report.durationNanos);
+            report.counters.forEach((name, value) -> counters.merge(name, value, Long::sum));
+        }
+        counters.put("distributed.workers", (long) reports.size());
+        return new BenchmarkResult(scenario, object, operations, duration, mergedHistogram(reports).snapshot(), counters);
+    }
+
+    private static LatencyHistogram mergedHistogram(List<ControlChannel.Report> reports) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (ControlChannel.Report report : reports) {
+            histogram.merge(report.histogram);
+        }
+        return histogram;
+    }
+
+    private static double throughput(ControlChannel.Report report) {
+        return report.durationNanos == 0 ? 0.0 : report.operations * 1_000_000_000.0 / report.durationNanos;
+    }
+
+    private Process forkWorker(int index, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BenchmarkApplication.class.getName());
+        command.addAll(Arrays.asList(args));
+        command.add("command=worker");
+        command.add("coordinator=127.0.0.1:" + port);
+        Path directory = Paths.get("benchmark-results");
+        Files.createDirectories(directory);
+        File log = directory.resolve("worker-" + (index + 1) + ".log").toFile();
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private static void awaitWorkers(List<Process> processes) {
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void persist(List<String> rows) {
+        Path directory = Paths.get("benchmark-results");
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("distributed-latest.csv"), rows);
+            System.out.println();
+            System.out.println("Distributed results saved to benchmark-results/distributed-latest.csv");
+        } catch (IOException e) {
+            System.err.println("Failed to persist distributed results: " + e.getMessage());
+        }
+    }
+}
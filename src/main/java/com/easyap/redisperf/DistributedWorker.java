@@ -0,0 +1,119 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.BenchmarkResult;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * One load-generating JVM of {@code command=coordinator}: connects to the coordinator, runs the Set/Get tasks it is
+ * handed with its own thread pool and clients, holds at the start barrier after the warm-up and ships back the
+ * full latency histogram so the coordinator can merge exact percentiles.
+ */
+public class DistributedWorker {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(60);
+
+    private final BenchmarkConfig config;
+    private final BenchmarkRunner runner;
+
+    public DistributedWorker(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.runner = new BenchmarkRunner(config);
+    }
+
+    public void run() {
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<BenchmarkScenario> scenarios = BenchmarkCatalog.scenarios(clientFactory, config);
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.generators();
+
+        try (ControlChannel channel = ControlChannel.connect(config.getCoordinator(), CONNECT_TIMEOUT)) {
+            channel.sendText(ControlChannel.Type.HELLO, workerLabel());
+            System.out.println("Connected to coordinator " + channel.remoteAddress());
+            while (channel.expect(ControlChannel.Type.TASK, ControlChannel.Type.SHUTDOWN) == ControlChannel.Type.TASK) {
+                ControlChannel.Task task = channel.readTask();
+                try {
+                    ControlChannel.Report report = execute(channel, task, find(scenarios, task.scenario), findGenerator(generators, task.generator));
+                    if (report != null) {
+                        channel.sendReport(report);
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("Task failed: " + e.getMessage());
+                    channel.sendText(ControlChannel.Type.ERROR, String.valueOf(e.getMessage()));
+                }
+            }
+        }
+        System.out.println("Coordinator finished, worker exiting");
+    }
+
+    /**
+     * @return {@code null} when the coordinator aborted the task at the start barrier
+     */
+    private ControlChannel.Report execute(ControlChannel channel, ControlChannel.Task task,
+                                          BenchmarkScenario scenario, ObjectGenerator<?> generator) {
+        System.out.printf(Locale.ROOT, "%n=== Worker %d/%d | Object: %s | Scenario: %s ===%n",
+                task.workerIndex + 1, task.workerCount, generator.name(), scenario.name());
+        LatencyHistogram histogram = new LatencyHistogram();
+        Runnable startGate = () -> {
+            channel.send(ControlChannel.Type.READY);
+            if (channel.expect(ControlChannel.Type.GO, ControlChannel.Type.ABORT) == ControlChannel.Type.ABORT) {
+                throw new AbortedException();
+            }
+        };
+        try (CacheAdapter cacheAdapter = scenario.cacheSupplier().get()) {
+            // the worker index keeps key spaces disjoint across JVMs
+            BenchmarkResult result = runner.runScenario(scenario.name() + " | SetGet | w" + task.workerIndex,
+                    generator, cacheAdapter, startGate, histogram);
+            System.out.printf(Locale.ROOT, "  %.0f ops/s, p99=%.2f ms%n",
+                    result.throughputPerSecond(), histogram.snapshot().p99Millis());
+            return new ControlChannel.Report(result.getOperations(), result.getDurationNanos(), histogram, result.getCounters());
+        } catch (AbortedException e) {
+            System.out.println("  aborted by coordinator");
+            return null;
+        }
+    }
+
+    private static BenchmarkScenario find(List<BenchmarkScenario> scenarios, String name) {
+        for (BenchmarkScenario scenario : scenarios) {
+            if (scenario.name().equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + name);
+    }
+
+    private static ObjectGenerator<?> findGenerator(List<ObjectGenerator<?>> generators, String name) {
+        for (ObjectGenerator<?> generator : generators) {
+            if (generator.name().equals(name)) {
+                return generator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown object " + name);
+    }
+
+    private static String workerLabel() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + " (" + Runtime.getRuntime().availableProcessors() + " cpus)";
+    }
+
+    private static final class AbortedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        AbortedException() {
+            super("aborted by coordinator", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Keys of one scenario, encoded once before the measurement starts so the hot loop never builds strings.
+ * All keys share the same prefix, which is encoded a single time into a scratch buffer; only the decimal
+ * suffix is written per key. The set is a fixed-size ring: indexes beyond {@link #size()} wrap around, so the
+ * retained keys do not grow with the number of iterations.
+ */
+public final class KeySpace {
+
+    public static final String SET_GET_NAMESPACE = "perf";
+    public static final String READ_MOSTLY_NAMESPACE = "rw";
+    public static final String LEADERBOARD_NAMESPACE = "lb";
+    public static final String STREAM_NAMESPACE = "st";
+
+    private final String prefix;
+    private final CacheKey[] keys;
+
+    private KeySpace(String prefix, CacheKey[] keys) {
+        this.prefix = prefix;
+        this.keys = keys;
+    }
+
+    public static KeySpace create(String namespace, String generatorName, String scenario, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be > 0");
+        }
+        String prefix = baseKey(namespace, generatorName, scenario) + ":";
+        byte[] encodedPrefix = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = Arrays.copyOf(encodedPrefix, encodedPrefix.length + 10);
+        CacheKey[] keys = new CacheKey[size];
+        for (int i = 0; i < size; i++) {
+            int length = encodedPrefix.length + writeDecimal(buffer, encodedPrefix.length, i);
+            keys[i] = CacheKey.wrap(Arrays.copyOf(buffer, length));
+        }
+        return new KeySpace(prefix, keys);
+    }
+
+    public static CacheKey single(String namespace, String generatorName, String scenario) {
+        return CacheKey.of(baseKey(namespace, generatorName, scenario));
+    }
+
+    public static String sanitize(String scenario) {
+        StringBuilder builder = new StringBuilder(scenario.length());
+        for (int i = 0; i < scenario.length(); i++) {
+            char c = scenario.charAt(i);
+            boolean allowed = (c >= 'A' && c <= 'Z')
+                    || (c >= 'a' && c <= 'z')
+                    || (c >= '0' && c <= '9')
+                    || c == '_'
+                    || c == '-';
+            builder.append(allowed ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public CacheKey key(int index) {
+        return keys[Math.floorMod(index, keys.length)];
+    }
+
+    private static String baseKey(String namespace, String generatorName, String scenario) {
+        Objects.requireNonNull(namespace, "namespace");
+        Objects.requireNonNull(generatorName, "generatorName");
+        Objects.requireNonNull(scenario, "scenario");
+        return namespace + ":" + generatorName + ":" + sanitize(scenario);
+    }
+
+    private static int writeDecimal(byte[] target, int offset, int value) {
+        int digits = 1;
+        for (int remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        int position = offset + digits - 1;
+        int remaining = value;
+        do {
+            target[position--] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        return digits;
+    }
+}
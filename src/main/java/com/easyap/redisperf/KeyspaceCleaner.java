@@ -0,0 +1,152 @@
+package com.easyap.redisperf;
+
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes only the benchmark namespaces instead of flushing the whole server. Each namespace is walked with a
+ * cursor SCAN and the matching keys are handed to a small pool of workers that UNLINK them in pipelined batches,
+ * each worker on its own pooled connection.
+ */
+public class KeyspaceCleaner implements AutoCloseable {
+
+    public static final String CLIENT_NAME = "redisperf-cleanup";
+
+    private static final int KEYS_PER_UNLINK = 100;
+
+    private final JedisPooled jedis;
+    private final List<String> namespaces;
+    private final int batchSize;
+    private final int keysPerUnlink;
+    private final ExecutorService executor;
+
+    public KeyspaceCleaner(JedisPooled jedis, List<String> namespaces, int batchSize, int parallelism) {
+        this(jedis, namespaces, batchSize, parallelism, KEYS_PER_UNLINK);
+    }
+
+    /**
+     * @param keysPerUnlink keys per {@code UNLINK}; a cluster node rejects multi-key commands that span slots, so
+     *                      cluster nodes are cleaned with one key per command (still pipelined)
+     */
+    public KeyspaceCleaner(JedisPooled jedis, List<String> namespaces, int batchSize, int parallelism, int keysPerUnlink) {
+        this.jedis = Objects.requireNonNull(jedis, "jedis");
+        this.namespaces = new ArrayList<>(Objects.requireNonNull(namespaces, "namespaces"));
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be > 0");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        if (keysPerUnlink <= 0) {
+            throw new IllegalArgumentException("keysPerUnlink must be > 0");
+        }
+        this.batchSize = batchSize;
+        this.keysPerUnlink = keysPerUnlink;
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "keyspace-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Result reset() {
+        long start = System.nanoTime();
+        List<Future<Long>> batches = new ArrayList<>();
+        ScanParams params = new ScanParams().count(batchSize);
+        for (String namespace : namespaces) {
+            params.match(namespace + ":*");
+            String cursor = ScanParams.SCAN_POINTER_START;
+            List<String> pending = new ArrayList<>(batchSize);
+            do {
+                ScanResult<String> page = jedis.scan(cursor, params);
+                cursor = page.getCursor();
+                for (String key : page.getResult()) {
+                    pending.add(key);
+                    if (pending.size() >= batchSize) {
+                        batches.add(submitUnlink(pending));
+                        pending = new ArrayList<>(batchSize);
+                    }
+                }
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+            if (!pending.isEmpty()) {
+                batches.add(submitUnlink(pending));
+            }
+        }
+
+        long removed = 0;
+        for (Future<Long> batch : batches) {
+            try {
+                removed += batch.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Cleanup interrupted", ie);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Cleanup batch failed", e.getCause());
+            }
+        }
+        return new Result(removed, System.nanoTime() - start);
+    }
+
+    private Future<Long> submitUnlink(List<String> keys) {
+        return executor.submit(() -> {
+            List<Response<Long>> responses = new ArrayList<>((keys.size() + keysPerUnlink - 1) / keysPerUnlink);
+            try (Pipeline pipeline = jedis.pipelined()) {
+                for (int from = 0; from < keys.size(); from += keysPerUnlink) {
+                    int to = Math.min(keys.size(), from + keysPerUnlink);
+                    responses.add(pipeline.unlink(keys.subList(from, to).toArray(new String[0])));
+                }
+                pipeline.sync();
+            }
+            long removed = 0;
+            for (Response<Long> response : responses) {
+                removed += response.get();
+            }
+            return removed;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        jedis.close();
+    }
+
+    public static final class Result {
+        private final long keys;
+        private final long durationNanos;
+
+        public Result(long keys, long durationNanos) {
+            this.keys = keys;
+            this.durationNanos = durationNanos;
+        }
+
+        public long keys() {
+            return keys;
+        }
+
+        public long durationNanos() {
+            return durationNanos;
+        }
+
+        public double durationMillis() {
+            return durationNanos / 1_000_000.0;
+        }
+    }
+}
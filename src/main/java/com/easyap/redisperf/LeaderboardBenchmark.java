@@ -0,0 +1,402 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.leaderboard.LeaderboardAdapter;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import com.easyap.redisperf.metrics.ServerStatsProbe;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sorted-set leaderboard workload ({@code command=leaderboard}). Every client grows its own board through
+ * {@code leaderboardSizes} and, at each size, runs a weighted mix of score updates ({@code ZADD}, {@code ZINCRBY}),
+ * rank lookups ({@code ZREVRANK}) and top-N reads ({@code ZREVRANGE WITHSCORES}) on uniformly chosen members, so
+ * throughput and per-operation latency can be followed as the set grows. Updates move existing members only: the
+ * board keeps its size while it is measured.
+ */
+public class LeaderboardBenchmark {
+
+    private static final List<String> OPERATIONS = Collections.unmodifiableList(Arrays.asList("zadd", "zincrby", "rank", "top"));
+
+    private static final String MONITOR_CLIENT_NAME = "redisperf-telemetry";
+    private static final int SEED_BATCH = 1_000;
+    private static final int WARMUP_OPERATIONS = 1_000;
+    private static final double MAX_SCORE = 1_000_000.0;
+
+    private final BenchmarkConfig config;
+
+    public LeaderboardBenchmark(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    public void run() {
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<WorkloadScenario<LeaderboardAdapter>> scenarios = BenchmarkCatalog.selectWorkloadScenarios(
+                BenchmarkCatalog.leaderboardScenarios(clientFactory), config.getScenarioFilters());
+        List<Integer> sizes = new ArrayList<>(config.getLeaderboardSizes());
+        Collections.sort(sizes);
+
+        System.out.printf(Locale.ROOT, "== Leaderboard Benchmark ==%nRedis URI: %s%nSizes: %s members | Mix: %s | Top %d%n%d threads x %d operations per size%n",
+                config.getRedisUri(), sizes, config.getLeaderboardMix(), config.getLeaderboardTopN(),
+                config.getThreadCount(), config.getIterationsPerThread());
+
+        List<Row> rows = new ArrayList<>();
+        try (KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                clientFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                Collections.singletonList(KeySpace.LEADERBOARD_NAMESPACE),
+                config.getCleanupBatchSize(),
+                config.getCleanupThreads());
+             Jedis monitor = clientFactory.createDirectJedis(MONITOR_CLIENT_NAME)) {
+            cleaner.reset();
+            for (WorkloadScenario<LeaderboardAdapter> scenario : scenarios) {
+                String board = KeySpace.LEADERBOARD_NAMESPACE + ":" + KeySpace.sanitize(scenario.name());
+                LeaderboardAdapter adapter = scenario.adapterSupplier().get();
+                try {
+                    int members = 0;
+                    for (int size : sizes) {
+                        System.out.printf(Locale.ROOT, "%n=== Leaderboard | %,d members | Scenario: %s ===%n", size, scenario.name());
+                        long seedNanos = grow(adapter, board, members, size);
+                        members = size;
+                        Row row = measure(scenario.name(), adapter, board, size);
+                        row.seedNanos = seedNanos;
+                        row.memoryBytes = memoryUsage(monitor, board);
+                        rows.add(row);
+                        print(row);
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("  skipped: " + e.getMessage());
+                } finally {
+                    adapter.close();
+                    cleaner.reset();
+                }
+            }
+        }
+
+        List<String> growth = buildGrowth(rows);
+        System.out.println();
+        growth.forEach(System.out::println);
+        persist(rows, growth);
+    }
+
+    /**
+     * Adds members {@code from..to-1} with random scores, {@link #SEED_BATCH} per command, spread over the worker
+     * threads.
+     *
+     * @return time taken
+     */
+    private long grow(LeaderboardAdapter adapter, String board, int from, int to) {
+        if (to <= from) {
+            return 0L;
+        }
+        AtomicLong nextBatch = new AtomicLong(from);
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreadCount());
+        long start = System.nanoTime();
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < config.getThreadCount(); t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (long first = nextBatch.getAndAdd(SEED_BATCH); first < to; first = nextBatch.getAndAdd(SEED_BATCH)) {
+                        long last = Math.min(to, first + SEED_BATCH);
+                        Map<String, Double> scores = new HashMap<>((int) (last - first) * 2);
+                        for (long member = first; member < last; member++) {
+                            scores.put(member(member), rnd.nextDouble(MAX_SCORE));
+                        }
+                        adapter.addAll(board, scores);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                awaitFuture(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long duration = System.nanoTime() - start;
+        long actual = adapter.size(board);
+        if (actual != to) {
+            throw new IllegalStateException("Board has " + actual + " members after growing it to " + to);
+        }
+        System.out.printf(Locale.ROOT, "  grew %,d -> %,d members in %.1f s (%.0f members/s)%n",
+                from, to, duration / 1_000_000_000.0, (to - from) * 1_000_000_000.0 / duration);
+        return duration;
+    }
+
+    private Row measure(String scenario, LeaderboardAdapter adapter, String board, int size) {
+        String[] schedule = schedule(config.getLeaderboardMix());
+        Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        int threads = config.getThreadCount();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            CountDownLatch warmedUp = new CountDownLatch(threads);
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(buildWorker(adapter, board, size, schedule, latencies, warmedUp, startLatch)));
+            }
+            warmedUp.await();
+            try (ServerStatsProbe serverStats = ServerStatsProbe.start(config.getRedisUri())) {
+                long start = System.nanoTime();
+                startLatch.countDown();
+                for (Future<Void> future : futures) {
+                    awaitFuture(future);
+                }
+                long duration = System.nanoTime() - start;
+                return new Row(scenario, size, latencies, duration, serverStats.finish());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Void> buildWorker(LeaderboardAdapter adapter,
+                                       String board,
+                                       int size,
+                                       String[] schedule,
+                                       Map<String, LatencyHistogram> latencies,
+                                       CountDownLatch warmedUp,
+                                       CountDownLatch startLatch) {
+        int topN = config.getLeaderboardTopN();
+        int iterations = config.getIterationsPerThread();
+        return () -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            try {
+                for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+                    execute(adapter, board, schedule[rnd.nextInt(schedule.length)], member(rnd.nextInt(size)), topN, rnd);
+                }
+            } finally {
+                warmedUp.countDown();
+            }
+            startLatch.await();
+            LatencyHistogram[] histograms = new LatencyHistogram[schedule.length];
+            for (int i = 0; i < schedule.length; i++) {
+                histograms[i] = latencies.get(schedule[i]);
+            }
+            for (int i = 0; i < iterations; i++) {
+                int slot = rnd.nextInt(schedule.length);
+                String member = member(rnd.nextInt(size));
+                long start = System.nanoTime();
+                execute(adapter, board, schedule[slot], member, topN, rnd);
+                histograms[slot].record(System.nanoTime() - start);
+            }
+            return null;
+        };
+    }
+
+    private static void execute(LeaderboardAdapter adapter, String board, String operation, String member, int topN,
+                                ThreadLocalRandom rnd) {
+        switch (operation) {
+            case "zadd":
+                adapter.setScore(board, member, rnd.nextDouble(MAX_SCORE));
+                break;
+            case "zincrby":
+                adapter.incrementScore(board, member, 1 + rnd.nextInt(100));
+                break;
+            case "rank":
+                if (adapter.rank(board, member) < 0) {
+                    throw new IllegalStateException("Member " + member + " missing from " + board);
+                }
+                break;
+            case "top":
+                adapter.top(board, topN);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown leaderboard operation: " + operation);
+        }
+    }
+
+    /**
+     * Operation names repeated by weight (reduced by their common divisor), so a uniform pick follows the mix.
+     */
+    private static String[] schedule(Map<String, Integer> mix) {
+        int divisor = 0;
+        for (int weight : mix.values()) {
+            divisor = gcd(divisor, weight);
+        }
+        List<String> slots = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue() / divisor; i++) {
+                slots.add(entry.getKey());
+            }
+        }
+        return slots.toArray(new String[0]);
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static String member(long index) {
+        return "m" + index;
+    }
+
+    private static long memoryUsage(Jedis monitor, String board) {
+        try {
+            Long bytes = monitor.memoryUsage(board);
+            return bytes == null ? -1L : bytes;
+        } catch (JedisException e) {
+            return -1L;
+        }
+    }
+
+    private static void print(Row row) {
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "  %.0f ops/s", row.operationsPerSecond()));
+        for (Map.Entry<String, LatencyHistogram> entry : row.latencies.entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            if (latency.count() > 0) {
+                line.append(String.format(Locale.ROOT, " | %s p50=%.3f ms p99=%.3f ms", entry.getKey(),
+                        latency.percentileNanos(0.50) / 1_000_000.0, latency.percentileNanos(0.99) / 1_000_000.0));
+            }
+        }
+        if (row.memoryBytes >= 0) {
+            line.append(String.format(Locale.ROOT, " | %.1f B/member", row.memoryBytes / (double) row.size));
+        }
+        System.out.println(line);
+        if (row.server.containsKey("server.commands")) {
+            System.out.println("  " + ServerStatsProbe.summary(row.server, row.operations()));
+        }
+    }
+
+    /**
+     * Per client, throughput and p99 of every operation at each size relative to the smallest board.
+     */
+    private static List<String> buildGrowth(List<Row> rows) {
+        Map<String, Row> smallest = new LinkedHashMap<>();
+        for (Row row : rows) {
+            Row current = smallest.get(row.scenario);
+            if (current == null || row.size < current.size) {
+                smallest.put(row.scenario, row);
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("=== Leaderboard growth (vs. the smallest board) ===");
+        for (Row row : rows) {
+            Row base = smallest.get(row.scenario);
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s | %,d members: %.0f ops/s (x%.2f)",
+                    row.scenario, row.size, row.operationsPerSecond(),
+                    base.operationsPerSecond() == 0 ? 0.0 : row.operationsPerSecond() / base.operationsPerSecond()));
+            for (String operation : OPERATIONS) {
+                long p99 = row.latencies.get(operation).percentileNanos(0.99);
+                long baseP99 = base.latencies.get(operation).percentileNanos(0.99);
+                if (row.latencies.get(operation).count() > 0) {
+                    line.append(String.format(Locale.ROOT, ", %s p99 %.3f ms (x%.2f)", operation, p99 / 1_000_000.0,
+                            baseP99 == 0 ? 0.0 : p99 / (double) baseP99));
+                }
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static void persist(List<Row> rows, List<String> growth) {
+        Path directory = Paths.get("benchmark-results");
+        List<String> lines = new ArrayList<>();
+        StringBuilder header = new StringBuilder("scenario,members,ops_per_sec,seed_ms,memory_bytes,server_us_per_cmd");
+        for (String operation : OPERATIONS) {
+            header.append(',').append(operation).append("_ops,")
+                    .append(operation).append("_p50_ms,")
+                    .append(operation).append("_p99_ms");
+        }
+        lines.add(header.toString());
+        for (Row row : rows) {
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "\"%s\",%d,%.0f,%.1f,%d,%s",
+                    row.scenario,
+                    row.size,
+                    row.operationsPerSecond(),
+                    row.seedNanos / 1_000_000.0,
+                    row.memoryBytes,
+                    csvNumber(ServerStatsProbe.usecPerCommand(row.server))));
+            for (String operation : OPERATIONS) {
+                LatencyHistogram latency = row.latencies.get(operation);
+                line.append(String.format(Locale.ROOT, ",%d,%.3f,%.3f",
+                        latency.count(),
+                        latency.percentileNanos(0.50) / 1_000_000.0,
+                        latency.percentileNanos(0.99) / 1_000_000.0));
+            }
+            lines.add(line.toString());
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("leaderboard-latest.csv"), lines);
+            Files.write(directory.resolve("leaderboard-growth.txt"), growth);
+            System.out.println();
+            System.out.println("Leaderboard results saved to benchmark-results/leaderboard-latest.csv and leaderboard-growth.txt");
+        } catch (IOException e) {
+            System.err.println("Failed to persist leaderboard results: " + e.getMessage());
+        }
+    }
+
+    private static String csvNumber(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static <T> T awaitFuture(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", ie);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed", e.getCause());
+        }
+    }
+
+    private static final class Row {
+        private final String scenario;
+        private final int size;
+        private final Map<String, LatencyHistogram> latencies;
+        private final long durationNanos;
+        private final Map<String, Long> server;
+        private long seedNanos;
+        private long memoryBytes = -1L;
+
+        Row(String scenario, int size, Map<String, LatencyHistogram> latencies, long durationNanos, Map<String, Long> server) {
+            this.scenario = scenario;
+            this.size = size;
+            this.latencies = latencies;
+            this.durationNanos = durationNanos;
+            this.server = server;
+        }
+
+        long operations() {
+            long operations = 0;
+            for (LatencyHistogram latency : latencies.values()) {
+                operations += latency.count();
+            }
+            return operations;
+        }
+
+        double operationsPerSecond() {
+            return durationNanos == 0 ? 0.0 : operations() * 1_000_000_000.0 / durationNanos;
+        }
+    }
+}
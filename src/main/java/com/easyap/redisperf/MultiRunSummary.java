@@ -0,0 +1,164 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.metrics.RunStatistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput statistics across the {@code runs} repetitions of every mode, scenario and object, and the winner per
+ * mode and object. A winner is only declared when the bootstrap interval of its lead over the runner-up excludes
+ * zero, which needs at least two runs.
+ */
+final class MultiRunSummary {
+
+    static final String SUMMARY_HEADER = "mode,scenario,object,runs,avg_ops_per_sec,min_ops_per_sec,max_ops_per_sec,stdev_ops_per_sec,spread_pct,ci_low_ops_per_sec,ci_high_ops_per_sec";
+    static final String WINNERS_HEADER = "mode,object,winner,avg_ops_per_sec,advantage_vs_second,advantage_ci_low,advantage_ci_high,significant";
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    MultiRunSummary(List<BenchmarkRecord> records) {
+        Map<String, List<BenchmarkRecord>> groups = new LinkedHashMap<>();
+        for (BenchmarkRecord record : records) {
+            groups.computeIfAbsent(record.mode() + "|" + record.scenarioName() + "|" + record.objectName(), k -> new ArrayList<>())
+                    .add(record);
+        }
+        for (List<BenchmarkRecord> group : groups.values()) {
+            double[] throughput = new double[group.size()];
+            for (int i = 0; i < throughput.length; i++) {
+                throughput[i] = group.get(i).result().throughputPerSecond();
+            }
+            BenchmarkRecord first = group.get(0);
+            entries.add(new Entry(first.mode(), first.scenarioName(), first.objectName(), RunStatistics.of(throughput)));
+        }
+        entries.sort(Comparator.comparing((Entry e) -> e.mode.ordinal())
+                .thenComparing(e -> e.object)
+                .thenComparing(e -> e.scenario));
+    }
+
+    List<String> summaryCsv() {
+        List<String> lines = new ArrayList<>();
+        lines.add(SUMMARY_HEADER);
+        for (Entry entry : entries) {
+            RunStatistics stats = entry.stats;
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,%d,%.0f,%.0f,%.0f,%.0f,%.1f,%.0f,%.0f",
+                    entry.mode.title(), csv(entry.scenario), csv(entry.object), stats.runs(), stats.mean(), stats.min(),
+                    stats.max(), stats.stdev(), stats.spreadPercent(), stats.ciLow(), stats.ciHigh()));
+        }
+        return lines;
+    }
+
+    List<String> summaryTable() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "=== Throughput across runs (mean, %.0f %% bootstrap CI) ===", RunStatistics.CONFIDENCE * 100));
+        for (Entry entry : entries) {
+            RunStatistics stats = entry.stats;
+            lines.add(String.format(Locale.ROOT, "%-18s | %-26s | %-22s | %10.0f ops/s [%.0f, %.0f] | stdev %.0f | spread %.1f %%",
+                    entry.mode.title(), entry.scenario, entry.object, stats.mean(), stats.ciLow(), stats.ciHigh(),
+                    stats.stdev(), stats.spreadPercent()));
+        }
+        return lines;
+    }
+
+    List<String> winnersCsv() {
+        List<String> lines = new ArrayList<>();
+        lines.add(WINNERS_HEADER);
+        for (Winner winner : winners()) {
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,%.0f,%s,%s,%s,%s",
+                    winner.leader.mode.title(), csv(winner.leader.object), csv(winner.leader.scenario),
+                    winner.leader.stats.mean(),
+                    winner.second == null ? "" : String.format(Locale.ROOT, "%.0f", winner.advantage()),
+                    winner.second == null ? "" : String.format(Locale.ROOT, "%.0f", winner.interval[0]),
+                    winner.second == null ? "" : String.format(Locale.ROOT, "%.0f", winner.interval[1]),
+                    winner.significant()));
+        }
+        return lines;
+    }
+
+    List<String> winnerLines() {
+        List<String> lines = new ArrayList<>();
+        for (Winner winner : winners()) {
+            Entry leader = winner.leader;
+            if (winner.second == null) {
+                lines.add(String.format(Locale.ROOT, "%s - %s: %s (%.0f ops/s, only scenario)",
+                        leader.mode.title(), leader.object, leader.scenario, leader.stats.mean()));
+            } else if (winner.significant()) {
+                lines.add(String.format(Locale.ROOT, "%s - %s: %s (%.0f ops/s, +%.0f vs %s, CI [%+.0f, %+.0f])",
+                        leader.mode.title(), leader.object, leader.scenario, leader.stats.mean(), winner.advantage(),
+                        winner.second.scenario, winner.interval[0], winner.interval[1]));
+            } else {
+                lines.add(String.format(Locale.ROOT, "%s - %s: no significant winner (%s leads %s by %.0f ops/s, CI [%+.0f, %+.0f])",
+                        leader.mode.title(), leader.object, leader.scenario, winner.second.scenario, winner.advantage(),
+                        winner.interval[0], winner.interval[1]));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Best and second-best mean per mode and object; the RESP baseline is not a contender.
+     */
+    private List<Winner> winners() {
+        Map<String, List<Entry>> byWorkload = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (BenchmarkCatalog.BASELINE_SCENARIO.equals(entry.scenario)) {
+                continue;
+            }
+            byWorkload.computeIfAbsent(entry.mode + "|" + entry.object, k -> new ArrayList<>()).add(entry);
+        }
+        List<Winner> winners = new ArrayList<>();
+        for (List<Entry> contenders : byWorkload.values()) {
+            contenders.sort(Comparator.comparingDouble((Entry e) -> e.stats.mean()).reversed());
+            winners.add(new Winner(contenders.get(0), contenders.size() > 1 ? contenders.get(1) : null));
+        }
+        return winners;
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static final class Entry {
+
+        final TestMode mode;
+        final String scenario;
+        final String object;
+        final RunStatistics stats;
+
+        Entry(TestMode mode, String scenario, String object, RunStatistics stats) {
+            this.mode = mode;
+            this.scenario = scenario;
+            this.object = object;
+            this.stats = stats;
+        }
+    }
+
+    private static final class Winner {
+
+        final Entry leader;
+        final Entry second;
+        final double[] interval;
+
+        Winner(Entry leader, Entry second) {
+            this.leader = leader;
+            this.second = second;
+            this.interval = second == null ? null : leader.stats.differenceInterval(second.stats);
+        }
+
+        double advantage() {
+            return leader.stats.mean() - second.stats.mean();
+        }
+
+        boolean significant() {
+            return second == null
+                    || (leader.stats.runs() > 1 && second.stats.runs() > 1 && interval[0] > 0.0);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.util.JavaSerializationUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded set of distinct payloads that workers cycle through instead of holding one live object per iteration.
+ * In pre-serialized mode the payloads are generated into a single byte arena; each slot is decoded the first time
+ * it is reached and the instance is shared from then on, so iterations never pay for decoding.
+ */
+public final class PayloadPool {
+
+    private final String generatorName;
+    private final int size;
+    private final Serializable[] objects;
+    private final byte[] arena;
+    private final int[] offsets;
+    private final AtomicReferenceArray<Serializable> decoded;
+
+    private PayloadPool(String generatorName, Serializable[] objects, byte[] arena, int[] offsets) {
+        this.generatorName = generatorName;
+        this.objects = objects;
+        this.arena = arena;
+        this.offsets = offsets;
+        this.size = objects != null ? objects.length : offsets.length - 1;
+        this.decoded = objects != null ? null : new AtomicReferenceArray<>(size);
+    }
+
+    public static PayloadPool create(ObjectGenerator<?> generator, int size, boolean preSerialize) {
+        Objects.requireNonNull(generator, "generator");
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be > 0");
+        }
+        if (!preSerialize) {
+            Serializable[] objects = new Serializable[size];
+            for (int i = 0; i < size; i++) {
+                objects[i] = generator.generate();
+            }
+            return new PayloadPool(generator.name(), objects, null, null);
+        }
+
+        List<byte[]> encoded = new ArrayList<>(size);
+        long totalBytes = 0;
+        for (int i = 0; i < size; i++) {
+            byte[] bytes = JavaSerializationUtils.serialize(generator.generate());
+            encoded.add(bytes);
+            totalBytes += bytes.length;
+        }
+        if (totalBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Payload pool for " + generator.name()
+                    + " does not fit in a single arena (" + totalBytes + " bytes); reduce payloadPool");
+        }
+        byte[] arena = new byte[(int) totalBytes];
+        int[] offsets = new int[size + 1];
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            byte[] bytes = encoded.get(i);
+            System.arraycopy(bytes, 0, arena, position, bytes.length);
+            offsets[i] = position;
+            position += bytes.length;
+        }
+        offsets[size] = position;
+        return new PayloadPool(generator.name(), null, arena, offsets);
+    }
+
+    public String generatorName() {
+        return generatorName;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean preSerialized() {
+        return arena != null;
+    }
+
+    public long arenaBytes() {
+        return arena != null ? arena.length : 0L;
+    }
+
+    public Serializable get(int index) {
+        int slot = Math.floorMod(index, size);
+        if (objects != null) {
+            return objects[slot];
+        }
+        Serializable value = decoded.get(slot);
+        if (value == null) {
+            int offset = offsets[slot];
+            // concurrent first readers may both decode; every caller then uses the instance that won
+            decoded.compareAndSet(slot, null,
+                    (Serializable) JavaSerializationUtils.deserialize(arena, offset, offsets[slot + 1] - offset));
+            value = decoded.get(slot);
+        }
+        return value;
+    }
+
+    /**
+     * Cursors are not thread-safe; each worker owns one. Start positions are spread over the pool so that
+     * concurrent workers do not write the same payload at the same moment.
+     */
+    public Cursor cursor(int threadIndex, int threadCount) {
+        int stride = Math.max(1, size / Math.max(1, threadCount));
+        return new Cursor(Math.floorMod(threadIndex * stride, size));
+    }
+
+    public final class Cursor {
+        private int position;
+
+        private Cursor(int start) {
+            this.position = start;
+        }
+
+        public Serializable next() {
+            Serializable value = get(position);
+            position++;
+            if (position == size) {
+                position = 0;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.BenchmarkResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@code command=sizes}: runs the selected scenarios over a log-scale range of value sizes in text, random-bytes
+ * and structured variants, prints throughput and p99 curves, and locates the sizes where one client overtakes
+ * another. Iterations, threads and the payload pool shrink with the value size so every point writes at most
+ * {@code sizeSweepBudgetMb} of values; a size that does not fit even on one thread is skipped.
+ */
+public class PayloadSizeSweep {
+
+    private static final int MIN_ITERATIONS_PER_THREAD = 8;
+    private static final long POOL_BUDGET_BYTES = 64L * 1024 * 1024;
+    private static final int MIN_POOL_SIZE = 4;
+    /**
+     * Sign changes where both sides are within this ratio are treated as noise, not as a crossover.
+     */
+    private static final double NOISE_RATIO = 0.05;
+
+    private final BenchmarkConfig config;
+    private final String[] args;
+
+    public PayloadSizeSweep(BenchmarkConfig config, String[] args) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.args = args == null ? new String[0] : args.clone();
+    }
+
+    public List<Point> run() {
+        List<Integer> sizes = new ArrayList<>(config.getPayloadSizes());
+        Collections.sort(sizes);
+        List<TestMode> modes = BenchmarkCatalog.selectModes(config.getModeFilters());
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<BenchmarkScenario> scenarios = BenchmarkCatalog.selectScenarios(
+                BenchmarkCatalog.scenarios(clientFactory, config), config.getScenarioFilters());
+
+        System.out.printf(Locale.ROOT, "== Payload size sweep ==%nSizes: %s | Variants: %s | Scenarios: %d | Budget: %d MB per point%n",
+                labels(sizes), config.getPayloadVariants(), scenarios.size(), config.getSizeSweepBudgetBytes() / (1024 * 1024));
+
+        List<Point> points = new ArrayList<>();
+        try (KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                clientFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                Arrays.asList(KeySpace.SET_GET_NAMESPACE, KeySpace.READ_MOSTLY_NAMESPACE),
+                config.getCleanupBatchSize(),
+                config.getCleanupThreads())) {
+            cleaner.reset();
+            for (String variant : config.getPayloadVariants()) {
+                for (int size : sizes) {
+                    BenchmarkConfig pointConfig = configFor(size);
+                    if (pointConfig == null) {
+                        System.out.printf(Locale.ROOT, "%n--- %s %s skipped: %d iterations of one thread exceed the %d MB budget%n",
+                                variant, BenchmarkCatalog.sizeLabel(size), MIN_ITERATIONS_PER_THREAD,
+                                config.getSizeSweepBudgetBytes() / (1024 * 1024));
+                        continue;
+                    }
+                    BenchmarkRunner runner = new BenchmarkRunner(pointConfig);
+                    ReadMostlyBenchmark readMostlyBenchmark = new ReadMostlyBenchmark(pointConfig);
+                    ObjectGenerator<?> generator = BenchmarkCatalog.sizedGenerator(variant, size);
+                    for (BenchmarkScenario scenario : scenarios) {
+                        for (TestMode mode : modes) {
+                            System.out.printf(Locale.ROOT, "%n--- %s | %s | %s (%d threads x %d iterations, pool %d)%n",
+                                    mode.title(), scenario.name(), generator.name(), pointConfig.getThreadCount(),
+                                    pointConfig.getIterationsPerThread(), pointConfig.getPayloadPoolSize());
+                            try {
+                                BenchmarkResult result = mode == TestMode.READ_MOSTLY
+                                        ? readMostlyBenchmark.run(scenario.name(), generator, scenario.cacheSupplier()).result()
+                                        : runSetGet(runner, scenario, generator);
+                                points.add(new Point(variant, size, mode, scenario.name(), result,
+                                        pointConfig.getThreadCount(), pointConfig.getIterationsPerThread()));
+                                System.out.printf(Locale.ROOT, "  %.0f ops/s, p50=%.3f ms, p99=%.3f ms%n", result.throughputPerSecond(),
+                                        result.getLatencySnapshot().p50Millis(), result.getLatencySnapshot().p99Millis());
+                            } catch (RuntimeException e) {
+                                System.out.println("  skipped: " + e.getMessage());
+                            } finally {
+                                cleaner.reset();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Crossover> crossovers = new ArrayList<>();
+        for (Map.Entry<String, List<Point>> curve : curves(points).entrySet()) {
+            System.out.println();
+            printCurve(curve.getKey() + " | ops/s", curve.getValue(), sizes, point -> point.result.throughputPerSecond(), "%.0f");
+            printCurve(curve.getKey() + " | p99 ms", curve.getValue(), sizes, point -> point.result.getLatencySnapshot().p99Millis(), "%.3f");
+            List<Crossover> found = new ArrayList<>();
+            found.addAll(crossovers(curve.getValue(), sizes, "throughput", point -> point.result.throughputPerSecond(), true));
+            found.addAll(crossovers(curve.getValue(), sizes, "p99", point -> point.result.getLatencySnapshot().p99Millis(), false));
+            System.out.println("  Crossovers:");
+            if (found.isEmpty()) {
+                System.out.println("    none: the ranking holds across all sizes");
+            }
+            found.forEach(crossover -> System.out.println("    " + crossover.describe()));
+            crossovers.addAll(found);
+        }
+        persist(points, crossovers);
+        return points;
+    }
+
+    private static BenchmarkResult runSetGet(BenchmarkRunner runner, BenchmarkScenario scenario, ObjectGenerator<?> generator) {
+        try (CacheAdapter cacheAdapter = scenario.cacheSupplier().get()) {
+            return runner.runScenario(scenario.name() + " | SetGet", generator, cacheAdapter);
+        }
+    }
+
+    /**
+     * The configured run with iterations, threads and payload pool scaled down so one point stays within the byte
+     * budgets; small sizes keep the configured values. Iterations shrink first, down to
+     * {@link #MIN_ITERATIONS_PER_THREAD}, then threads.
+     *
+     * @return {@code null} if even one thread of minimum iterations would exceed the budget
+     */
+    private BenchmarkConfig configFor(int size) {
+        long budgetIterations = config.getSizeSweepBudgetBytes() / size;
+        if (budgetIterations < MIN_ITERATIONS_PER_THREAD) {
+            return null;
+        }
+        int threads = (int) Math.min(config.getThreadCount(), budgetIterations / MIN_ITERATIONS_PER_THREAD);
+        int iterations = (int) Math.min(config.getIterationsPerThread(), budgetIterations / threads);
+        int pool = (int) Math.max(MIN_POOL_SIZE, Math.min(config.getPayloadPoolSize(), POOL_BUDGET_BYTES / size));
+        String[] pointArgs = Arrays.copyOf(args, args.length + 3);
+        pointArgs[args.length] = "threads=" + threads;
+        pointArgs[args.length + 1] = "iterations=" + iterations;
+        pointArgs[args.length + 2] = "payloadPool=" + pool;
+        return BenchmarkConfig.fromArgs(pointArgs);
+    }
+
+    /**
+     * @return {@code "variant | mode"} to its points, in run order
+     */
+    private static Map<String, List<Point>> curves(List<Point> points) {
+        Map<String, List<Point>> curves = new LinkedHashMap<>();
+        for (Point point : points) {
+            curves.computeIfAbsent(point.variant + " | " + point.mode.title(), k -> new ArrayList<>()).add(point);
+        }
+        return curves;
+    }
+
+    private static List<String> scenariosOf(List<Point> points) {
+        List<String> scenarios = new ArrayList<>();
+        for (Point point : points) {
+            if (!scenarios.contains(point.scenario)) {
+                scenarios.add(point.scenario);
+            }
+        }
+        return scenarios;
+    }
+
+    private static Point find(List<Point> points, String scenario, int size) {
+        for (Point point : points) {
+            if (point.scenario.equals(scenario) && point.sizeBytes == size) {
+                return point;
+            }
+        }
+        return null;
+    }
+
+    private static void printCurve(String title, List<Point> points, List<Integer> sizes, ToDoubleFunction<Point> metric, String format) {
+        List<String> scenarios = scenariosOf(points);
+        System.out.println("=== " + title + " ===");
+        StringBuilder header = new StringBuilder(String.format(Locale.ROOT, "%8s", "Size"));
+        for (String scenario : scenarios) {
+            header.append(" | ").append(String.format(Locale.ROOT, "%" + columnWidth(scenario) + "s", scenario));
+        }
+        System.out.println(header);
+        for (int size : sizes) {
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%8s", BenchmarkCatalog.sizeLabel(size)));
+            for (String scenario : scenarios) {
+                Point point = find(points, scenario, size);
+                String value = point == null ? "-" : String.format(Locale.ROOT, format, metric.applyAsDouble(point));
+                line.append(" | ").append(String.format(Locale.ROOT, "%" + columnWidth(scenario) + "s", value));
+            }
+            System.out.println(line);
+        }
+    }
+
+    private static int columnWidth(String scenario) {
+        return Math.max(10, scenario.length());
+    }
+
+    /**
+     * For every pair of scenarios, finds consecutive sizes between which their order flips and estimates the
+     * crossing by interpolating the log ratio of the metric over log size.
+     */
+    private static List<Crossover> crossovers(List<Point> points, List<Integer> sizes, String metricName,
+                                              ToDoubleFunction<Point> metric, boolean higherIsBetter) {
+        List<String> scenarios = scenariosOf(points);
+        List<Crossover> crossovers = new ArrayList<>();
+        Point first = points.get(0);
+        for (int a = 0; a < scenarios.size(); a++) {
+            for (int b = a + 1; b < scenarios.size(); b++) {
+                Integer previousSize = null;
+                double previous = 0.0;
+                for (int size : sizes) {
+                    Point pointA = find(points, scenarios.get(a), size);
+                    Point pointB = find(points, scenarios.get(b), size);
+                    if (pointA == null || pointB == null || metric.applyAsDouble(pointA) <= 0 || metric.applyAsDouble(pointB) <= 0) {
+                        continue;
+                    }
+                    // > 0 while scenario a is ahead
+                    double advantage = Math.log(metric.applyAsDouble(pointA) / metric.applyAsDouble(pointB)) * (higherIsBetter ? 1 : -1);
+                    boolean significant = Math.abs(advantage) >= Math.log1p(NOISE_RATIO) || Math.abs(previous) >= Math.log1p(NOISE_RATIO);
+                    if (previousSize != null && previous * advantage < 0 && significant) {
+                        double fraction = previous / (previous - advantage);
+                        double crossing = Math.exp(Math.log(previousSize) + fraction * (Math.log(size) - Math.log(previousSize)));
+                        String before = previous > 0 ? scenarios.get(a) : scenarios.get(b);
+                        String after = previous > 0 ? scenarios.get(b) : scenarios.get(a);
+                        crossovers.add(new Crossover(first.variant, first.mode, metricName, before, after, previousSize, size, Math.round(crossing)));
+                    }
+                    previousSize = size;
+                    previous = advantage;
+                }
+            }
+        }
+        return crossovers;
+    }
+
+    private static String labels(List<Integer> sizes) {
+        List<String> labels = new ArrayList<>();
+        for (int size : sizes) {
+            labels.add(BenchmarkCatalog.sizeLabel(size));
+        }
+        return String.join(",", labels);
+    }
+
+    private static void persist(List<Point> points, List<Crossover> crossovers) {
+        Path directory = Paths.get("benchmark-results");
+        List<String> lines = new ArrayList<>();
+        lines.add("variant,size_bytes,size,mode,scenario,threads,iterations_per_thread,ops_per_sec,average_ms,p50_ms,p95_ms,p99_ms,heap_peak_mb,alloc_kb_per_op,gc_ms");
+        for (Point point : points) {
+            Map<String, Long> counters = point.result.getCounters();
+            lines.add(String.format(Locale.ROOT, "%s,%d,%s,%s,\"%s\",%d,%d,%.0f,%.3f,%.3f,%.3f,%.3f,%s,%s,%s",
+                    point.variant,
+                    point.sizeBytes,
+                    BenchmarkCatalog.sizeLabel(point.sizeBytes),
+                    point.mode.title(),
+                    point.scenario,
+                    point.threads,
+                    point.iterationsPerThread,
+                    point.result.throughputPerSecond(),
+                    point.result.averageLatencyMillis(),
+                    point.result.getLatencySnapshot().p50Millis(),
+                    point.result.getLatencySnapshot().p95Millis(),
+                    point.result.getLatencySnapshot().p99Millis(),
+                    counters.containsKey("jvm.heapPeakBytes")
+                            ? String.format(Locale.ROOT, "%.1f", counters.get("jvm.heapPeakBytes") / (1024.0 * 1024.0))
+                            : "",
+                    counters.containsKey("jvm.workerAllocBytes") && point.result.getOperations() > 0
+                            ? String.format(Locale.ROOT, "%.1f", counters.get("jvm.workerAllocBytes") / 1024.0 / point.result.getOperations())
+                            : "",
+                    counters.containsKey("jvm.gcMillis") ? String.valueOf(counters.get("jvm.gcMillis")) : ""));
+        }
+        List<String> crossoverLines = new ArrayList<>();
+        crossoverLines.add("variant,mode,metric,ahead_below,ahead_above,lower_size_bytes,upper_size_bytes,estimated_crossover_bytes");
+        for (Crossover crossover : crossovers) {
+            crossoverLines.add(String.format(Locale.ROOT, "%s,%s,%s,\"%s\",\"%s\",%d,%d,%d",
+                    crossover.variant,
+                    crossover.mode.title(),
+                    crossover.metric,
+                    crossover.aheadBelow,
+                    crossover.aheadAbove,
+                    crossover.lowerSize,
+                    crossover.upperSize,
+                    crossover.estimatedBytes));
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("size-sweep-latest.csv"), lines);
+            Files.write(directory.resolve("size-sweep-crossovers.csv"), crossoverLines);
+            System.out.println();
+            System.out.println("Size sweep saved to benchmark-results/size-sweep-latest.csv and size-sweep-crossovers.csv");
+        } catch (IOException e) {
+            System.err.println("Failed to persist size sweep: " + e.getMessage());
+        }
+    }
+
+    public static final class Point {
+        private final String variant;
+        private final int sizeBytes;
+        private final TestMode mode;
+        private final String scenario;
+        private final BenchmarkResult result;
+        private final int threads;
+        private final int iterationsPerThread;
+
+        Point(String variant, int sizeBytes, TestMode mode, String scenario, BenchmarkResult result, int threads,
+              int iterationsPerThread) {
+            this.variant = variant;
+            this.sizeBytes = sizeBytes;
+            this.mode = mode;
+            this.scenario = scenario;
+            this.result = result;
+            this.threads = threads;
+            this.iterationsPerThread = iterationsPerThread;
+        }
+
+        public String variant() {
+            return variant;
+        }
+
+        public int sizeBytes() {
+            return sizeBytes;
+        }
+
+        public TestMode mode() {
+            return mode;
+        }
+
+        public String scenario() {
+            return scenario;
+        }
+
+        public BenchmarkResult result() {
+            return result;
+        }
+    }
+
+    private static final class Crossover {
+        private final String variant;
+        private final TestMode mode;
+        private final String metric;
+        private final String aheadBelow;
+        private final String aheadAbove;
+        private final int lowerSize;
+        private final int upperSize;
+        private final long estimatedBytes;
+
+        Crossover(String variant, TestMode mode, String metric, String aheadBelow, String aheadAbove,
+                  int lowerSize, int upperSize, long estimatedBytes) {
+            this.variant = variant;
+            this.mode = mode;
+            this.metric = metric;
+            this.aheadBelow = aheadBelow;
+            this.aheadAbove = aheadAbove;
+            this.lowerSize = lowerSize;
+            this.upperSize = upperSize;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        String describe() {
+            return String.format(Locale.ROOT, "%s: %s overtakes %s at ~%s (between %s and %s)",
+                    metric, aheadAbove, aheadBelow, approximate(estimatedBytes),
+                    BenchmarkCatalog.sizeLabel(lowerSize), BenchmarkCatalog.sizeLabel(upperSize));
+        }
+
+        private static String approximate(long bytes) {
+            if (bytes >= 1024 * 1024) {
+                return String.format(Locale.ROOT, "%.1fMB", bytes / (1024.0 * 1024.0));
+            }
+            if (bytes >= 1024) {
+                return String.format(Locale.ROOT, "%.1fKB", bytes / 1024.0);
+            }
+            return bytes + "B";
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import com.easyap.redisperf.pubsub.PubSubAdapter;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe fan-out ({@code command=pubsub}): {@code pubsubPublishers} threads publish serialized catalogue
+ * payloads round-robin over {@code pubsubChannels} channels at a paced rate, and {@code pubsubSubscribers} listeners
+ * per channel decode every message. Each client climbs {@code pubsubRates} until a step is not sustained, which is
+ * the rate where it starts queueing (deliveries fall behind) or dropping (messages never arrive, or subscriber
+ * connections are lost).
+ *
+ * <p>Every message starts with the step number and the time it was scheduled to be published, so latency is
+ * measured per subscriber from that schedule to the listener call, and late messages of an earlier step are not
+ * counted against the next one.</p>
+ */
+public class PubSubBenchmark {
+
+    private static final String CHANNEL_PREFIX = "ps:";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final long DRAIN_MILLIS = 2_000;
+    /** A step is sustained if the deliveries still queued when publishers stop are at most this much traffic. */
+    private static final long MAX_QUEUE_MILLIS = 100;
+    private static final double MIN_RATE_SHARE = 0.95;
+
+    private final BenchmarkConfig config;
+
+    public PubSubBenchmark(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    public void run() {
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<WorkloadScenario<PubSubAdapter>> scenarios = BenchmarkCatalog.selectWorkloadScenarios(
+                BenchmarkCatalog.pubSubScenarios(clientFactory), config.getScenarioFilters());
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        List<Integer> rates = new ArrayList<>(config.getPubSubRates());
+        Collections.sort(rates);
+
+        System.out.printf(Locale.ROOT, "== Pub/Sub Benchmark ==%nRedis URI: %s%n%d publishers -> %d channels x %d subscribers | Rates: %s messages/s | %d s per step%n",
+                config.getRedisUri(), config.getPubSubPublishers(), config.getPubSubChannels(), config.getPubSubSubscribers(),
+                rates, config.getPubSubStepDuration().getSeconds());
+
+        List<Step> steps = new ArrayList<>();
+        for (ObjectGenerator<?> generator : generators) {
+            byte[][] payloads = serializedPayloads(generator);
+            for (WorkloadScenario<PubSubAdapter> scenario : scenarios) {
+                PubSubAdapter adapter = scenario.adapterSupplier().get();
+                try {
+                    List<String> channels = new ArrayList<>();
+                    for (int c = 0; c < config.getPubSubChannels(); c++) {
+                        channels.add(CHANNEL_PREFIX + generator.name() + ":" + KeySpace.sanitize(scenario.name()) + ":" + c);
+                    }
+                    List<Subscriber> subscribers = subscribe(adapter, channels);
+                    for (int i = 0; i < rates.size(); i++) {
+                        System.out.printf(Locale.ROOT, "%n=== Pub/Sub | %,d messages/s | Object: %s | Scenario: %s ===%n",
+                                rates.get(i), generator.name(), scenario.name());
+                        Step step = runStep(adapter, scenario.name(), generator.name(), channels, subscribers, payloads,
+                                i + 1, rates.get(i));
+                        steps.add(step);
+                        print(step);
+                        if (!step.sustained()) {
+                            break;
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("  skipped: " + e.getMessage());
+                } finally {
+                    adapter.close();
+                }
+            }
+        }
+
+        List<String> summary = buildSummary(steps);
+        System.out.println();
+        summary.forEach(System.out::println);
+        persist(steps, summary);
+    }
+
+    private byte[][] serializedPayloads(ObjectGenerator<?> generator) {
+        PayloadPool pool = PayloadPool.create(generator, config.getPayloadPoolSize(), false);
+        byte[][] payloads = new byte[pool.size()][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = JavaSerializationUtils.serialize(pool.get(i));
+        }
+        return payloads;
+    }
+
+    private List<Subscriber> subscribe(PubSubAdapter adapter, List<String> channels) {
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int c = 0; c < channels.size(); c++) {
+            for (int s = 0; s < config.getPubSubSubscribers(); s++) {
+                Subscriber subscriber = new Subscriber(c, s);
+                adapter.subscribe(channels.get(c), subscriber);
+                subscribers.add(subscriber);
+            }
+        }
+        return subscribers;
+    }
+
+    private Step runStep(PubSubAdapter adapter,
+                         String scenario,
+                         String objectName,
+                         List<String> channels,
+                         List<Subscriber> subscribers,
+                         byte[][] payloads,
+                         int stepNumber,
+                         int rate) {
+        int publishers = config.getPubSubPublishers();
+        long messagesPerPublisher = Math.max(1L, rate * config.getPubSubStepDuration().getSeconds() / publishers);
+        long intervalNanos = publishers * 1_000_000_000L / rate;
+        AtomicLongArray published = new AtomicLongArray(channels.size());
+        LatencyHistogram publishLatency = new LatencyHistogram();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.begin(stepNumber);
+        }
+        long disconnectsBefore = adapter.disconnects();
+
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        try {
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+            List<Future<Void>> futures = new ArrayList<>(publishers);
+            for (int p = 0; p < publishers; p++) {
+                // publishers are staggered so the merged schedule is evenly spaced
+                long first = start + p * intervalNanos / publishers;
+                futures.add(executor.submit(buildPublisher(adapter, channels, payloads, stepNumber, p, first, intervalNanos,
+                        messagesPerPublisher, published, publishLatency)));
+            }
+            for (Future<Void> future : futures) {
+                awaitFuture(future);
+            }
+            long productionNanos = System.nanoTime() - start;
+            long queuedAtStop = outstanding(subscribers, published);
+
+            long drainStart = System.nanoTime();
+            long drainDeadline = drainStart + TimeUnit.MILLISECONDS.toNanos(DRAIN_MILLIS);
+            while (outstanding(subscribers, published) > 0 && System.nanoTime() < drainDeadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            long drainNanos = System.nanoTime() - drainStart;
+
+            long totalPublished = 0;
+            for (int c = 0; c < published.length(); c++) {
+                totalPublished += published.get(c);
+            }
+            List<SubscriberResult> results = new ArrayList<>(subscribers.size());
+            for (Subscriber subscriber : subscribers) {
+                StepState state = subscriber.state;
+                results.add(new SubscriberResult(subscriber.channel, subscriber.index, published.get(subscriber.channel),
+                        state.received.get(), state.latency));
+            }
+            long allowedQueue = Math.max(rate * (long) config.getPubSubSubscribers() * MAX_QUEUE_MILLIS / 1_000, subscribers.size());
+            return new Step(scenario, objectName, rate, totalPublished, productionNanos, queuedAtStop, allowedQueue,
+                    drainNanos, adapter.disconnects() - disconnectsBefore, results, publishLatency);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Void> buildPublisher(PubSubAdapter adapter,
+                                          List<String> channels,
+                                          byte[][] payloads,
+                                          int stepNumber,
+                                          int publisherIndex,
+                                          long firstNanos,
+                                          long intervalNanos,
+                                          long messages,
+                                          AtomicLongArray published,
+                                          LatencyHistogram publishLatency) {
+        int publishers = config.getPubSubPublishers();
+        return () -> {
+            for (long i = 0; i < messages; i++) {
+                long scheduled = firstNanos + i * intervalNanos;
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                long sequence = publisherIndex + i * publishers;
+                int channel = (int) (sequence % channels.size());
+                byte[] payload = payloads[(int) (sequence % payloads.length)];
+                byte[] message = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                        .putInt(stepNumber)
+                        .putLong(scheduled)
+                        .put(payload)
+                        .array();
+                // counted before the call: a fast subscriber may receive the message before PUBLISH returns
+                published.incrementAndGet(channel);
+                long start = System.nanoTime();
+                adapter.publish(channels.get(channel), message);
+                publishLatency.record(System.nanoTime() - start);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Deliveries still expected: for every subscriber, messages published on its channel it has not received.
+     */
+    private static long outstanding(List<Subscriber> subscribers, AtomicLongArray published) {
+        long outstanding = 0;
+        for (Subscriber subscriber : subscribers) {
+            outstanding += Math.max(0L, published.get(subscriber.channel) - subscriber.state.received.get());
+        }
+        return outstanding;
+    }
+
+    private static void print(Step step) {
+        LatencyHistogram all = step.mergedLatency();
+        System.out.printf(Locale.ROOT, "  published %.0f/s (target %d), delivered %.0f/s to %d subscribers | latency p50=%.3f ms p99=%.3f ms max=%.3f ms | PUBLISH p99=%.3f ms%n",
+                step.publishedPerSecond(), step.targetRate, step.deliveredPerSecond(), step.subscribers.size(),
+                all.percentileNanos(0.50) / 1_000_000.0, all.percentileNanos(0.99) / 1_000_000.0,
+                all.maxNanos() / 1_000_000.0, step.publishLatency.percentileNanos(0.99) / 1_000_000.0);
+        long[] p99 = step.subscriberP99Range();
+        System.out.printf(Locale.ROOT, "  per subscriber p99 %.3f .. %.3f ms | queued at publisher stop %,d, drained in %.0f ms | dropped %,d | disconnects %d -> %s%n",
+                p99[0] / 1_000_000.0, p99[1] / 1_000_000.0, step.queuedAtStop, step.drainNanos / 1_000_000.0,
+                step.dropped(), step.disconnects, step.sustained() ? "sustained" : "NOT sustained (" + step.failure() + ")");
+    }
+
+    /**
+     * Per client and payload, the highest sustained rate and the rate where it started queueing or dropping.
+     */
+    private static List<String> buildSummary(List<Step> steps) {
+        Map<String, Step> best = new LinkedHashMap<>();
+        Map<String, Step> firstFailure = new LinkedHashMap<>();
+        for (Step step : steps) {
+            String key = step.scenario + " | " + step.objectName;
+            best.putIfAbsent(key, null);
+            if (step.sustained()) {
+                Step current = best.get(key);
+                if (current == null || step.targetRate > current.targetRate) {
+                    best.put(key, step);
+                }
+            } else if (!firstFailure.containsKey(key)) {
+                firstFailure.put(key, step);
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("=== Pub/Sub fan-out limits ===");
+        for (Map.Entry<String, Step> entry : best.entrySet()) {
+            Step sustained = entry.getValue();
+            Step failed = firstFailure.get(entry.getKey());
+            StringBuilder line = new StringBuilder(entry.getKey()).append(": ");
+            if (sustained == null) {
+                line.append("no step sustained");
+            } else {
+                line.append(String.format(Locale.ROOT, "sustains %,d messages/s (p99 %.3f ms)",
+                        sustained.targetRate, sustained.mergedLatency().percentileNanos(0.99) / 1_000_000.0));
+            }
+            if (failed != null) {
+                line.append(String.format(Locale.ROOT, "; %s at %,d messages/s", failed.failure(), failed.targetRate));
+            } else {
+                line.append("; every step sustained, raise pubsubRates");
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static void persist(List<Step> steps, List<String> summary) {
+        Path directory = Paths.get("benchmark-results");
+        List<String> lines = new ArrayList<>();
+        lines.add("scenario,object,target_rate,published,published_per_sec,delivered_per_sec,subscribers,p50_ms,p99_ms,max_ms,publish_p99_ms,queued_at_stop,drain_ms,dropped,disconnects,sustained");
+        List<String> subscriberLines = new ArrayList<>();
+        subscriberLines.add("scenario,object,target_rate,channel,subscriber,expected,received,dropped,p50_ms,p99_ms,max_ms");
+        for (Step step : steps) {
+            LatencyHistogram all = step.mergedLatency();
+            lines.add(String.format(Locale.ROOT, "\"%s\",%s,%d,%d,%.0f,%.0f,%d,%.3f,%.3f,%.3f,%.3f,%d,%.0f,%d,%d,%s",
+                    step.scenario,
+                    step.objectName,
+                    step.targetRate,
+                    step.published,
+                    step.publishedPerSecond(),
+                    step.deliveredPerSecond(),
+                    step.subscribers.size(),
+                    all.percentileNanos(0.50) / 1_000_000.0,
+                    all.percentileNanos(0.99) / 1_000_000.0,
+                    all.maxNanos() / 1_000_000.0,
+                    step.publishLatency.percentileNanos(0.99) / 1_000_000.0,
+                    step.queuedAtStop,
+                    step.drainNanos / 1_000_000.0,
+                    step.dropped(),
+                    step.disconnects,
+                    step.sustained()));
+            for (SubscriberResult subscriber : step.subscribers) {
+                subscriberLines.add(String.format(Locale.ROOT, "\"%s\",%s,%d,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f",
+                        step.scenario,
+                        step.objectName,
+                        step.targetRate,
+                        subscriber.channel,
+                        subscriber.index,
+                        subscriber.expected,
+                        subscriber.received,
+                        subscriber.dropped(),
+                        subscriber.latency.percentileNanos(0.50) / 1_000_000.0,
+                        subscriber.latency.percentileNanos(0.99) / 1_000_000.0,
+                        subscriber.latency.maxNanos() / 1_000_000.0));
+            }
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("pubsub-latest.csv"), lines);
+            Files.write(directory.resolve("pubsub-subscribers.csv"), subscriberLines);
+            Files.write(directory.resolve("pubsub-summary.txt"), summary);
+            System.out.println();
+            System.out.println("Pub/Sub results saved to benchmark-results/pubsub-latest.csv, pubsub-subscribers.csv and pubsub-summary.txt");
+        } catch (IOException e) {
+            System.err.println("Failed to persist pub/sub results: " + e.getMessage());
+        }
+    }
+
+    private static <T> T awaitFuture(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", ie);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed", e.getCause());
+        }
+    }
+
+    /**
+     * One listener on one channel. Every step swaps in a fresh {@link StepState}; a message is counted only in the
+     * state of the step it was stamped with, so late messages of an earlier step never reach the new counters.
+     */
+    private static final class Subscriber implements Consumer<byte[]> {
+        private final int channel;
+        private final int index;
+        private volatile StepState state = new StepState(0);
+
+        Subscriber(int channel, int index) {
+            this.channel = channel;
+            this.index = index;
+        }
+
+        void begin(int stepNumber) {
+            state = new StepState(stepNumber);
+        }
+
+        @Override
+        public void accept(byte[] message) {
+            long now = System.nanoTime();
+            ByteBuffer header = ByteBuffer.wrap(message, 0, HEADER_BYTES);
+            int messageStep = header.getInt();
+            long scheduled = header.getLong();
+            StepState current = state;
+            if (messageStep != current.step) {
+                return;
+            }
+            current.latency.record(now - scheduled);
+            JavaSerializationUtils.deserialize(message, HEADER_BYTES, message.length - HEADER_BYTES);
+            current.received.incrementAndGet();
+        }
+    }
+
+    private static final class StepState {
+        private final int step;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong received = new AtomicLong();
+
+        StepState(int step) {
+            this.step = step;
+        }
+    }
+
+    private static final class SubscriberResult {
+        private final int channel;
+        private final int index;
+        private final long expected;
+        private final long received;
+        private final LatencyHistogram latency;
+
+        SubscriberResult(int channel, int index, long expected, long received, LatencyHistogram latency) {
+            this.channel = channel;
+            this.index = index;
+            this.expected = expected;
+            this.received = received;
+            this.latency = latency;
+        }
+
+        long dropped() {
+            return Math.max(0L, expected - received);
+        }
+    }
+
+    private static final class Step {
+        private final String scenario;
+        private final String objectName;
+        private final int targetRate;
+        private final long published;
+        private final long productionNanos;
+        private final long queuedAtStop;
+        private final long allowedQueue;
+        private final long drainNanos;
+        private final long disconnects;
+        private final List<SubscriberResult> subscribers;
+        private final LatencyHistogram publishLatency;
+
+        Step(String scenario, String objectName, int targetRate, long published, long productionNanos, long queuedAtStop,
+             long allowedQueue, long drainNanos, long disconnects, List<SubscriberResult> subscribers,
+             LatencyHistogram publishLatency) {
+            this.scenario = scenario;
+            this.objectName = objectName;
+            this.targetRate = targetRate;
+            this.published = published;
+            this.productionNanos = productionNanos;
+            this.queuedAtStop = queuedAtStop;
+            this.allowedQueue = allowedQueue;
+            this.drainNanos = drainNanos;
+            this.disconnects = disconnects;
+            this.subscribers = subscribers;
+            this.publishLatency = publishLatency;
+        }
+
+        double publishedPerSecond() {
+            return productionNanos == 0 ? 0.0 : published * 1_000_000_000.0 / productionNanos;
+        }
+
+        /**
+         * Deliveries over all subscribers while publishers ran.
+         */
+        double deliveredPerSecond() {
+            long expected = 0;
+            for (SubscriberResult subscriber : subscribers) {
+                expected += subscriber.expected;
+            }
+            return productionNanos == 0 ? 0.0 : (expected - queuedAtStop) * 1_000_000_000.0 / productionNanos;
+        }
+
+        long dropped() {
+            long dropped = 0;
+            for (SubscriberResult subscriber : subscribers) {
+                dropped += subscriber.dropped();
+            }
+            return dropped;
+        }
+
+        LatencyHistogram mergedLatency() {
+            LatencyHistogram merged = new LatencyHistogram();
+            for (SubscriberResult subscriber : subscribers) {
+                merged.merge(subscriber.latency);
+            }
+            return merged;
+        }
+
+        /**
+         * Lowest and highest p99 among the subscribers.
+         */
+        long[] subscriberP99Range() {
+            long min = Long.MAX_VALUE;
+            long max = 0;
+            for (SubscriberResult subscriber : subscribers) {
+                long p99 = subscriber.latency.percentileNanos(0.99);
+                min = Math.min(min, p99);
+                max = Math.max(max, p99);
+            }
+            return new long[]{subscribers.isEmpty() ? 0 : min, max};
+        }
+
+        boolean sustained() {
+            return failure() == null;
+        }
+
+        /**
+         * Why the step was not sustained, or {@code null}: dropping outranks queueing, which outranks publishers
+         * missing the target rate.
+         */
+        String failure() {
+            if (dropped() > 0 || disconnects > 0) {
+                return "drops";
+            }
+            if (queuedAtStop > allowedQueue) {
+                return "queues";
+            }
+            if (publishedPerSecond() < targetRate * MIN_RATE_SHARE) {
+                return "publishers fall behind";
+            }
+            return null;
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.easyap.redisperf;
 
 import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
 import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.jfr.OperationEvent;
+import com.easyap.redisperf.jfr.PhaseEvent;
 import com.easyap.redisperf.metrics.BenchmarkResult;
+import com.easyap.redisperf.metrics.CpuProbe;
+import com.easyap.redisperf.metrics.GaugeSampler;
+import com.easyap.redisperf.metrics.JvmProbe;
 import com.easyap.redisperf.metrics.LatencyCollector;
+import com.easyap.redisperf.metrics.LiveMetrics;
+import com.easyap.redisperf.metrics.ServerConnectionGauge;
+import com.easyap.redisperf.metrics.ServerStatsProbe;
 import com.easyap.redisperf.model.VersionedPayload;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -18,6 +29,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 public class ReadMostlyBenchmark {
@@ -40,29 +52,45 @@ public class ReadMostlyBenchmark {
         CacheAdapter writerAdapter = cacheSupplier.get();
         CacheAdapter readerAdapter = cacheSupplier.get();
 
-        ExecutorService executor = Executors.newFixedThreadPool(writerThreads + readerThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(writerThreads + readerThreads, CpuProbe.workerThreads());
         LatencyCollector latencyCollector = new LatencyCollector(config.getLatencySampleSize());
         AtomicLong operations = new AtomicLong();
         AtomicLong versionCounter = new AtomicLong();
 
-        String key = "rw:" + generator.name() + ":" + sanitizeScenario(scenarioName);
+        CacheKey key = KeySpace.single(KeySpace.READ_MOSTLY_NAMESPACE, generator.name(), scenarioName);
+        PayloadPool pool = PayloadPool.create(generator, config.getPayloadPoolSize(), config.isPreSerializePayloads());
 
+        ServerConnectionGauge connections = null;
+        ServerStatsProbe serverStats = null;
+        GaugeSampler gauges = null;
+        LiveMetrics.Section live = null;
         try {
             // Seed value to avoid initial cache miss
-            writerAdapter.set(key, new VersionedPayload<>(versionCounter.incrementAndGet(), generator.generate()), config.getTtlSeconds());
+            writerAdapter.set(key, new VersionedPayload<>(versionCounter.incrementAndGet(), pool.get(0)), config.getTtlSeconds());
+
+            live = LiveMetrics.begin(scenarioName + " | ReadMostly", generator.name(),
+                    mergeGauges(writerAdapter.gauges(), readerAdapter.gauges()),
+                    () -> mergeCounters(writerAdapter.counters(), readerAdapter.counters()));
 
             CountDownLatch startLatch = new CountDownLatch(1);
 
             List<Future<Void>> writerFutures = new ArrayList<>(writerThreads);
             for (int i = 0; i < writerThreads; i++) {
-                writerFutures.add(executor.submit(buildWriterTask(writerAdapter, key, generator, versionCounter, operations, iterationsPerThread, startLatch)));
+                writerFutures.add(executor.submit(buildWriterTask(writerAdapter, key, pool.cursor(i, writerThreads), versionCounter, operations, live, iterationsPerThread, startLatch)));
             }
 
             List<Future<Long>> readerFutures = new ArrayList<>(readerThreads);
             for (int i = 0; i < readerThreads; i++) {
-                readerFutures.add(executor.submit(buildReaderTask(readerAdapter, key, latencyCollector, operations, iterationsPerThread, startLatch)));
+                readerFutures.add(executor.submit(buildReaderTask(scenarioName + " | ReadMostly", readerAdapter, key, latencyCollector, operations, live, iterationsPerThread, startLatch)));
             }
 
+            connections = ServerConnectionGauge.open(config.getRedisUri());
+            serverStats = ServerStatsProbe.start(config.getRedisUri());
+            gauges = GaugeSampler.start(BenchmarkRunner.telemetryGauges(
+                    mergeGauges(writerAdapter.gauges(), readerAdapter.gauges()), connections));
+            JvmProbe jvmProbe = JvmProbe.start();
+            CpuProbe cpuProbe = CpuProbe.start();
+            PhaseEvent measure = PhaseEvent.begin(scenarioName + " | ReadMostly", generator.name(), PhaseEvent.MEASURE);
             long startWall = System.nanoTime();
             startLatch.countDown();
 
@@ -74,6 +102,8 @@ public class ReadMostlyBenchmark {
             for (Future<Long> future : readerFutures) {
                 maxVersionSeen = Math.max(maxVersionSeen, awaitFuture(future));
             }
+            Map<String, Long> cpu = cpuProbe.finish();
+            Map<String, Long> server = serverStats.finish();
 
             // final read to capture the last version
             Object latest = readerAdapter.get(key);
@@ -86,18 +116,22 @@ public class ReadMostlyBenchmark {
             executor.awaitTermination(30, TimeUnit.SECONDS);
 
             long duration = System.nanoTime() - startWall;
+            measure.commit();
             long finalVersion = versionCounter.get();
             boolean consistent = maxVersionSeen == finalVersion;
-
-            // cleanup
-            writerAdapter.set(key, null, config.getTtlSeconds());
+            Map<String, Long> counters = mergeCounters(writerAdapter.counters(), readerAdapter.counters());
+            counters.putAll(gauges.finish());
+            counters.putAll(jvmProbe.finish());
+            counters.putAll(cpu);
+            counters.putAll(server);
 
             BenchmarkResult result = new BenchmarkResult(
                     scenarioName + " | ReadMostly",
                     generator.name(),
                     operations.get(),
                     duration,
-                    latencyCollector.snapshot()
+                    latencyCollector.snapshot(),
+                    counters
             );
 
             return new Outcome(result, writerThreads, readerThreads, finalVersion, maxVersionSeen, consistent);
@@ -106,44 +140,87 @@ public class ReadMostlyBenchmark {
             throw new IllegalStateException("Benchmark interrupted", ie);
         } finally {
             executor.shutdownNow();
+            if (live != null) {
+                live.end();
+            }
+            if (gauges != null) {
+                gauges.close();
+            }
+            if (connections != null) {
+                connections.close();
+            }
+            if (serverStats != null) {
+                serverStats.close();
+            }
             closeQuietly(writerAdapter);
             closeQuietly(readerAdapter);
         }
     }
 
     private Callable<Void> buildWriterTask(CacheAdapter cacheAdapter,
-                                           String key,
-                                           ObjectGenerator<? extends Serializable> generator,
+                                           CacheKey key,
+                                           PayloadPool.Cursor payloads,
                                            AtomicLong versionCounter,
                                            AtomicLong operations,
+                                           LiveMetrics.Section live,
                                            int iterations,
                                            CountDownLatch startLatch) {
         return () -> {
             startLatch.await();
             for (int i = 0; i < iterations; i++) {
+                Serializable payload = payloads.next();
                 long version = versionCounter.incrementAndGet();
-                cacheAdapter.set(key, new VersionedPayload<>(version, generator.generate()), config.getTtlSeconds());
+                try {
+                    cacheAdapter.set(key, new VersionedPayload<>(version, payload), config.getTtlSeconds());
+                } catch (RuntimeException e) {
+                    if (live != null) {
+                        live.error();
+                    }
+                    throw e;
+                }
                 operations.incrementAndGet();
+                if (live != null) {
+                    live.count(1);
+                }
             }
             return null;
         };
     }
 
-    private Callable<Long> buildReaderTask(CacheAdapter cacheAdapter,
-                                           String key,
+    private Callable<Long> buildReaderTask(String scenario,
+                                           CacheAdapter cacheAdapter,
+                                           CacheKey key,
                                            LatencyCollector latencyCollector,
                                            AtomicLong operations,
+                                           LiveMetrics.Section live,
                                            int iterations,
                                            CountDownLatch startLatch) {
+        String adapterName = cacheAdapter.getClass().getSimpleName();
+        long slowNanos = config.getJfrSlowOperationNanos();
+        int sampleEvery = config.getJfrSampleEvery();
         return () -> {
             startLatch.await();
             long maxVersion = 0;
             for (int i = 0; i < iterations; i++) {
                 long start = System.nanoTime();
-                Object value = cacheAdapter.get(key);
+                Object value;
+                try {
+                    value = cacheAdapter.get(key);
+                } catch (RuntimeException e) {
+                    if (live != null) {
+                        live.error();
+                    }
+                    throw e;
+                }
                 long elapsed = System.nanoTime() - start;
                 latencyCollector.record(elapsed);
                 operations.incrementAndGet();
+                if (live != null) {
+                    live.record(elapsed, 1);
+                }
+                if (elapsed >= slowNanos || (sampleEvery > 0 && i % sampleEvery == 0)) {
+                    OperationEvent.emit(scenario, adapterName, key, elapsed, elapsed >= slowNanos ? OperationEvent.SLOW : OperationEvent.SAMPLED);
+                }
                 if (value instanceof VersionedPayload) {
                     VersionedPayload<?> payload = (VersionedPayload<?>) value;
                     maxVersion = Math.max(maxVersion, payload.getVersion());
@@ -153,8 +230,25 @@ public class ReadMostlyBenchmark {
         };
     }
 
-    private static String sanitizeScenario(String scenario) {
-        return scenario.replaceAll("[^A-Za-z0-9_\\-]", "_");
+    /**
+     * Counters include percentiles and sizes that cannot be added across clients, so they are reported side by
+     * side like the gauges.
+     */
+    private static Map<String, Long> mergeCounters(Map<String, Long> writer, Map<String, Long> reader) {
+        Map<String, Long> merged = new LinkedHashMap<>();
+        writer.forEach((name, value) -> merged.put("writer." + name, value));
+        reader.forEach((name, value) -> merged.put("reader." + name, value));
+        return merged;
+    }
+
+    /**
+     * Writer and reader own separate clients, so their pool gauges are reported side by side.
+     */
+    private static Map<String, LongSupplier> mergeGauges(Map<String, LongSupplier> writer, Map<String, LongSupplier> reader) {
+        Map<String, LongSupplier> merged = new LinkedHashMap<>();
+        writer.forEach((name, gauge) -> merged.put("writer." + name, gauge));
+        reader.forEach((name, gauge) -> merged.put("reader." + name, gauge));
+        return merged;
     }
 
     private static <T> T awaitFuture(Future<T> future) throws InterruptedException {
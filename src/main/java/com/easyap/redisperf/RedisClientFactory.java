@@ -1,65 +1,130 @@
 package com.easyap.redisperf;
 
+import com.easyap.redisperf.cache.jedis.InstrumentedConnectionProvider;
+import com.easyap.redisperf.cache.jedis.InstrumentedJedisPooled;
+import com.easyap.redisperf.cache.jedis.InvalidationEventCache;
+import com.easyap.redisperf.cache.near.TrackingConnectionFactory;
+import com.easyap.redisperf.config.ClientTuning;
 import com.easyap.redisperf.config.RedisEndpoint;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
+import org.redisson.config.MasterSlaveServersConfig;
 import org.redisson.config.Protocol;
+import org.redisson.config.ReadMode;
 import org.redisson.config.SingleServerConfig;
+import redis.clients.jedis.ConnectionFactory;
 import redis.clients.jedis.ConnectionPoolConfig;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPooled;
 import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.csc.Cache;
 import redis.clients.jedis.csc.CacheConfig;
 import redis.clients.jedis.csc.CacheFactory;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 public class RedisClientFactory {
 
+    public static final String JEDIS_CLIENT_NAME = "redisperf-jedis";
+    public static final String REDISSON_CLIENT_NAME = "redisperf-redisson";
+    public static final String RESP_CLIENT_NAME = "redisperf-resp";
+
     private final String redisUri;
+    private final ClientTuning tuning;
 
     public RedisClientFactory(String redisUri) {
+        this(redisUri, ClientTuning.defaults());
+    }
+
+    public RedisClientFactory(String redisUri, ClientTuning tuning) {
         this.redisUri = redisUri;
+        this.tuning = tuning;
+    }
+
+    public ClientTuning tuning() {
+        return tuning;
+    }
+
+    /**
+     * Same tuning, another server (e.g. a replica of this one).
+     */
+    public RedisClientFactory withUri(String otherUri) {
+        return new RedisClientFactory(otherUri, tuning);
     }
 
     public JedisPooled createJedis() {
+        return createJedis(JEDIS_CLIENT_NAME);
+    }
+
+    /**
+     * Jedis client whose connections carry the given {@code CLIENT SETNAME}, e.g. to keep helper connections out
+     * of the per-client connection counts.
+     */
+    public JedisPooled createJedis(String clientName) {
         RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
-        DefaultJedisClientConfig clientConfig = buildClientConfig(endpoint);
-        ConnectionPoolConfig poolConfig = createPoolConfig();
+        DefaultJedisClientConfig clientConfig = buildClientConfig(endpoint, clientName);
+        HostAndPort hostAndPort = new HostAndPort(endpoint.host(), endpoint.port());
+        ConnectionFactory connectionFactory = new ConnectionFactory(new TunedSocketFactory(hostAndPort, clientConfig, tuning), clientConfig);
+        return new InstrumentedJedisPooled(new InstrumentedConnectionProvider(connectionFactory, createPoolConfig()), null);
+    }
+
+    /**
+     * Single unpooled connection for administrative and monitoring commands.
+     */
+    public Jedis createDirectJedis(String clientName) {
+        RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
+        return new Jedis(new HostAndPort(endpoint.host(), endpoint.port()), buildClientConfig(endpoint, clientName));
+    }
+
+    public RedisEndpoint endpoint() {
+        return RedisEndpoint.fromUri(redisUri);
+    }
+
+    public JedisPooled createTrackingJedis(long redirectClientId) {
+        RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
+        DefaultJedisClientConfig clientConfig = buildClientConfig(endpoint, JEDIS_CLIENT_NAME);
         HostAndPort hostAndPort = new HostAndPort(endpoint.host(), endpoint.port());
-        return new JedisPooled(hostAndPort, clientConfig, poolConfig);
+        TunedSocketFactory socketFactory = new TunedSocketFactory(hostAndPort, clientConfig, tuning);
+        TrackingConnectionFactory connectionFactory = new TrackingConnectionFactory(socketFactory, clientConfig, redirectClientId);
+        return new InstrumentedJedisPooled(new InstrumentedConnectionProvider(connectionFactory, createPoolConfig()), null);
     }
 
     public JedisPooled createCachedJedis(int maxCacheSize) {
         RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
-        DefaultJedisClientConfig clientConfig = buildClientConfig(endpoint);
+        DefaultJedisClientConfig clientConfig = buildClientConfig(endpoint, JEDIS_CLIENT_NAME);
         ConnectionPoolConfig poolConfig = createPoolConfig();
         CacheConfig cacheConfig = CacheConfig.builder()
                 .maxSize(maxCacheSize)
+                .cacheClass(InvalidationEventCache.class)
                 .build();
         HostAndPort hostAndPort = new HostAndPort(endpoint.host(), endpoint.port());
-        return new JedisPooled(hostAndPort, clientConfig, CacheFactory.getCache(cacheConfig), poolConfig);
+        Cache cache = CacheFactory.getCache(cacheConfig);
+        return new InstrumentedJedisPooled(new InstrumentedConnectionProvider(hostAndPort, clientConfig, cache, poolConfig), cache);
     }
 
     public RedissonClient createRedisson() {
-        Config config = new Config();
-        config.setThreads(0);
-        config.setNettyThreads(0);
-        config.setProtocol(Protocol.RESP3);
-        config.setCodec(new org.redisson.codec.SerializationCodec());
+        Config config = createRedissonConfig();
 
         RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
-        String address = (endpoint.ssl() ? "rediss" : "redis") + "://" + endpoint.host() + ":" + endpoint.port();
         SingleServerConfig single = config.useSingleServer()
-                .setAddress(address)
+                .setAddress(redissonAddress(endpoint))
+                .setClientName(REDISSON_CLIENT_NAME)
                 .setDatabase(endpoint.database())
                 .setRetryAttempts(4)
                 .setRetryInterval(1500)
-                .setTimeout(3000)
+                .setTimeout(tuning.timeoutMillis())
                 .setPingConnectionInterval(30_000)
-                .setKeepAlive(true)
-                .setConnectionPoolSize(32)
-                .setConnectionMinimumIdleSize(2)
+                .setKeepAlive(tuning.keepAlive())
+                .setTcpNoDelay(tuning.tcpNoDelay())
+                .setConnectionPoolSize(tuning.poolSize())
+                .setConnectionMinimumIdleSize(tuning.minIdle())
                 .setSubscriptionConnectionPoolSize(16)
                 .setSubscriptionConnectionMinimumIdleSize(2);
 
@@ -70,9 +135,105 @@ public class RedisClientFactory {
         return Redisson.create(config);
     }
 
-    private static DefaultJedisClientConfig buildClientConfig(RedisEndpoint endpoint) {
+    /**
+     * Redisson client with this factory's server as master and the given replicas; {@code readMode} decides where
+     * reads go. Slave pools use the same sizes as the master pool.
+     */
+    public RedissonClient createRedissonMasterSlave(List<String> replicaUris, ReadMode readMode) {
+        Config config = createRedissonConfig();
+
+        RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
+        MasterSlaveServersConfig masterSlave = config.useMasterSlaveServers()
+                .setMasterAddress(redissonAddress(endpoint))
+                .setReadMode(readMode)
+                .setClientName(REDISSON_CLIENT_NAME)
+                .setDatabase(endpoint.database())
+                .setRetryAttempts(4)
+                .setRetryInterval(1500)
+                .setTimeout(tuning.timeoutMillis())
+                .setPingConnectionInterval(30_000)
+                .setKeepAlive(tuning.keepAlive())
+                .setTcpNoDelay(tuning.tcpNoDelay())
+                .setMasterConnectionPoolSize(tuning.poolSize())
+                .setMasterConnectionMinimumIdleSize(tuning.minIdle())
+                .setSlaveConnectionPoolSize(tuning.poolSize())
+                .setSlaveConnectionMinimumIdleSize(tuning.minIdle())
+                .setSubscriptionConnectionPoolSize(16)
+                .setSubscriptionConnectionMinimumIdleSize(2);
+        for (String replicaUri : replicaUris) {
+            masterSlave.addSlaveAddress(redissonAddress(RedisEndpoint.fromUri(replicaUri)));
+        }
+
+        if (endpoint.password() != null) {
+            masterSlave.setPassword(endpoint.password());
+        }
+
+        return Redisson.create(config);
+    }
+
+    /**
+     * Jedis cluster client seeded with the given node URIs; pool settings apply to each node's pool. Credentials
+     * are taken from the first URI.
+     */
+    public JedisCluster createJedisCluster(List<String> nodeUris) {
+        RedisEndpoint seed = RedisEndpoint.fromUri(nodeUris.get(0));
+        Set<HostAndPort> nodes = new LinkedHashSet<>();
+        for (String nodeUri : nodeUris) {
+            RedisEndpoint node = RedisEndpoint.fromUri(nodeUri);
+            nodes.add(new HostAndPort(node.host(), node.port()));
+        }
+        return new JedisCluster(nodes, buildClientConfig(seed, JEDIS_CLIENT_NAME), createPoolConfig());
+    }
+
+    /**
+     * Redisson cluster client with the single-server pool settings applied to each master; every read goes to
+     * the masters.
+     */
+    public RedissonClient createRedissonCluster(List<String> nodeUris) {
+        Config config = createRedissonConfig();
+        ClusterServersConfig cluster = config.useClusterServers()
+                .setScanInterval(2_000)
+                .setReadMode(ReadMode.MASTER)
+                .setClientName(REDISSON_CLIENT_NAME)
+                .setRetryAttempts(4)
+                .setRetryInterval(1500)
+                .setTimeout(tuning.timeoutMillis())
+                .setPingConnectionInterval(30_000)
+                .setKeepAlive(tuning.keepAlive())
+                .setTcpNoDelay(tuning.tcpNoDelay())
+                .setMasterConnectionPoolSize(tuning.poolSize())
+                .setMasterConnectionMinimumIdleSize(tuning.minIdle())
+                .setSubscriptionConnectionPoolSize(16)
+                .setSubscriptionConnectionMinimumIdleSize(2);
+        for (String nodeUri : nodeUris) {
+            cluster.addNodeAddress(redissonAddress(RedisEndpoint.fromUri(nodeUri)));
+        }
+
+        RedisEndpoint seed = RedisEndpoint.fromUri(nodeUris.get(0));
+        if (seed.password() != null) {
+            cluster.setPassword(seed.password());
+        }
+
+        return Redisson.create(config);
+    }
+
+    private Config createRedissonConfig() {
+        Config config = new Config();
+        config.setThreads(tuning.threads());
+        config.setNettyThreads(tuning.nettyThreads());
+        config.setProtocol(tuning.resp3() ? Protocol.RESP3 : Protocol.RESP2);
+        config.setCodec(new org.redisson.codec.SerializationCodec());
+        return config;
+    }
+
+    private static String redissonAddress(RedisEndpoint endpoint) {
+        return (endpoint.ssl() ? "rediss" : "redis") + "://" + endpoint.host() + ":" + endpoint.port();
+    }
+
+    private DefaultJedisClientConfig buildClientConfig(RedisEndpoint endpoint, String clientName) {
         DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
-                .protocol(RedisProtocol.RESP3)
+                .clientName(clientName)
+                .protocol(tuning.resp3() ? RedisProtocol.RESP3 : RedisProtocol.RESP2)
                 .database(endpoint.database())
                 .ssl(endpoint.ssl());
 
@@ -82,11 +243,11 @@ public class RedisClientFactory {
         return builder.build();
     }
 
-    private static ConnectionPoolConfig createPoolConfig() {
+    private ConnectionPoolConfig createPoolConfig() {
         ConnectionPoolConfig poolConfig = new ConnectionPoolConfig();
-        poolConfig.setMaxTotal(32);
-        poolConfig.setMaxIdle(16);
-        poolConfig.setMinIdle(2);
+        poolConfig.setMaxTotal(tuning.poolSize());
+        poolConfig.setMaxIdle(Math.max(tuning.minIdle(), tuning.poolSize() / 2));
+        poolConfig.setMinIdle(tuning.minIdle());
         poolConfig.setTestWhileIdle(true);
         poolConfig.setBlockWhenExhausted(true);
         return poolConfig;
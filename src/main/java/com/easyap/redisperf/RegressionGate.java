@@ -0,0 +1,319 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.MannWhitney;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@code command=compare}: loads a baseline and a current set of result CSVs ({@code latest.csv} / {@code run-*.csv}),
+ * compares every mode, scenario and object on throughput, p50, p99 and CPU per operation with a Mann-Whitney test
+ * over the runs, and fails when a change worse than {@code regressionThreshold} percent is significant. When there
+ * are too few runs for the test to ever reach {@code significance} (e.g. one run against one), the threshold alone
+ * decides.
+ */
+public class RegressionGate {
+
+    private static final List<Metric> METRICS = Arrays.asList(
+            new Metric("ops_per_sec", "ops/s", true),
+            new Metric("p50_ms", "p50 ms", false),
+            new Metric("p99_ms", "p99 ms", false),
+            new Metric("cpu_us_per_op", "CPU us/op", false));
+
+    private final BenchmarkConfig config;
+
+    public RegressionGate(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    /**
+     * @return {@code true} when no metric regressed beyond the threshold
+     */
+    public boolean run() {
+        List<Path> currentFiles = resolve(config.getCurrentRuns());
+        List<Path> baselineFiles = withoutCopiesOf(resolve(config.getBaselineRuns()), currentFiles);
+        if (baselineFiles.isEmpty() || currentFiles.isEmpty()) {
+            throw new IllegalStateException("Nothing to compare: baseline " + baselineFiles + ", current " + currentFiles);
+        }
+        Map<String, Map<String, List<Double>>> baseline = load(baselineFiles);
+        Map<String, Map<String, List<Double>>> current = load(currentFiles);
+        double threshold = config.getRegressionThresholdPercent();
+        double alpha = config.getSignificanceLevel();
+
+        System.out.printf(Locale.ROOT, "== Regression check ==%nBaseline: %d file(s) | Current: %d file(s) | Threshold: %.1f %% | Significance: %.3f%n",
+                baselineFiles.size(), currentFiles.size(), threshold, alpha);
+
+        List<String> rows = new ArrayList<>();
+        rows.add("mode,scenario,object,metric,baseline_runs,current_runs,baseline_median,current_median,change_pct,p_value,verdict");
+        List<String> regressions = new ArrayList<>();
+        List<String> improvements = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        for (Map.Entry<String, Map<String, List<Double>>> entry : current.entrySet()) {
+            Map<String, List<Double>> before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println("  new, no baseline: " + entry.getKey());
+                continue;
+            }
+            for (Metric metric : METRICS) {
+                double[] base = toArray(before.get(metric.column));
+                double[] now = toArray(entry.getValue().get(metric.column));
+                if (base.length == 0 || now.length == 0) {
+                    continue;
+                }
+                double baseMedian = median(base);
+                double nowMedian = median(now);
+                double change = baseMedian == 0.0 ? 0.0 : (nowMedian - baseMedian) * 100.0 / baseMedian;
+                double worse = metric.higherIsBetter ? -change : change;
+                double p = MannWhitney.pValue(base, now);
+                boolean testable = MannWhitney.minimumPValue(base.length, now.length) <= alpha;
+                boolean decisive = p <= alpha || !testable;
+                String verdict;
+                if (decisive && worse > threshold) {
+                    verdict = "regression";
+                } else if (decisive && worse < -threshold) {
+                    verdict = "improvement";
+                } else {
+                    verdict = "unchanged";
+                }
+                String line = String.format(Locale.ROOT, "%s | %-7s %12.2f -> %12.2f (%+6.1f %%) p=%.3f%s (runs %d vs %d)",
+                        entry.getKey(), metric.label, baseMedian, nowMedian, change, p, testable ? "" : " untestable",
+                        base.length, now.length);
+                if (verdict.equals("regression")) {
+                    regressions.add(line);
+                } else if (verdict.equals("improvement")) {
+                    improvements.add(line);
+                } else {
+                    unchanged.add(line);
+                }
+                String[] key = entry.getKey().split(" \\| ", 3);
+                rows.add(String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.2f,%.2f,%.1f,%.4f,%s",
+                        csv(key[0]), csv(key[1]), csv(key[2]), metric.column, base.length, now.length,
+                        baseMedian, nowMedian, change, p, verdict));
+            }
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.println("  not in current results: " + missing);
+            }
+        }
+
+        print("Regressions", regressions);
+        print("Improvements", improvements);
+        print("Unchanged or not significant", unchanged);
+        persist(rows);
+
+        System.out.println();
+        if (regressions.isEmpty()) {
+            System.out.println("PASS: no regression beyond " + threshold + " %");
+            return true;
+        }
+        System.out.printf(Locale.ROOT, "FAIL: %d metric(s) regressed beyond %.1f %%%n", regressions.size(), threshold);
+        return false;
+    }
+
+    private static void print(String title, List<String> lines) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "=== %s (%d) ===%n", title, lines.size());
+        lines.forEach(line -> System.out.println("  " + line));
+    }
+
+    /**
+     * Files as given, directories expanded to their {@code run-*.csv}, and {@code *}/{@code ?} patterns matched
+     * against the file names of their directory.
+     */
+    static List<Path> resolve(List<String> entries) {
+        List<Path> files = new ArrayList<>();
+        try {
+            for (String entry : entries) {
+                Path path = Paths.get(entry);
+                if (Files.isDirectory(path)) {
+                    files.addAll(list(path, "run-*.csv"));
+                } else if (entry.contains("*") || entry.contains("?")) {
+                    Path parent = path.getParent() == null ? Paths.get(".") : path.getParent();
+                    files.addAll(list(parent, path.getFileName().toString()));
+                } else if (Files.isRegularFile(path)) {
+                    files.add(path);
+                } else {
+                    throw new IllegalArgumentException("No such result file: " + entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    private static List<Path> list(Path directory, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Every run writes {@code latest.csv} and an identical {@code run-*.csv}; a baseline directory must not count
+     * the current run as its own.
+     */
+    private static List<Path> withoutCopiesOf(List<Path> baseline, List<Path> current) {
+        List<Path> kept = new ArrayList<>();
+        try {
+            List<byte[]> currentContents = new ArrayList<>();
+            for (Path file : current) {
+                currentContents.add(Files.readAllBytes(file));
+            }
+            for (Path file : baseline) {
+                byte[] content = Files.readAllBytes(file);
+                boolean copy = false;
+                for (byte[] other : currentContents) {
+                    copy |= Arrays.equals(content, other);
+                }
+                if (!copy) {
+                    kept.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return kept;
+    }
+
+    /**
+     * @return {@code "mode | scenario | object"} to metric column to one value per row (i.e. per run)
+     */
+    private static Map<String, Map<String, List<Double>>> load(List<Path> files) {
+        Map<String, Map<String, List<Double>>> samples = new LinkedHashMap<>();
+        for (Path file : files) {
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (lines.isEmpty()) {
+                continue;
+            }
+            List<String> header = parseCsvLine(lines.get(0));
+            int mode = header.indexOf("mode");
+            int scenario = header.indexOf("scenario");
+            int object = header.indexOf("object");
+            if (mode < 0 || scenario < 0 || object < 0) {
+                throw new IllegalArgumentException(file + " is not a benchmark result file");
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() != header.size()) {
+                    continue;
+                }
+                String key = fields.get(mode) + " | " + fields.get(scenario) + " | " + fields.get(object);
+                Map<String, List<Double>> metrics = samples.computeIfAbsent(key, k -> new LinkedHashMap<>());
+                for (Metric metric : METRICS) {
+                    int column = header.indexOf(metric.column);
+                    if (column < 0 || fields.get(column).isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        metrics.computeIfAbsent(metric.column, k -> new ArrayList<>()).add(Double.parseDouble(fields.get(column)));
+                    } catch (NumberFormatException ignored) {
+                        // not a measurement
+                    }
+                }
+            }
+        }
+        return samples;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static double[] toArray(List<Double> values) {
+        if (values == null) {
+            return new double[0];
+        }
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static void persist(List<String> rows) {
+        Path directory = Paths.get("benchmark-results");
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("compare-latest.csv"), rows);
+            System.out.println();
+            System.out.println("Comparison saved to benchmark-results/compare-latest.csv");
+        } catch (IOException e) {
+            System.err.println("Failed to persist comparison: " + e.getMessage());
+        }
+    }
+
+    private static final class Metric {
+
+        final String column;
+        final String label;
+        final boolean higherIsBetter;
+
+        Metric(String column, String label, boolean higherIsBetter) {
+            this.column = column;
+            this.label = label;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.CommandStats;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import com.easyap.redisperf.model.VersionedPayload;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+import redis.clients.jedis.Jedis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-Mostly against a master and its replicas, using the first 0..N replicas in turn so read throughput can be
+ * compared as replicas are added.
+ *
+ * <p>A single writer keeps bumping the {@link VersionedPayload} version, so version order is write order. A read
+ * is stale when it returns an older version than the last write acknowledged before the read started (or
+ * nothing at all). That is the lag a replica read adds; master reads are expected to report none.
+ * {@code INFO commandstats} on every node shows how the GETs were actually spread.</p>
+ */
+public class ReplicaReadBenchmark {
+
+    private static final String MONITOR_CLIENT_NAME = "redisperf-telemetry";
+    private static final long REPLICATION_WAIT_MILLIS = 5_000;
+
+    private final BenchmarkConfig config;
+
+    public ReplicaReadBenchmark(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    public void run() {
+        List<String> replicaUris = config.getReplicaUris();
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        int readers = Math.max(1, config.getThreadCount() - 1);
+
+        System.out.printf(Locale.ROOT, "== Replica Read Benchmark ==%nMaster: %s | Replicas: %s%n1 writer, %d readers x %d reads%n",
+                config.getRedisUri(), replicaUris, readers, config.getIterationsPerThread());
+
+        List<String> nodeNames = new ArrayList<>();
+        List<Jedis> monitors = new ArrayList<>();
+        List<Row> rows = new ArrayList<>();
+        try (KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                clientFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                Collections.singletonList(KeySpace.READ_MOSTLY_NAMESPACE),
+                config.getCleanupBatchSize(),
+                config.getCleanupThreads())) {
+            nodeNames.add("master");
+            monitors.add(clientFactory.createDirectJedis(MONITOR_CLIENT_NAME));
+            for (int i = 0; i < replicaUris.size(); i++) {
+                nodeNames.add("replica" + (i + 1));
+                monitors.add(clientFactory.withUri(replicaUris.get(i)).createDirectJedis(MONITOR_CLIENT_NAME));
+            }
+            cleaner.reset();
+
+            for (int replicas = 0; replicas <= replicaUris.size(); replicas++) {
+                List<BenchmarkScenario> scenarios = BenchmarkCatalog.selectScenarios(
+                        BenchmarkCatalog.replicaScenarios(clientFactory, replicaUris.subList(0, replicas)),
+                        config.getScenarioFilters());
+                for (ObjectGenerator<?> generator : generators) {
+                    for (BenchmarkScenario scenario : scenarios) {
+                        System.out.printf(Locale.ROOT, "%n=== Replica reads | %d replica(s) | Object: %s | Scenario: %s ===%n",
+                                replicas, generator.name(), scenario.name());
+                        try {
+                            long[] before = getCalls(monitors);
+                            Row row = runOnce(scenario, generator, replicas, monitors.get(0));
+                            long[] after = getCalls(monitors);
+                            row.nodeShares = describeShares(nodeNames, before, after);
+                            rows.add(row);
+                            System.out.printf(Locale.ROOT, "  %.0f reads/s, p50=%.3f ms, p99=%.3f ms, stale reads %d (%.3f %%, max lag %d versions) | GETs: %s%n",
+                                    row.readsPerSecond(), row.latency.percentileNanos(0.50) / 1_000_000.0,
+                                    row.latency.percentileNanos(0.99) / 1_000_000.0, row.staleReads, row.stalePercent(),
+                                    row.maxVersionLag, row.nodeShares);
+                        } catch (RuntimeException e) {
+                            System.out.println("  skipped: " + e.getMessage());
+                        } finally {
+                            cleaner.reset();
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (Jedis monitor : monitors) {
+                monitor.close();
+            }
+        }
+
+        List<String> scaling = buildScaling(rows);
+        System.out.println();
+        scaling.forEach(System.out::println);
+        persist(rows, scaling);
+    }
+
+    private Row runOnce(BenchmarkScenario scenario, ObjectGenerator<?> generator, int replicas, Jedis master) {
+        int readers = Math.max(1, config.getThreadCount() - 1);
+        PayloadPool pool = PayloadPool.create(generator, config.getPayloadPoolSize(), config.isPreSerializePayloads());
+        CacheKey key = KeySpace.single(KeySpace.READ_MOSTLY_NAMESPACE, generator.name(), scenario.name() + " x" + replicas);
+
+        // seed through the monitor connection so WAIT covers it: readers start with version 1 on every replica
+        master.setex(key.bytes(), config.getTtlSeconds(), JavaSerializationUtils.serialize(new VersionedPayload<>(1L, pool.get(0))));
+        if (replicas > 0 && master.waitReplicas(replicas, REPLICATION_WAIT_MILLIS) < replicas) {
+            throw new IllegalStateException("Replicas did not acknowledge the seed write within " + REPLICATION_WAIT_MILLIS + " ms");
+        }
+
+        CacheAdapter writerAdapter = scenario.cacheSupplier().get();
+        CacheAdapter readerAdapter = null;
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        try {
+            readerAdapter = scenario.cacheSupplier().get();
+            AtomicLong committed = new AtomicLong(1L);
+            AtomicBoolean readersDone = new AtomicBoolean();
+            AtomicLong staleReads = new AtomicLong();
+            AtomicLong maxLag = new AtomicLong();
+            LatencyHistogram latency = new LatencyHistogram();
+            CountDownLatch startLatch = new CountDownLatch(1);
+
+            Future<Long> writer = executor.submit(buildWriterTask(writerAdapter, key, pool.cursor(0, 1), committed, readersDone, startLatch));
+            List<Future<Void>> readerFutures = new ArrayList<>(readers);
+            for (int i = 0; i < readers; i++) {
+                readerFutures.add(executor.submit(buildReaderTask(readerAdapter, key, committed, staleReads, maxLag, latency, startLatch)));
+            }
+
+            long start = System.nanoTime();
+            startLatch.countDown();
+            try {
+                for (Future<Void> future : readerFutures) {
+                    awaitFuture(future);
+                }
+            } finally {
+                readersDone.set(true);
+            }
+            long duration = System.nanoTime() - start;
+            long writes = awaitFuture(writer);
+            return new Row(replicas, scenario.name(), generator.name(), latency, duration, writes, staleReads.get(), maxLag.get());
+        } finally {
+            executor.shutdownNow();
+            writerAdapter.close();
+            if (readerAdapter != null) {
+                readerAdapter.close();
+            }
+        }
+    }
+
+    private Callable<Long> buildWriterTask(CacheAdapter adapter,
+                                           CacheKey key,
+                                           PayloadPool.Cursor payloads,
+                                           AtomicLong committed,
+                                           AtomicBoolean readersDone,
+                                           CountDownLatch startLatch) {
+        return () -> {
+            startLatch.await();
+            long version = committed.get();
+            while (!readersDone.get()) {
+                version++;
+                adapter.set(key, new VersionedPayload<>(version, payloads.next()), config.getTtlSeconds());
+                committed.set(version);
+            }
+            return version - 1;
+        };
+    }
+
+    private Callable<Void> buildReaderTask(CacheAdapter adapter,
+                                           CacheKey key,
+                                           AtomicLong committed,
+                                           AtomicLong staleReads,
+                                           AtomicLong maxLag,
+                                           LatencyHistogram latency,
+                                           CountDownLatch startLatch) {
+        return () -> {
+            startLatch.await();
+            long stale = 0;
+            long lag = 0;
+            for (int i = 0; i < config.getIterationsPerThread(); i++) {
+                long floor = committed.get();
+                long start = System.nanoTime();
+                Object value = adapter.get(key);
+                latency.record(System.nanoTime() - start);
+                long version = value instanceof VersionedPayload ? ((VersionedPayload<?>) value).getVersion() : 0L;
+                if (version < floor) {
+                    stale++;
+                    lag = Math.max(lag, floor - version);
+                }
+            }
+            staleReads.addAndGet(stale);
+            long current = maxLag.get();
+            while (lag > current && !maxLag.compareAndSet(current, lag)) {
+                current = maxLag.get();
+            }
+            return null;
+        };
+    }
+
+    private static long[] getCalls(List<Jedis> monitors) {
+        long[] calls = new long[monitors.size()];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = CommandStats.calls(monitors.get(i), "get");
+        }
+        return calls;
+    }
+
+    private static String describeShares(List<String> nodeNames, long[] before, long[] after) {
+        long total = 0;
+        for (int i = 0; i < before.length; i++) {
+            total += after[i] - before[i];
+        }
+        StringBuilder shares = new StringBuilder();
+        for (int i = 0; i < before.length; i++) {
+            if (shares.length() > 0) {
+                shares.append(';');
+            }
+            long delta = after[i] - before[i];
+            shares.append(String.format(Locale.ROOT, "%s=%.1f%%", nodeNames.get(i), total == 0 ? 0.0 : delta * 100.0 / total));
+        }
+        return shares.toString();
+    }
+
+    private static <T> T awaitFuture(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", ie);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed", e.getCause());
+        }
+    }
+
+    private static List<String> buildScaling(List<Row> rows) {
+        Map<String, Double> baselines = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (row.replicas == 0) {
+                baselines.put(client(row.scenario) + "|" + row.objectName, row.readsPerSecond());
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("=== Replica read scaling (reads/s vs. master-only reads) ===");
+        for (Row row : rows) {
+            Double baseline = baselines.get(client(row.scenario) + "|" + row.objectName);
+            lines.add(String.format(Locale.ROOT, "%s | %s | %d replica(s): %.0f reads/s (x%.2f), stale %.3f %%",
+                    row.scenario, row.objectName, row.replicas, row.readsPerSecond(),
+                    baseline == null || baseline == 0 ? 0.0 : row.readsPerSecond() / baseline, row.stalePercent()));
+        }
+        return lines;
+    }
+
+    /**
+     * The scenario name without its read mode, e.g. {@code Redisson replica reads}: every mode of a client is
+     * compared with that client's master-only run.
+     */
+    private static String client(String scenario) {
+        int mode = scenario.indexOf(" (");
+        return mode < 0 ? scenario : scenario.substring(0, mode);
+    }
+
+    private static void persist(List<Row> rows, List<String> scaling) {
+        Path directory = Paths.get("benchmark-results");
+        List<String> lines = new ArrayList<>();
+        lines.add("replicas,scenario,object,reads_per_sec,read_p50_ms,read_p99_ms,writes,stale_reads,stale_pct,max_version_lag,get_share");
+        for (Row row : rows) {
+            lines.add(String.format(Locale.ROOT, "%d,\"%s\",%s,%.0f,%.3f,%.3f,%d,%d,%.3f,%d,\"%s\"",
+                    row.replicas,
+                    row.scenario,
+                    row.objectName,
+                    row.readsPerSecond(),
+                    row.latency.percentileNanos(0.50) / 1_000_000.0,
+                    row.latency.percentileNanos(0.99) / 1_000_000.0,
+                    row.writes,
+                    row.staleReads,
+                    row.stalePercent(),
+                    row.maxVersionLag,
+                    row.nodeShares));
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("replica-latest.csv"), lines);
+            Files.write(directory.resolve("replica-scaling.txt"), scaling);
+            System.out.println();
+            System.out.println("Replica results saved to benchmark-results/replica-latest.csv and replica-scaling.txt");
+        } catch (IOException e) {
+            System.err.println("Failed to persist replica results: " + e.getMessage());
+        }
+    }
+
+    private static final class Row {
+        private final int replicas;
+        private final String scenario;
+        private final String objectName;
+        private final LatencyHistogram latency;
+        private final long durationNanos;
+        private final long writes;
+        private final long staleReads;
+        private final long maxVersionLag;
+        private String nodeShares = "";
+
+        Row(int replicas, String scenario, String objectName, LatencyHistogram latency, long durationNanos,
+            long writes, long staleReads, long maxVersionLag) {
+            this.replicas = replicas;
+            this.scenario = scenario;
+            this.objectName = objectName;
+            this.latency = latency;
+            this.durationNanos = durationNanos;
+            this.writes = writes;
+            this.staleReads = staleReads;
+            this.maxVersionLag = maxVersionLag;
+        }
+
+        double readsPerSecond() {
+            return durationNanos == 0 ? 0.0 : latency.count() * 1_000_000_000.0 / durationNanos;
+        }
+
+        double stalePercent() {
+            return latency.count() == 0 ? 0.0 : staleReads * 100.0 / latency.count();
+        }
+    }
+}
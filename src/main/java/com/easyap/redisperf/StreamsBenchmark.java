@@ -0,0 +1,398 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import com.easyap.redisperf.stream.StreamAdapter;
+import com.easyap.redisperf.stream.StreamEvent;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Redis Streams fan-in ({@code command=streams}): {@code streamProducers} threads {@code XADD} serialized catalogue
+ * payloads at a paced rate, {@code streamConsumers} members of one consumer group {@code XREADGROUP} them in batches,
+ * decode every payload and {@code XACK} the batch. Each client climbs {@code streamRates} until a step is not
+ * sustained; the last sustained step is its maximum sustainable throughput.
+ *
+ * <p>Producers stamp every entry with the time it was scheduled, not the time it was sent, so a producer that falls
+ * behind shows up as end-to-end latency instead of silently lowering the rate. End-to-end latency runs from that
+ * stamp to the return of the {@code XACK} that acknowledged the entry. Consumer lag is entries produced minus entries
+ * acknowledged, sampled every {@link #LAG_SAMPLE_MILLIS} ms.</p>
+ */
+public class StreamsBenchmark {
+
+    private static final String GROUP = "benchmark";
+    private static final int BLOCK_MILLIS = 100;
+    private static final long LAG_SAMPLE_MILLIS = 100;
+    private static final long DRAIN_MILLIS = 5_000;
+    /** A step is sustained if the backlog left when producers stop is at most this much production. */
+    private static final long MAX_BACKLOG_MILLIS = 100;
+    private static final double MIN_RATE_SHARE = 0.95;
+
+    private final BenchmarkConfig config;
+
+    public StreamsBenchmark(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+    }
+
+    public void run() {
+        RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri());
+        List<WorkloadScenario<StreamAdapter>> scenarios = BenchmarkCatalog.selectWorkloadScenarios(
+                BenchmarkCatalog.streamScenarios(clientFactory), config.getScenarioFilters());
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        List<Integer> rates = new ArrayList<>(config.getStreamRates());
+        Collections.sort(rates);
+
+        System.out.printf(Locale.ROOT, "== Streams Benchmark ==%nRedis URI: %s%n%d producers, %d consumers (batch %d) | Rates: %s events/s | %d s per step | MAXLEN ~%d%n",
+                config.getRedisUri(), config.getStreamProducers(), config.getStreamConsumers(), config.getStreamBatch(),
+                rates, config.getStreamStepDuration().getSeconds(), config.getStreamMaxLength());
+
+        List<Step> steps = new ArrayList<>();
+        try (KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                clientFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                Collections.singletonList(KeySpace.STREAM_NAMESPACE),
+                config.getCleanupBatchSize(),
+                config.getCleanupThreads())) {
+            cleaner.reset();
+            for (ObjectGenerator<?> generator : generators) {
+                byte[][] payloads = serializedPayloads(generator);
+                for (WorkloadScenario<StreamAdapter> scenario : scenarios) {
+                    StreamAdapter adapter = scenario.adapterSupplier().get();
+                    try {
+                        for (int rate : rates) {
+                            System.out.printf(Locale.ROOT, "%n=== Streams | %,d events/s | Object: %s | Scenario: %s ===%n",
+                                    rate, generator.name(), scenario.name());
+                            Step step = runStep(adapter, scenario.name(), generator.name(), payloads, rate);
+                            steps.add(step);
+                            print(step);
+                            if (!step.sustained()) {
+                                break;
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        System.out.println("  skipped: " + e.getMessage());
+                    } finally {
+                        adapter.close();
+                        cleaner.reset();
+                    }
+                }
+            }
+        }
+
+        List<String> summary = buildSummary(steps);
+        System.out.println();
+        summary.forEach(System.out::println);
+        persist(steps, summary);
+    }
+
+    private byte[][] serializedPayloads(ObjectGenerator<?> generator) {
+        PayloadPool pool = PayloadPool.create(generator, config.getPayloadPoolSize(), false);
+        byte[][] payloads = new byte[pool.size()][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = JavaSerializationUtils.serialize(pool.get(i));
+        }
+        return payloads;
+    }
+
+    private Step runStep(StreamAdapter adapter, String scenario, String objectName, byte[][] payloads, int rate) {
+        String stream = KeySpace.STREAM_NAMESPACE + ":" + objectName + ":" + KeySpace.sanitize(scenario) + ":" + rate;
+        adapter.createGroup(stream, GROUP);
+
+        int producers = config.getStreamProducers();
+        int consumers = config.getStreamConsumers();
+        long eventsPerProducer = Math.max(1L, rate * config.getStreamStepDuration().getSeconds() / producers);
+        long intervalNanos = producers * 1_000_000_000L / rate;
+
+        AtomicLong produced = new AtomicLong();
+        AtomicLong acknowledged = new AtomicLong();
+        AtomicLong maxLag = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        LatencyHistogram endToEnd = new LatencyHistogram();
+        LatencyHistogram addLatency = new LatencyHistogram();
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            List<Future<Void>> consumerFutures = new ArrayList<>(consumers);
+            for (int c = 0; c < consumers; c++) {
+                consumerFutures.add(executor.submit(buildConsumer(adapter, stream, "consumer-" + c, acknowledged, stop, endToEnd)));
+            }
+            sampler.scheduleAtFixedRate(() -> updateMax(maxLag, produced.get() - acknowledged.get()),
+                    LAG_SAMPLE_MILLIS, LAG_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LAG_SAMPLE_MILLIS);
+            List<Future<Void>> producerFutures = new ArrayList<>(producers);
+            for (int p = 0; p < producers; p++) {
+                // producers are staggered so the merged schedule is evenly spaced
+                long first = start + p * intervalNanos / producers;
+                producerFutures.add(executor.submit(buildProducer(adapter, stream, payloads, p, first, intervalNanos,
+                        eventsPerProducer, produced, addLatency)));
+            }
+            for (Future<Void> future : producerFutures) {
+                awaitFuture(future);
+            }
+            long productionNanos = System.nanoTime() - start;
+            long backlog = produced.get() - acknowledged.get();
+            updateMax(maxLag, backlog);
+
+            long drainStart = System.nanoTime();
+            long drainDeadline = drainStart + TimeUnit.MILLISECONDS.toNanos(DRAIN_MILLIS);
+            while (acknowledged.get() < produced.get() && System.nanoTime() < drainDeadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            long drainNanos = System.nanoTime() - drainStart;
+            stop.set(true);
+            for (Future<Void> future : consumerFutures) {
+                awaitFuture(future);
+            }
+            long pending = adapter.pending(stream, GROUP);
+            long allowedBacklog = Math.max(rate * MAX_BACKLOG_MILLIS / 1_000, (long) consumers * config.getStreamBatch());
+            return new Step(scenario, objectName, rate, produced.get(), acknowledged.get(), productionNanos, backlog,
+                    allowedBacklog, maxLag.get(), drainNanos, pending, endToEnd, addLatency);
+        } finally {
+            sampler.shutdownNow();
+            stop.set(true);
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Void> buildProducer(StreamAdapter adapter,
+                                         String stream,
+                                         byte[][] payloads,
+                                         int producerIndex,
+                                         long firstNanos,
+                                         long intervalNanos,
+                                         long events,
+                                         AtomicLong produced,
+                                         LatencyHistogram addLatency) {
+        int producers = config.getStreamProducers();
+        int maxLength = config.getStreamMaxLength();
+        return () -> {
+            for (long i = 0; i < events; i++) {
+                long scheduled = firstNanos + i * intervalNanos;
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                byte[] payload = payloads[(int) ((producerIndex + i * producers) % payloads.length)];
+                long start = System.nanoTime();
+                adapter.add(stream, scheduled, payload, maxLength);
+                addLatency.record(System.nanoTime() - start);
+                produced.incrementAndGet();
+            }
+            return null;
+        };
+    }
+
+    private Callable<Void> buildConsumer(StreamAdapter adapter,
+                                         String stream,
+                                         String consumer,
+                                         AtomicLong acknowledged,
+                                         AtomicBoolean stop,
+                                         LatencyHistogram endToEnd) {
+        int batch = config.getStreamBatch();
+        return () -> {
+            while (!stop.get()) {
+                List<StreamEvent> events = adapter.read(stream, GROUP, consumer, batch, BLOCK_MILLIS);
+                if (events.isEmpty()) {
+                    continue;
+                }
+                for (StreamEvent event : events) {
+                    JavaSerializationUtils.deserialize(event.payload());
+                }
+                adapter.ack(stream, GROUP, events);
+                long now = System.nanoTime();
+                for (StreamEvent event : events) {
+                    endToEnd.record(now - event.producedNanos());
+                }
+                acknowledged.addAndGet(events.size());
+            }
+            return null;
+        };
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    private static void print(Step step) {
+        System.out.printf(Locale.ROOT, "  produced %.0f/s (target %d), acked %.0f/s | e2e p50=%.3f ms p99=%.3f ms max=%.3f ms | XADD p99=%.3f ms%n",
+                step.producedPerSecond(), step.targetRate, step.acknowledgedPerSecond(),
+                step.endToEnd.percentileNanos(0.50) / 1_000_000.0, step.endToEnd.percentileNanos(0.99) / 1_000_000.0,
+                step.endToEnd.maxNanos() / 1_000_000.0, step.addLatency.percentileNanos(0.99) / 1_000_000.0);
+        System.out.printf(Locale.ROOT, "  lag: max %,d, at producer stop %,d, drained in %.0f ms | lost %,d | pending %,d -> %s%n",
+                step.maxLag, step.backlog, step.drainNanos / 1_000_000.0, step.lost(), step.pending,
+                step.sustained() ? "sustained" : "NOT sustained");
+    }
+
+    /**
+     * Per client and payload, the highest sustained rate and its latency.
+     */
+    private static List<String> buildSummary(List<Step> steps) {
+        Map<String, Step> best = new LinkedHashMap<>();
+        Map<String, Step> firstFailure = new LinkedHashMap<>();
+        for (Step step : steps) {
+            String key = step.scenario + " | " + step.objectName;
+            if (step.sustained()) {
+                Step current = best.get(key);
+                if (current == null || step.targetRate > current.targetRate) {
+                    best.put(key, step);
+                }
+            } else if (!firstFailure.containsKey(key)) {
+                firstFailure.put(key, step);
+            }
+            best.putIfAbsent(key, null);
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("=== Max sustainable stream throughput ===");
+        for (Map.Entry<String, Step> entry : best.entrySet()) {
+            Step sustained = entry.getValue();
+            Step failed = firstFailure.get(entry.getKey());
+            StringBuilder line = new StringBuilder(entry.getKey()).append(": ");
+            if (sustained == null) {
+                line.append("no step sustained");
+            } else {
+                line.append(String.format(Locale.ROOT, "%,d events/s (e2e p99 %.3f ms, max lag %,d)",
+                        sustained.targetRate, sustained.endToEnd.percentileNanos(0.99) / 1_000_000.0, sustained.maxLag));
+            }
+            if (failed != null) {
+                line.append(String.format(Locale.ROOT, "; %,d events/s fell behind (produced %.0f/s, acked %.0f/s)",
+                        failed.targetRate, failed.producedPerSecond(), failed.acknowledgedPerSecond()));
+            } else {
+                line.append("; every step sustained, raise streamRates");
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static void persist(List<Step> steps, List<String> summary) {
+        Path directory = Paths.get("benchmark-results");
+        List<String> lines = new ArrayList<>();
+        lines.add("scenario,object,target_rate,produced,acked,produced_per_sec,acked_per_sec,e2e_p50_ms,e2e_p99_ms,e2e_max_ms,xadd_p99_ms,max_lag,backlog_at_stop,drain_ms,lost,pending,sustained");
+        for (Step step : steps) {
+            lines.add(String.format(Locale.ROOT, "\"%s\",%s,%d,%d,%d,%.0f,%.0f,%.3f,%.3f,%.3f,%.3f,%d,%d,%.0f,%d,%d,%s",
+                    step.scenario,
+                    step.objectName,
+                    step.targetRate,
+                    step.produced,
+                    step.acknowledged,
+                    step.producedPerSecond(),
+                    step.acknowledgedPerSecond(),
+                    step.endToEnd.percentileNanos(0.50) / 1_000_000.0,
+                    step.endToEnd.percentileNanos(0.99) / 1_000_000.0,
+                    step.endToEnd.maxNanos() / 1_000_000.0,
+                    step.addLatency.percentileNanos(0.99) / 1_000_000.0,
+                    step.maxLag,
+                    step.backlog,
+                    step.drainNanos / 1_000_000.0,
+                    step.lost(),
+                    step.pending,
+                    step.sustained()));
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("streams-latest.csv"), lines);
+            Files.write(directory.resolve("streams-summary.txt"), summary);
+            System.out.println();
+            System.out.println("Stream results saved to benchmark-results/streams-latest.csv and streams-summary.txt");
+        } catch (IOException e) {
+            System.err.println("Failed to persist stream results: " + e.getMessage());
+        }
+    }
+
+    private static <T> T awaitFuture(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", ie);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed", e.getCause());
+        }
+    }
+
+    private static final class Step {
+        private final String scenario;
+        private final String objectName;
+        private final int targetRate;
+        private final long produced;
+        private final long acknowledged;
+        private final long productionNanos;
+        private final long backlog;
+        private final long allowedBacklog;
+        private final long maxLag;
+        private final long drainNanos;
+        private final long pending;
+        private final LatencyHistogram endToEnd;
+        private final LatencyHistogram addLatency;
+
+        Step(String scenario, String objectName, int targetRate, long produced, long acknowledged, long productionNanos,
+             long backlog, long allowedBacklog, long maxLag, long drainNanos, long pending, LatencyHistogram endToEnd, LatencyHistogram addLatency) {
+            this.scenario = scenario;
+            this.objectName = objectName;
+            this.targetRate = targetRate;
+            this.produced = produced;
+            this.acknowledged = acknowledged;
+            this.productionNanos = productionNanos;
+            this.backlog = backlog;
+            this.allowedBacklog = allowedBacklog;
+            this.maxLag = maxLag;
+            this.drainNanos = drainNanos;
+            this.pending = pending;
+            this.endToEnd = endToEnd;
+            this.addLatency = addLatency;
+        }
+
+        double producedPerSecond() {
+            return productionNanos == 0 ? 0.0 : produced * 1_000_000_000.0 / productionNanos;
+        }
+
+        /**
+         * Acknowledgements while producers ran, so a backlog drained afterwards does not count.
+         */
+        double acknowledgedPerSecond() {
+            return productionNanos == 0 ? 0.0 : (produced - backlog) * 1_000_000_000.0 / productionNanos;
+        }
+
+        /**
+         * Entries never acknowledged: trimmed by {@code MAXLEN} before delivery or still queued after the drain.
+         */
+        long lost() {
+            return produced - acknowledged;
+        }
+
+        /**
+         * Producers kept up with the target, consumers kept the backlog within {@link #MAX_BACKLOG_MILLIS} of
+         * production (or one batch per consumer) and every entry was acknowledged.
+         */
+        boolean sustained() {
+            return producedPerSecond() >= targetRate * MIN_RATE_SHARE
+                    && backlog <= allowedBacklog
+                    && lost() == 0;
+        }
+    }
+}
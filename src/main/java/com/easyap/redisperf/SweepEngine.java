@@ -0,0 +1,204 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.config.BenchmarkConfig;
+import com.easyap.redisperf.config.ClientTuning;
+import com.easyap.redisperf.config.ParameterGrid;
+import com.easyap.redisperf.metrics.BenchmarkResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Runs the selected scenarios once per {@link ClientTuning} of a {@link ParameterGrid} and ranks the tunings of
+ * each client by throughput and by p99. Tunings that only differ in settings a client ignores run once for it.
+ */
+public class SweepEngine {
+
+    private final BenchmarkConfig config;
+    private final BenchmarkRunner runner;
+    private final ReadMostlyBenchmark readMostlyBenchmark;
+
+    public SweepEngine(BenchmarkConfig config) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.runner = new BenchmarkRunner(config);
+        this.readMostlyBenchmark = new ReadMostlyBenchmark(config);
+    }
+
+    public List<Row> run() {
+        ParameterGrid grid = ParameterGrid.parse(config.getSweepGrid());
+        List<ClientTuning> tunings = grid.combinations();
+        List<ObjectGenerator<?>> generators = BenchmarkCatalog.selectGenerators(
+                BenchmarkCatalog.generators(), config.getObjectFilters());
+        List<TestMode> modes = BenchmarkCatalog.selectModes(config.getModeFilters());
+
+        System.out.printf(Locale.ROOT, "Client sweep: %d combinations of %s%n", tunings.size(), grid.parameters());
+
+        List<Row> rows = new ArrayList<>();
+        Set<String> executed = new HashSet<>();
+        RedisClientFactory cleanupFactory = new RedisClientFactory(config.getRedisUri());
+        try (KeyspaceCleaner cleaner = new KeyspaceCleaner(
+                cleanupFactory.createJedis(KeyspaceCleaner.CLIENT_NAME),
+                Arrays.asList(KeySpace.SET_GET_NAMESPACE, KeySpace.READ_MOSTLY_NAMESPACE),
+                config.getCleanupBatchSize(),
+                config.getCleanupThreads())) {
+            cleaner.reset();
+            for (ClientTuning tuning : tunings) {
+                RedisClientFactory clientFactory = new RedisClientFactory(config.getRedisUri(), tuning);
+                List<BenchmarkScenario> scenarios = BenchmarkCatalog.selectScenarios(
+                        BenchmarkCatalog.scenarios(clientFactory, config), config.getScenarioFilters());
+                for (BenchmarkScenario scenario : scenarios) {
+                    String description = tuning.describe(isRedisson(scenario));
+                    if (!executed.add(scenario.name() + "|" + description)) {
+                        continue;
+                    }
+                    for (ObjectGenerator<?> generator : generators) {
+                        for (TestMode mode : modes) {
+                            System.out.printf(Locale.ROOT, "%n--- %s | %s | %s | %s%n", mode.title(), scenario.name(), generator.name(), description);
+                            try {
+                                BenchmarkResult result = runOnce(mode, scenario, generator);
+                                rows.add(new Row(scenario.name(), description, mode, generator.name(), result));
+                                System.out.printf(Locale.ROOT, "  %.0f ops/s, p99=%.2f ms%n",
+                                        result.throughputPerSecond(), result.getLatencySnapshot().p99Millis());
+                            } catch (RuntimeException e) {
+                                System.out.println("  skipped: " + e.getMessage());
+                            } finally {
+                                cleaner.reset();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<String> ranking = rank(rows);
+        System.out.println();
+        ranking.forEach(System.out::println);
+        persist(rows);
+        return rows;
+    }
+
+    private BenchmarkResult runOnce(TestMode mode, BenchmarkScenario scenario, ObjectGenerator<?> generator) {
+        if (mode == TestMode.READ_MOSTLY) {
+            return readMostlyBenchmark.run(scenario.name(), generator, scenario.cacheSupplier()).result();
+        }
+        try (CacheAdapter cacheAdapter = scenario.cacheSupplier().get()) {
+            return runner.runScenario(scenario.name() + " | SetGet", generator, cacheAdapter);
+        }
+    }
+
+    private static boolean isRedisson(BenchmarkScenario scenario) {
+        return scenario.name().startsWith("Redisson");
+    }
+
+    private static List<String> rank(List<Row> rows) {
+        Map<String, List<Row>> groups = new LinkedHashMap<>();
+        for (Row row : rows) {
+            groups.computeIfAbsent(row.mode.title() + " | " + row.scenario + " | " + row.objectName, k -> new ArrayList<>()).add(row);
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("=== Client sweep ranking (by throughput; p99 rank in brackets) ===");
+        for (Map.Entry<String, List<Row>> group : groups.entrySet()) {
+            List<Row> byThroughput = new ArrayList<>(group.getValue());
+            byThroughput.sort(Comparator.comparingDouble((Row row) -> row.result.throughputPerSecond()).reversed());
+            List<Row> byP99 = new ArrayList<>(group.getValue());
+            byP99.sort(Comparator.comparingDouble(row -> row.result.getLatencySnapshot().p99Millis()));
+            lines.add(group.getKey());
+            for (int i = 0; i < byThroughput.size(); i++) {
+                Row row = byThroughput.get(i);
+                row.throughputRank = i + 1;
+                row.p99Rank = byP99.indexOf(row) + 1;
+                lines.add(String.format(Locale.ROOT, "  #%d %12.0f ops/s  p99=%7.2f ms [#%d]  %s",
+                        row.throughputRank,
+                        row.result.throughputPerSecond(),
+                        row.result.getLatencySnapshot().p99Millis(),
+                        row.p99Rank,
+                        row.tuning));
+            }
+        }
+        return lines;
+    }
+
+    private static void persist(List<Row> rows) {
+        Path directory = Paths.get("benchmark-results");
+        List<String> lines = new ArrayList<>();
+        lines.add("mode,scenario,object,tuning,ops_per_sec,p99_ms,throughput_rank,p99_rank");
+        for (Row row : rows) {
+            lines.add(String.format(Locale.ROOT, "%s,\"%s\",%s,\"%s\",%.0f,%.2f,%d,%d",
+                    row.mode.title(),
+                    row.scenario,
+                    row.objectName,
+                    row.tuning,
+                    row.result.throughputPerSecond(),
+                    row.result.getLatencySnapshot().p99Millis(),
+                    row.throughputRank,
+                    row.p99Rank));
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("sweep-latest.csv"), lines);
+            System.out.println();
+            System.out.println("Sweep results saved to benchmark-results/sweep-latest.csv");
+        } catch (IOException e) {
+            System.err.println("Failed to persist sweep results: " + e.getMessage());
+        }
+    }
+
+    public static final class Row {
+        private final String scenario;
+        private final String tuning;
+        private final TestMode mode;
+        private final String objectName;
+        private final BenchmarkResult result;
+        private int throughputRank;
+        private int p99Rank;
+
+        Row(String scenario, String tuning, TestMode mode, String objectName, BenchmarkResult result) {
+            this.scenario = scenario;
+            this.tuning = tuning;
+            this.mode = mode;
+            this.objectName = objectName;
+            this.result = result;
+        }
+
+        public String scenario() {
+            return scenario;
+        }
+
+        public String tuning() {
+            return tuning;
+        }
+
+        public TestMode mode() {
+            return mode;
+        }
+
+        public String objectName() {
+            return objectName;
+        }
+
+        public BenchmarkResult result() {
+            return result;
+        }
+
+        public int throughputRank() {
+            return throughputRank;
+        }
+
+        public int p99Rank() {
+            return p99Rank;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.easyap.redisperf;
+
+import com.easyap.redisperf.config.ClientTuning;
+import redis.clients.jedis.DefaultJedisSocketFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Jedis socket factory that overrides the TCP options Jedis always turns on.
+ */
+final class TunedSocketFactory extends DefaultJedisSocketFactory {
+
+    private final ClientTuning tuning;
+
+    TunedSocketFactory(HostAndPort hostAndPort, JedisClientConfig clientConfig, ClientTuning tuning) {
+        super(hostAndPort, clientConfig);
+        this.tuning = tuning;
+    }
+
+    @Override
+    public Socket createSocket() throws JedisConnectionException {
+        Socket socket = super.createSocket();
+        try {
+            socket.setTcpNoDelay(tuning.tcpNoDelay());
+            socket.setKeepAlive(tuning.keepAlive());
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+            throw new JedisConnectionException("Failed to apply socket options", e);
+        }
+        return socket;
+    }
+}
@@ -0,0 +1,34 @@
+package com.easyap.redisperf;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A named client for one of the non-cache workloads, created fresh for every measurement.
+ *
+ * @param <A> the workload's adapter interface
+ */
+public final class WorkloadScenario<A extends AutoCloseable> {
+
+    private final String name;
+    private final String description;
+    private final Supplier<A> adapterSupplier;
+
+    public WorkloadScenario(String name, String description, Supplier<A> adapterSupplier) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.description = Objects.requireNonNull(description, "description");
+        this.adapterSupplier = Objects.requireNonNull(adapterSupplier, "adapterSupplier");
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public Supplier<A> adapterSupplier() {
+        return adapterSupplier;
+    }
+}
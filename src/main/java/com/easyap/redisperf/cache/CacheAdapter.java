@@ -1,11 +1,37 @@
 package com.easyap.redisperf.cache;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
 public interface CacheAdapter extends AutoCloseable {
 
     Object get(String key);
 
     void set(String key, Object value, long ttlSeconds);
 
+    default Object get(CacheKey key) {
+        return get(key.asString());
+    }
+
+    default void set(CacheKey key, Object value, long ttlSeconds) {
+        set(key.asString(), value, ttlSeconds);
+    }
+
+    /**
+     * Adapter-specific counters (near-cache hits, evictions, ...) reported next to the scenario result.
+     */
+    default Map<String, Long> counters() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Live values (pool active/idle, in-flight commands, ...) sampled continuously while a test runs.
+     */
+    default Map<String, LongSupplier> gauges() {
+        return Collections.emptyMap();
+    }
+
     @Override
     void close();
 }
@@ -0,0 +1,70 @@
+package com.easyap.redisperf.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Pre-encoded cache key. The byte form is shared with the clients as-is and must never be mutated.
+ */
+public final class CacheKey {
+
+    private final byte[] bytes;
+    private final int hash;
+    private String text;
+
+    private CacheKey(byte[] bytes, String text) {
+        this.bytes = bytes;
+        this.text = text;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    public static CacheKey of(String key) {
+        Objects.requireNonNull(key, "key");
+        return new CacheKey(key.getBytes(StandardCharsets.UTF_8), key);
+    }
+
+    public static CacheKey wrap(byte[] encoded) {
+        Objects.requireNonNull(encoded, "encoded");
+        return new CacheKey(encoded, null);
+    }
+
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    public String asString() {
+        String current = text;
+        if (current == null) {
+            current = new String(bytes, StandardCharsets.UTF_8);
+            text = current;
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheKey that = (CacheKey) o;
+        return hash == that.hash && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
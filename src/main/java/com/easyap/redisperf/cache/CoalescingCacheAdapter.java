@@ -0,0 +1,104 @@
+package com.easyap.redisperf.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-flight decorator: concurrent {@code get}s of the same key share the delegate's round-trip and decode.
+ * The first caller (leader) performs the read; callers arriving while it is in flight wait for its result and
+ * therefore receive the same instance.
+ *
+ * <p>A {@code set} detaches the in-flight read of its key, so a reader that starts after the write never joins
+ * a read that may have been served before it.</p>
+ */
+public class CoalescingCacheAdapter implements CacheAdapter {
+
+    private final CacheAdapter delegate;
+    private final ConcurrentHashMap<CacheKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public CoalescingCacheAdapter(CacheAdapter delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        CompletableFuture<Object> pending = inFlight.get(key);
+        if (pending == null) {
+            CompletableFuture<Object> own = new CompletableFuture<>();
+            pending = inFlight.putIfAbsent(key, own);
+            if (pending == null) {
+                return lead(key, own);
+            }
+        }
+        followers.increment();
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private Object lead(CacheKey key, CompletableFuture<Object> own) {
+        leaders.increment();
+        try {
+            Object value = delegate.get(key);
+            own.complete(value);
+            return value;
+        } catch (Throwable t) {
+            // errors too: followers blocked in join() must never outlive a failed leader
+            own.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        delegate.set(key, value, ttlSeconds);
+        inFlight.remove(key);
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>(delegate.counters());
+        counters.put("coalescing.leaders", leaders.sum());
+        counters.put("coalescing.followers", followers.sum());
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        return delegate.gauges();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
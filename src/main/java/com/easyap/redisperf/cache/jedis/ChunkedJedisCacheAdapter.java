@@ -0,0 +1,323 @@
+package com.easyap.redisperf.cache.jedis;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.params.SetParams;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Jedis adapter for multi-megabyte values. The serialized form is streamed into fixed-size chunks written with
+ * pipelined SETEX to {@code <key>:<version>:<n>}; only then is the manifest at {@code <key>} (version, chunk count,
+ * length) swapped with {@code SET ... GET}, so readers see either the old or the new version, never a partial one.
+ * Chunks of the replaced version expire after a short grace period instead of being deleted, letting readers that
+ * still hold the old manifest finish. Reads fetch a few chunks per round trip and deserialize straight from them,
+ * so neither side ever holds the whole payload in one array.
+ * <p>
+ * Chunk keys of one value land on different slots, so this adapter is meant for a single server.
+ */
+public class ChunkedJedisCacheAdapter implements CacheAdapter {
+
+    private static final byte[] SEPARATOR = {':'};
+    /** Chunks outlive their manifest by this long, and a replaced version is readable for this long. */
+    private static final int GRACE_SECONDS = 5;
+    /** Chunk GETs sent per round trip while reading. */
+    private static final int READ_AHEAD_CHUNKS = 4;
+
+    private final UnifiedJedis jedis;
+    private final JedisCacheAdapter client;
+    private final int chunkBytes;
+    private final LongAdder chunksWritten = new LongAdder();
+    private final LongAdder chunksRead = new LongAdder();
+    private final LongAdder versionsRetired = new LongAdder();
+    private final LongAdder staleReads = new LongAdder();
+
+    public ChunkedJedisCacheAdapter(UnifiedJedis jedis, int chunkBytes) {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("chunkBytes must be > 0");
+        }
+        this.jedis = jedis;
+        this.client = new JedisCacheAdapter(jedis);
+        this.chunkBytes = chunkBytes;
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        try {
+            return read(key);
+        } catch (StaleVersionException e) {
+            // the version was replaced and its grace period ran out mid-read; the new manifest is already in place
+            staleReads.increment();
+            return read(key);
+        }
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        if (value == null) {
+            retire(key, jedis.getDel(key.bytes()));
+            return;
+        }
+        String version = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        ChunkOutputStream chunks = new ChunkOutputStream(key, version, ttlSeconds + GRACE_SECONDS);
+        try {
+            JavaSerializationUtils.serialize(value, chunks);
+        } finally {
+            chunks.pipeline.close();
+        }
+        // surfaces any failed chunk write before the manifest can point at it
+        for (Response<String> response : chunks.responses) {
+            response.get();
+        }
+        Manifest manifest = new Manifest(version, chunks.count, chunks.length);
+        byte[] previous = jedis.setGet(key.bytes(), manifest.encode(), SetParams.setParams().ex(ttlSeconds));
+        retire(key, previous);
+    }
+
+    private Object read(CacheKey key) {
+        Manifest manifest = Manifest.decode(jedis.get(key.bytes()));
+        if (manifest == null) {
+            return null;
+        }
+        return JavaSerializationUtils.deserialize(new ChunkInputStream(key, manifest));
+    }
+
+    private void retire(CacheKey key, byte[] encodedManifest) {
+        Manifest previous = Manifest.decode(encodedManifest);
+        if (previous == null) {
+            return;
+        }
+        try (AbstractPipeline pipeline = jedis.pipelined()) {
+            for (int i = 0; i < previous.chunks; i++) {
+                pipeline.expire(chunkKey(key, previous.version, i), GRACE_SECONDS);
+            }
+        }
+        versionsRetired.increment();
+    }
+
+    private static byte[] chunkKey(CacheKey key, String version, int index) {
+        byte[] suffix = (version + ":" + index).getBytes(StandardCharsets.US_ASCII);
+        byte[] base = key.bytes();
+        byte[] chunkKey = Arrays.copyOf(base, base.length + SEPARATOR.length + suffix.length);
+        System.arraycopy(SEPARATOR, 0, chunkKey, base.length, SEPARATOR.length);
+        System.arraycopy(suffix, 0, chunkKey, base.length + SEPARATOR.length, suffix.length);
+        return chunkKey;
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>(client.counters());
+        counters.put("chunked.chunkBytes", (long) chunkBytes);
+        counters.put("chunked.chunksWritten", chunksWritten.sum());
+        counters.put("chunked.chunksRead", chunksRead.sum());
+        counters.put("chunked.versionsRetired", versionsRetired.sum());
+        counters.put("chunked.staleReads", staleReads.sum());
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        return client.gauges();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    /**
+     * Buffers one chunk at a time and hands each full chunk to the pipeline, which writes it to the connection
+     * straight away, so the buffer is reused for the next chunk.
+     */
+    private final class ChunkOutputStream extends OutputStream {
+
+        private final CacheKey key;
+        private final String version;
+        private final long ttlSeconds;
+        private final AbstractPipeline pipeline = jedis.pipelined();
+        private final List<Response<String>> responses = new ArrayList<>();
+        private final byte[] buffer = new byte[chunkBytes];
+        private int position;
+        private int count;
+        private long length;
+
+        ChunkOutputStream(CacheKey key, String version, long ttlSeconds) {
+            this.key = key;
+            this.version = version;
+            this.ttlSeconds = ttlSeconds;
+        }
+
+        @Override
+        public void write(int b) {
+            if (position == buffer.length) {
+                emit();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (position == buffer.length) {
+                    emit();
+                }
+                int n = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, n);
+                position += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (position > 0) {
+                emit();
+            }
+        }
+
+        private void emit() {
+            byte[] chunk = position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+            responses.add(pipeline.setex(chunkKey(key, version, count), ttlSeconds, chunk));
+            chunksWritten.increment();
+            length += position;
+            count++;
+            position = 0;
+        }
+    }
+
+    /**
+     * Reads chunks in order, fetching {@link #READ_AHEAD_CHUNKS} of them per round trip.
+     */
+    private final class ChunkInputStream extends InputStream {
+
+        private final CacheKey key;
+        private final Manifest manifest;
+        private final Deque<Response<byte[]>> fetched = new ArrayDeque<>();
+        private int nextIndex;
+        private byte[] chunk = new byte[0];
+        private int position;
+
+        ChunkInputStream(CacheKey key, Manifest manifest) {
+            this.key = key;
+            this.manifest = manifest;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return chunk[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return chunk.length - position;
+        }
+
+        private boolean ensureAvailable() {
+            while (position == chunk.length) {
+                if (fetched.isEmpty() && !fetchAhead()) {
+                    return false;
+                }
+                chunk = fetched.poll().get();
+                if (chunk == null) {
+                    throw new StaleVersionException();
+                }
+                chunksRead.increment();
+                position = 0;
+            }
+            return true;
+        }
+
+        private boolean fetchAhead() {
+            if (nextIndex == manifest.chunks) {
+                return false;
+            }
+            try (AbstractPipeline pipeline = jedis.pipelined()) {
+                int end = Math.min(manifest.chunks, nextIndex + READ_AHEAD_CHUNKS);
+                for (; nextIndex < end; nextIndex++) {
+                    fetched.add(pipeline.get(chunkKey(key, manifest.version, nextIndex)));
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Manifest {
+
+        final String version;
+        final int chunks;
+        final long length;
+
+        Manifest(String version, int chunks, long length) {
+            this.version = version;
+            this.chunks = chunks;
+            this.length = length;
+        }
+
+        byte[] encode() {
+            return (version + ":" + chunks + ":" + length).getBytes(StandardCharsets.US_ASCII);
+        }
+
+        static Manifest decode(byte[] encoded) {
+            if (encoded == null) {
+                return null;
+            }
+            String[] parts = new String(encoded, StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 3) {
+                throw new IllegalStateException("Not a chunk manifest: " + new String(encoded, StandardCharsets.US_ASCII));
+            }
+            return new Manifest(parts[0], Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        }
+    }
+
+    /**
+     * A chunk of the version being read has expired; unchecked so it passes through {@code ObjectInputStream}.
+     */
+    private static final class StaleVersionException extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,51 @@
+package com.easyap.redisperf.cache.jedis;
+
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.providers.PooledConnectionProvider;
+
+/**
+ * Pooled provider that times every borrow, so pool wait shows up separately from command latency.
+ */
+public class InstrumentedConnectionProvider extends PooledConnectionProvider {
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+
+    public InstrumentedConnectionProvider(PooledObjectFactory<Connection> factory,
+                                          GenericObjectPoolConfig<Connection> poolConfig) {
+        super(factory, poolConfig);
+    }
+
+    public InstrumentedConnectionProvider(HostAndPort hostAndPort,
+                                          JedisClientConfig clientConfig,
+                                          Cache cache,
+                                          GenericObjectPoolConfig<Connection> poolConfig) {
+        super(hostAndPort, clientConfig, cache, poolConfig);
+    }
+
+    @Override
+    public Connection getConnection() {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        borrowWait.record(System.nanoTime() - start);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(CommandArguments args) {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(args);
+        borrowWait.record(System.nanoTime() - start);
+        return connection;
+    }
+
+    public LatencyHistogram borrowWait() {
+        return borrowWait;
+    }
+}
@@ -0,0 +1,29 @@
+package com.easyap.redisperf.cache.jedis;
+
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.csc.Cache;
+
+/**
+ * {@link JedisPooled} over an {@link InstrumentedConnectionProvider}. JedisPooled has no public constructor that
+ * takes both a provider and a client-side cache, so the cache is kept here to keep {@link #getCache()} working.
+ */
+public class InstrumentedJedisPooled extends JedisPooled {
+
+    private final InstrumentedConnectionProvider provider;
+    private final Cache cache;
+
+    public InstrumentedJedisPooled(InstrumentedConnectionProvider provider, Cache cache) {
+        super(provider);
+        this.provider = provider;
+        this.cache = cache;
+    }
+
+    public InstrumentedConnectionProvider provider() {
+        return provider;
+    }
+
+    @Override
+    public Cache getCache() {
+        return cache;
+    }
+}
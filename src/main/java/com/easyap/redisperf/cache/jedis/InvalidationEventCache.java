@@ -0,0 +1,41 @@
+package com.easyap.redisperf.cache.jedis;
+
+import com.easyap.redisperf.jfr.InvalidationEvent;
+import redis.clients.jedis.csc.CacheKey;
+import redis.clients.jedis.csc.Cacheable;
+import redis.clients.jedis.csc.DefaultCache;
+import redis.clients.jedis.csc.DefaultCacheable;
+import redis.clients.jedis.csc.EvictionPolicy;
+
+import java.util.List;
+
+/**
+ * Jedis' {@link DefaultCache} that reports every invalidation push it applies as an {@link InvalidationEvent}.
+ * Installed through {@code CacheConfig.cacheClass}, which instantiates it with the configured size, eviction
+ * policy and cacheable filter, so it caches exactly like the default.
+ */
+public class InvalidationEventCache extends DefaultCache {
+
+    private static final String NAME = "jedis-csc";
+
+    public InvalidationEventCache(int maximumSize, EvictionPolicy evictionPolicy, Cacheable cacheable) {
+        super(maximumSize, cacheable, evictionPolicy);
+    }
+
+    public InvalidationEventCache(int maximumSize, EvictionPolicy evictionPolicy) {
+        super(maximumSize, DefaultCacheable.INSTANCE, evictionPolicy);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // raw in the Jedis Cache interface
+    public List<CacheKey> deleteByRedisKeys(List keys) {
+        InvalidationEvent.keys(NAME, keys);
+        return super.deleteByRedisKeys(keys);
+    }
+
+    @Override
+    public int flush() {
+        InvalidationEvent.flush(NAME);
+        return super.flush();
+    }
+}
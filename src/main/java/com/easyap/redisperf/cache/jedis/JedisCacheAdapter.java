@@ -1,16 +1,33 @@
 package com.easyap.redisperf.cache.jedis;
 
 import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.metrics.LatencyHistogram;
 import com.easyap.redisperf.util.JavaSerializationUtils;
-import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheStats;
+import redis.clients.jedis.util.Pool;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
 
+/**
+ * Plain Jedis adapter. Works with a pooled single-server client as well as with {@link JedisCluster}, which
+ * routes each key to its slot owner.
+ */
 public class JedisCacheAdapter implements CacheAdapter {
 
-    private final JedisPooled jedis;
+    private final UnifiedJedis jedis;
 
-    public JedisCacheAdapter(JedisPooled jedis) {
+    public JedisCacheAdapter(UnifiedJedis jedis) {
         this.jedis = jedis;
     }
 
@@ -30,6 +47,84 @@ public class JedisCacheAdapter implements CacheAdapter {
         jedis.setex(key.getBytes(StandardCharsets.UTF_8), (int) ttlSeconds, payload);
     }
 
+    @Override
+    public Object get(CacheKey key) {
+        return JavaSerializationUtils.deserialize(jedis.get(key.bytes()));
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        if (value == null) {
+            jedis.del(key.bytes());
+            return;
+        }
+        jedis.setex(key.bytes(), (int) ttlSeconds, JavaSerializationUtils.serialize(value));
+    }
+
+    public byte[] getRaw(CacheKey key) {
+        return jedis.get(key.bytes());
+    }
+
+    public void setRaw(CacheKey key, byte[] payload, long ttlSeconds) {
+        if (payload == null) {
+            jedis.del(key.bytes());
+            return;
+        }
+        jedis.setex(key.bytes(), (int) ttlSeconds, payload);
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        if (jedis instanceof InstrumentedJedisPooled) {
+            Pool<?> pool = ((InstrumentedJedisPooled) jedis).getPool();
+            LatencyHistogram borrowWait = ((InstrumentedJedisPooled) jedis).provider().borrowWait();
+            counters.put("pool.borrows", borrowWait.count());
+            counters.put("pool.borrowWaitP50Nanos", borrowWait.percentileNanos(0.50));
+            counters.put("pool.borrowWaitP99Nanos", borrowWait.percentileNanos(0.99));
+            counters.put("pool.borrowWaitMaxNanos", borrowWait.maxNanos());
+            counters.put("pool.created", pool.getCreatedCount());
+            counters.put("pool.destroyed", pool.getDestroyedCount());
+        }
+        Cache cache = jedis.getCache();
+        if (cache == null) {
+            return counters;
+        }
+        CacheStats stats = cache.getStats();
+        counters.put("nearCache.hits", stats.getHitCount());
+        counters.put("nearCache.misses", stats.getMissCount());
+        counters.put("nearCache.evictions", stats.getEvictCount());
+        counters.put("nearCache.invalidations", stats.getInvalidationCount());
+        counters.put("nearCache.size", (long) cache.getSize());
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+        if (jedis instanceof InstrumentedJedisPooled) {
+            Pool<?> pool = ((InstrumentedJedisPooled) jedis).getPool();
+            gauges.put("pool.active", pool::getNumActive);
+            gauges.put("pool.idle", pool::getNumIdle);
+            gauges.put("pool.waiters", pool::getNumWaiters);
+        } else if (jedis instanceof JedisCluster) {
+            // one pool per node, summed; nodes discovered later are picked up on the next sample
+            JedisCluster cluster = (JedisCluster) jedis;
+            gauges.put("pool.active", () -> sum(cluster.getClusterNodes().values(), ConnectionPool::getNumActive));
+            gauges.put("pool.idle", () -> sum(cluster.getClusterNodes().values(), ConnectionPool::getNumIdle));
+            gauges.put("pool.waiters", () -> sum(cluster.getClusterNodes().values(), ConnectionPool::getNumWaiters));
+        }
+        return gauges.isEmpty() ? Collections.emptyMap() : gauges;
+    }
+
+    private static long sum(Collection<ConnectionPool> pools, ToLongFunction<ConnectionPool> metric) {
+        long total = 0;
+        for (ConnectionPool pool : pools) {
+            total += metric.applyAsLong(pool);
+        }
+        return total;
+    }
+
     @Override
     public void close() {
         jedis.close();
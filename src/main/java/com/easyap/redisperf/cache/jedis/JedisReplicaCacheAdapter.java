@@ -0,0 +1,93 @@
+package com.easyap.redisperf.cache.jedis;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+import redis.clients.jedis.UnifiedJedis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Jedis has no replica-aware client for a plain primary/replica setup, so reads are routed here: writes go to the
+ * master pool, reads round-robin over the replica pools (or the master when there are none).
+ */
+public class JedisReplicaCacheAdapter implements CacheAdapter {
+
+    private final JedisCacheAdapter master;
+    private final List<JedisCacheAdapter> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public JedisReplicaCacheAdapter(UnifiedJedis master, List<? extends UnifiedJedis> replicas) {
+        this.master = new JedisCacheAdapter(Objects.requireNonNull(master, "master"));
+        this.replicas = new ArrayList<>(replicas.size());
+        for (UnifiedJedis replica : replicas) {
+            this.replicas.add(new JedisCacheAdapter(replica));
+        }
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        return JavaSerializationUtils.deserialize(reader().getRaw(key));
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        master.set(key, value, ttlSeconds);
+    }
+
+    private JedisCacheAdapter reader() {
+        if (replicas.isEmpty()) {
+            return master;
+        }
+        return replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        master.counters().forEach((name, value) -> counters.put("master." + name, value));
+        for (int i = 0; i < replicas.size(); i++) {
+            String prefix = "replica" + i + ".";
+            replicas.get(i).counters().forEach((name, value) -> counters.put(prefix + name, value));
+        }
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+        master.gauges().forEach((name, gauge) -> gauges.put("master." + name, gauge));
+        for (int i = 0; i < replicas.size(); i++) {
+            String prefix = "replica" + i + ".";
+            replicas.get(i).gauges().forEach((name, gauge) -> gauges.put(prefix + name, gauge));
+        }
+        return gauges;
+    }
+
+    @Override
+    public void close() {
+        try {
+            master.close();
+        } finally {
+            for (JedisCacheAdapter replica : replicas) {
+                replica.close();
+            }
+        }
+    }
+}
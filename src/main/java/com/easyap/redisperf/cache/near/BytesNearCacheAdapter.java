@@ -0,0 +1,99 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.cache.jedis.JedisCacheAdapter;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Jedis adapter fronted by a local store of raw values. Like the built-in Jedis cache it keeps the response
+ * bytes, so every hit still pays for deserialization; invalidations arrive through a
+ * {@link TrackingInvalidationListener}.
+ */
+public class BytesNearCacheAdapter implements CacheAdapter {
+
+    private final JedisCacheAdapter delegate;
+    private final NearCacheStore<byte[]> store;
+    private final NearCacheStats stats;
+    private final TrackingInvalidationListener listener;
+
+    public BytesNearCacheAdapter(JedisCacheAdapter delegate,
+                                 NearCacheStore<byte[]> store,
+                                 NearCacheStats stats,
+                                 TrackingInvalidationListener listener) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.store = Objects.requireNonNull(store, "store");
+        this.stats = Objects.requireNonNull(stats, "stats");
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        boolean sampled = stats.sampleHitLatency();
+        long allocationMark = sampled ? stats.allocationMark() : -1L;
+        long start = sampled ? System.nanoTime() : 0L;
+        byte[] cached = store.get(key);
+        if (cached != null) {
+            Object value = JavaSerializationUtils.deserialize(cached);
+            if (sampled) {
+                stats.recordHit(System.nanoTime() - start, allocationMark);
+            }
+            return value;
+        }
+        long stamp = store.stamp(key);
+        byte[] data = delegate.getRaw(key);
+        if (data != null) {
+            store.putIfUnchanged(key, data, stamp);
+        }
+        return JavaSerializationUtils.deserialize(data);
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        delegate.setRaw(key, JavaSerializationUtils.serialize(value), ttlSeconds);
+        store.invalidate(key);
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = stats.toCounters(store.size());
+        counters.put("nearCache.trackingMessages", listener.messagesReceived());
+        counters.putAll(delegate.counters());
+        if (store.offHeapBytes() > 0) {
+            counters.put("nearCache.offHeapBytes", store.offHeapBytes());
+        }
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        return delegate.gauges();
+    }
+
+    @Override
+    public void close() {
+        try {
+            listener.close();
+        } finally {
+            try {
+                delegate.close();
+            } finally {
+                store.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.jfr.InvalidationEvent;
+
+import java.util.List;
+import java.util.Objects;
+
+public class NearCacheInvalidationHandler implements TrackingInvalidationListener.Handler {
+
+    private final NearCacheStore<?> store;
+    private final NearCacheStats stats;
+
+    public NearCacheInvalidationHandler(NearCacheStore<?> store, NearCacheStats stats) {
+        this.store = Objects.requireNonNull(store, "store");
+        this.stats = Objects.requireNonNull(stats, "stats");
+    }
+
+    @Override
+    public void onInvalidate(List<byte[]> keys) {
+        for (byte[] key : keys) {
+            store.invalidate(CacheKey.wrap(key));
+        }
+        stats.recordInvalidations(keys.size());
+        InvalidationEvent.keys("near-cache", keys);
+    }
+
+    @Override
+    public void onFlush() {
+        store.invalidateAll();
+        stats.recordInvalidations(1);
+        InvalidationEvent.flush("near-cache");
+    }
+}
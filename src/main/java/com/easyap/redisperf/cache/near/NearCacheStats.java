@@ -0,0 +1,94 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.metrics.AllocationMeter;
+import com.easyap.redisperf.metrics.LatencyCollector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class NearCacheStats {
+
+    private static final int HIT_SAMPLE_RATE = 64;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder sampledHits = new LongAdder();
+    private final LongAdder sampledHitBytes = new LongAdder();
+    private final LatencyCollector hitLatency = new LatencyCollector(4_096);
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public void recordInvalidations(int count) {
+        invalidations.add(count);
+    }
+
+    /**
+     * Roughly one hit in {@value #HIT_SAMPLE_RATE} is timed, which keeps {@code nanoTime} off most of the hit path.
+     */
+    public boolean sampleHitLatency() {
+        return ThreadLocalRandom.current().nextInt(HIT_SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * Allocation counter of the calling thread, read at the start of a sampled hit; -1 when unsupported.
+     */
+    public long allocationMark() {
+        return AllocationMeter.currentThreadAllocatedBytes();
+    }
+
+    public void recordHit(long nanos, long allocationMark) {
+        sampledHits.increment();
+        hitLatency.record(nanos);
+        if (allocationMark >= 0) {
+            sampledHitBytes.add(Math.max(0L, AllocationMeter.currentThreadAllocatedBytes() - allocationMark));
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    public Map<String, Long> toCounters(long size) {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("nearCache.hits", hits());
+        counters.put("nearCache.misses", misses());
+        counters.put("nearCache.evictions", evictions());
+        counters.put("nearCache.invalidations", invalidations());
+        counters.put("nearCache.size", size);
+        if (sampledHits.sum() > 0) {
+            LatencyCollector.LatencySnapshot snapshot = hitLatency.snapshot();
+            counters.put("nearCache.hitP50Nanos", snapshot.getP50Nanos());
+            counters.put("nearCache.hitP99Nanos", snapshot.getP99Nanos());
+            if (AllocationMeter.isSupported()) {
+                counters.put("nearCache.hitAllocBytes", sampledHitBytes.sum() / sampledHits.sum());
+            }
+        }
+        return counters;
+    }
+}
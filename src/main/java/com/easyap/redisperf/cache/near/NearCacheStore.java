@@ -0,0 +1,30 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.cache.CacheKey;
+
+/**
+ * Local store behind a near-cache adapter. Fills go through {@link #putIfUnchanged} with a stamp taken before the
+ * remote read, so a value invalidated while it was being fetched is never cached.
+ */
+public interface NearCacheStore<V> extends AutoCloseable {
+
+    V get(CacheKey key);
+
+    long stamp(CacheKey key);
+
+    void putIfUnchanged(CacheKey key, V value, long stamp);
+
+    boolean invalidate(CacheKey key);
+
+    void invalidateAll();
+
+    long size();
+
+    default long offHeapBytes() {
+        return 0L;
+    }
+
+    @Override
+    default void close() {
+    }
+}
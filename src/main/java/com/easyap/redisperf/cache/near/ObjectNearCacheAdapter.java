@@ -0,0 +1,113 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.cache.jedis.JedisCacheAdapter;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Jedis adapter fronted by a local store of decoded objects, so a hit costs a map lookup instead of a
+ * deserialization. Invalidation works as in {@link BytesNearCacheAdapter}; a fill is admitted only if the key's
+ * store version (stamp) did not move while the value was being fetched.
+ *
+ * <p>With the identity copier callers share the cached instance and must treat it as immutable. Any other
+ * copier runs on every hit and hands out a private copy instead.</p>
+ */
+public class ObjectNearCacheAdapter implements CacheAdapter {
+
+    private final JedisCacheAdapter delegate;
+    private final NearCacheStore<Object> store;
+    private final NearCacheStats stats;
+    private final TrackingInvalidationListener listener;
+    private final UnaryOperator<Object> copier;
+    private final boolean copyOnRead;
+
+    public ObjectNearCacheAdapter(JedisCacheAdapter delegate,
+                                  NearCacheStore<Object> store,
+                                  NearCacheStats stats,
+                                  TrackingInvalidationListener listener,
+                                  UnaryOperator<Object> copier) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.store = Objects.requireNonNull(store, "store");
+        this.stats = Objects.requireNonNull(stats, "stats");
+        this.listener = Objects.requireNonNull(listener, "listener");
+        this.copier = copier != null ? copier : UnaryOperator.identity();
+        this.copyOnRead = copier != null;
+    }
+
+    /**
+     * Defensive copy that works for any serializable payload; a model-specific copy is usually much cheaper.
+     */
+    public static Object serializationCopy(Object value) {
+        return JavaSerializationUtils.deserialize(JavaSerializationUtils.serialize(value));
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        boolean sampled = stats.sampleHitLatency();
+        long allocationMark = sampled ? stats.allocationMark() : -1L;
+        long start = sampled ? System.nanoTime() : 0L;
+        Object cached = store.get(key);
+        if (cached != null) {
+            Object value = copier.apply(cached);
+            if (sampled) {
+                stats.recordHit(System.nanoTime() - start, allocationMark);
+            }
+            return value;
+        }
+        long stamp = store.stamp(key);
+        Object value = JavaSerializationUtils.deserialize(delegate.getRaw(key));
+        if (value == null) {
+            return null;
+        }
+        store.putIfUnchanged(key, value, stamp);
+        return copyOnRead ? copier.apply(value) : value;
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        delegate.setRaw(key, JavaSerializationUtils.serialize(value), ttlSeconds);
+        store.invalidate(key);
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = stats.toCounters(store.size());
+        counters.put("nearCache.trackingMessages", listener.messagesReceived());
+        counters.putAll(delegate.counters());
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        return delegate.gauges();
+    }
+
+    @Override
+    public void close() {
+        try {
+            listener.close();
+        } finally {
+            try {
+                delegate.close();
+            } finally {
+                store.close();
+            }
+        }
+    }
+}
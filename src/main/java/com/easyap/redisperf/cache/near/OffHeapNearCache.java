@@ -0,0 +1,415 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.cache.CacheKey;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Near-cache store that keeps key and value bytes in direct-memory slabs, so entries add almost nothing to the
+ * Java heap. Memory is carved into 1 MB pages, each dedicated to one power-of-two slot size (64 B to 1 MB);
+ * the per-segment index is an open-addressed table of longs (hash + slot reference) with backward-shift
+ * deletion. Eviction is CLOCK over the index.
+ *
+ * <p>Pages never move between slot sizes once assigned, so a workload that changes payload sizes mid-run may
+ * evict earlier than the byte budget suggests. Values larger than one page are not cached.</p>
+ */
+public final class OffHeapNearCache implements NearCacheStore<byte[]> {
+
+    private static final int PAGE_BYTES = 1 << 20;
+    private static final int MIN_SLOT_SHIFT = 6;
+    private static final int MAX_SLOT_SHIFT = 20;
+    private static final int SLOT_HEADER_BYTES = 8;
+    private static final int MAX_PAGES_PER_SEGMENT = (1 << 24) / (PAGE_BYTES >> MIN_SLOT_SHIFT);
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final AtomicLongArray epochs;
+    private final NearCacheStats stats;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public OffHeapNearCache(int maximumEntries, long maximumBytes, int segmentCount, NearCacheStats stats) {
+        if (maximumEntries <= 0) {
+            throw new IllegalArgumentException("maximumEntries must be > 0");
+        }
+        if (maximumBytes < PAGE_BYTES) {
+            throw new IllegalArgumentException("maximumBytes must be at least " + PAGE_BYTES);
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(segmentCount, maximumEntries)));
+        this.segments = new Segment[count];
+        int entriesPerSegment = (maximumEntries + count - 1) / count;
+        // slot references keep 24 bits for the slot number, which bounds the pages one segment can address
+        int pagesPerSegment = (int) Math.min(MAX_PAGES_PER_SEGMENT, Math.max(1L, maximumBytes / PAGE_BYTES / count));
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(entriesPerSegment, pagesPerSegment);
+        }
+        this.segmentMask = count - 1;
+        this.epochs = new AtomicLongArray(count);
+        this.stats = stats;
+    }
+
+    @Override
+    public byte[] get(CacheKey key) {
+        int hash = spread(key.hashCode());
+        Segment segment = segments[hash & segmentMask];
+        long stamp = segment.lock.readLock();
+        try {
+            int index = segment.find(hash, key.bytes());
+            if (index < 0) {
+                stats.recordMiss();
+                return null;
+            }
+            segment.referenced[index] = 1;
+            stats.recordHit();
+            return segment.readValue(slotRef(segment.table[index]));
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long stamp(CacheKey key) {
+        return epochs.get(spread(key.hashCode()) & segmentMask);
+    }
+
+    @Override
+    public void putIfUnchanged(CacheKey key, byte[] value, long stamp) {
+        int hash = spread(key.hashCode());
+        int segmentIndex = hash & segmentMask;
+        Segment segment = segments[segmentIndex];
+        byte[] keyBytes = key.bytes();
+        int required = SLOT_HEADER_BYTES + keyBytes.length + value.length;
+        int sizeClass = sizeClassFor(required);
+        if (sizeClass < 0) {
+            rejected.incrementAndGet();
+            return;
+        }
+        long lock = segment.lock.writeLock();
+        try {
+            if (epochs.get(segmentIndex) != stamp) {
+                return;
+            }
+            int existing = segment.find(hash, keyBytes);
+            if (existing >= 0) {
+                segment.removeAt(existing);
+            }
+            while (segment.entries >= segment.maximumEntries) {
+                if (!segment.evictOne(-1)) {
+                    rejected.incrementAndGet();
+                    return;
+                }
+            }
+            int slot = segment.allocate(sizeClass);
+            while (slot < 0) {
+                if (!segment.evictOne(sizeClass)) {
+                    rejected.incrementAndGet();
+                    return;
+                }
+                slot = segment.allocate(sizeClass);
+            }
+            int ref = (sizeClass << 24) | slot;
+            segment.writeSlot(ref, keyBytes, value);
+            segment.insert(hash, ref);
+        } finally {
+            segment.lock.unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public boolean invalidate(CacheKey key) {
+        int hash = spread(key.hashCode());
+        int segmentIndex = hash & segmentMask;
+        Segment segment = segments[segmentIndex];
+        long lock = segment.lock.writeLock();
+        try {
+            epochs.incrementAndGet(segmentIndex);
+            int index = segment.find(hash, key.bytes());
+            if (index < 0) {
+                return false;
+            }
+            segment.removeAt(index);
+            return true;
+        } finally {
+            segment.lock.unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[i];
+            long lock = segment.lock.writeLock();
+            try {
+                epochs.incrementAndGet(i);
+                segment.clear();
+            } finally {
+                segment.lock.unlockWrite(lock);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.entries;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return allocatedBytes.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+        for (Segment segment : segments) {
+            long lock = segment.lock.writeLock();
+            try {
+                segment.releasePages();
+            } finally {
+                segment.lock.unlockWrite(lock);
+            }
+        }
+        allocatedBytes.set(0);
+    }
+
+    private static int sizeClassFor(int required) {
+        int shift = Math.max(MIN_SLOT_SHIFT, 32 - Integer.numberOfLeadingZeros(required - 1));
+        return shift > MAX_SLOT_SHIFT ? -1 : shift - MIN_SLOT_SHIFT;
+    }
+
+    private static int slotRef(long entry) {
+        return (int) entry - 1;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final long[] table;
+        private final byte[] referenced;
+        private final int mask;
+        private final int maximumEntries;
+        private final int maximumPages;
+        private final SizeClass[] classes = new SizeClass[MAX_SLOT_SHIFT - MIN_SLOT_SHIFT + 1];
+        private int entries;
+        private int pages;
+        private int clockHand;
+
+        Segment(int maximumEntries, int maximumPages) {
+            int capacity = Integer.highestOneBit(Math.max(2, maximumEntries * 2 - 1)) << 1;
+            this.table = new long[capacity];
+            this.referenced = new byte[capacity];
+            this.mask = capacity - 1;
+            this.maximumEntries = maximumEntries;
+            this.maximumPages = maximumPages;
+            for (int i = 0; i < classes.length; i++) {
+                classes[i] = new SizeClass(1 << (i + MIN_SLOT_SHIFT));
+            }
+        }
+
+        int find(int hash, byte[] key) {
+            for (int index = hash & mask; ; index = (index + 1) & mask) {
+                long entry = table[index];
+                if (entry == 0) {
+                    return -1;
+                }
+                if ((int) (entry >>> 32) == hash && keyMatches(slotRef(entry), key)) {
+                    return index;
+                }
+            }
+        }
+
+        void insert(int hash, int ref) {
+            int index = hash & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = ((long) hash << 32) | ((ref + 1) & 0xffffffffL);
+            referenced[index] = 0;
+            entries++;
+        }
+
+        void removeAt(int index) {
+            release(slotRef(table[index]));
+            int hole = index;
+            table[hole] = 0;
+            referenced[hole] = 0;
+            entries--;
+            for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+                int home = ((int) (table[next] >>> 32)) & mask;
+                boolean stays = hole <= next
+                        ? hole < home && home <= next
+                        : hole < home || home <= next;
+                if (!stays) {
+                    table[hole] = table[next];
+                    referenced[hole] = referenced[next];
+                    table[next] = 0;
+                    referenced[next] = 0;
+                    hole = next;
+                }
+            }
+        }
+
+        boolean evictOne(int sizeClass) {
+            for (int scanned = 0; scanned < table.length * 2; scanned++) {
+                int index = clockHand;
+                clockHand = (clockHand + 1) & mask;
+                long entry = table[index];
+                if (entry == 0) {
+                    continue;
+                }
+                if (sizeClass >= 0 && (slotRef(entry) >>> 24) != sizeClass) {
+                    continue;
+                }
+                if (referenced[index] != 0) {
+                    referenced[index] = 0;
+                    continue;
+                }
+                removeAt(index);
+                stats.recordEviction();
+                return true;
+            }
+            return false;
+        }
+
+        int allocate(int sizeClass) {
+            SizeClass slots = classes[sizeClass];
+            if (slots.freeCount == 0) {
+                if (pages >= maximumPages) {
+                    return -1;
+                }
+                ByteBuffer page;
+                try {
+                    page = ByteBuffer.allocateDirect(PAGE_BYTES);
+                } catch (OutOfMemoryError e) {
+                    // -XX:MaxDirectMemorySize is below the configured budget; behave as if the budget were reached
+                    return -1;
+                }
+                slots.addPage(page);
+                pages++;
+                allocatedBytes.addAndGet(PAGE_BYTES);
+            }
+            return slots.free[--slots.freeCount];
+        }
+
+        void release(int ref) {
+            SizeClass slots = classes[ref >>> 24];
+            slots.free[slots.freeCount++] = ref & 0xffffff;
+        }
+
+        void writeSlot(int ref, byte[] key, byte[] value) {
+            SizeClass slots = classes[ref >>> 24];
+            int slot = ref & 0xffffff;
+            ByteBuffer page = slots.pages.get(slot / slots.slotsPerPage).duplicate();
+            page.position((slot % slots.slotsPerPage) * slots.slotSize);
+            page.putInt(key.length);
+            page.putInt(value.length);
+            page.put(key);
+            page.put(value);
+        }
+
+        byte[] readValue(int ref) {
+            SizeClass slots = classes[ref >>> 24];
+            int slot = ref & 0xffffff;
+            ByteBuffer page = slots.pages.get(slot / slots.slotsPerPage).duplicate();
+            int offset = (slot % slots.slotsPerPage) * slots.slotSize;
+            int keyLength = page.getInt(offset);
+            byte[] value = new byte[page.getInt(offset + 4)];
+            page.position(offset + SLOT_HEADER_BYTES + keyLength);
+            page.get(value);
+            return value;
+        }
+
+        boolean keyMatches(int ref, byte[] key) {
+            SizeClass slots = classes[ref >>> 24];
+            int slot = ref & 0xffffff;
+            ByteBuffer page = slots.pages.get(slot / slots.slotsPerPage);
+            int offset = (slot % slots.slotsPerPage) * slots.slotSize;
+            if (page.getInt(offset) != key.length) {
+                return false;
+            }
+            int base = offset + SLOT_HEADER_BYTES;
+            for (int i = 0; i < key.length; i++) {
+                if (page.get(base + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(table, 0L);
+            Arrays.fill(referenced, (byte) 0);
+            entries = 0;
+            clockHand = 0;
+            for (SizeClass slots : classes) {
+                slots.resetFreeList();
+            }
+        }
+
+        void releasePages() {
+            for (SizeClass slots : classes) {
+                slots.pages.clear();
+                slots.freeCount = 0;
+            }
+            pages = 0;
+        }
+    }
+
+    private static final class SizeClass {
+        private final int slotSize;
+        private final int slotsPerPage;
+        private final List<ByteBuffer> pages = new ArrayList<>();
+        private int[] free = new int[0];
+        private int freeCount;
+
+        SizeClass(int slotSize) {
+            this.slotSize = slotSize;
+            this.slotsPerPage = PAGE_BYTES / slotSize;
+        }
+
+        void addPage(ByteBuffer page) {
+            int first = pages.size() * slotsPerPage;
+            pages.add(page);
+            int total = pages.size() * slotsPerPage;
+            if (free.length < total) {
+                free = Arrays.copyOf(free, total);
+            }
+            for (int slot = first + slotsPerPage - 1; slot >= first; slot--) {
+                free[freeCount++] = slot;
+            }
+        }
+
+        void resetFreeList() {
+            freeCount = 0;
+            for (int slot = pages.size() * slotsPerPage - 1; slot >= 0; slot--) {
+                free[freeCount++] = slot;
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.cache.CacheKey;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded near cache with a W-TinyLFU policy (1% admission window in front of a segmented LRU main space,
+ * admission decided by a shared {@link FrequencySketch}).
+ *
+ * <p>The policy is split into independent stripes by key hash. Reads only touch the concurrent map and the
+ * sketch; the LRU reordering they trigger is skipped when the stripe lock is busy, so a hit never blocks.
+ * Writes, invalidations and evictions of a stripe are serialized by its lock.</p>
+ */
+public final class TinyLfuCache<V> implements NearCacheStore<V> {
+
+    private static final int WINDOW = 1;
+    private static final int PROBATION = 2;
+    private static final int PROTECTED = 3;
+
+    private final ConcurrentHashMap<CacheKey, Node<V>> data;
+    private final Stripe<V>[] stripes;
+    private final int stripeMask;
+    private final FrequencySketch sketch;
+    private final AtomicLongArray epochs;
+    private final NearCacheStats stats;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TinyLfuCache(int maximumSize, int stripeCount, NearCacheStats stats) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be > 0");
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, maximumSize)));
+        this.stripes = new Stripe[count];
+        int perStripe = (maximumSize + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(this, perStripe);
+        }
+        this.stripeMask = count - 1;
+        this.data = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 20), 0.75f, count);
+        this.sketch = new FrequencySketch(maximumSize);
+        this.epochs = new AtomicLongArray(count);
+        this.stats = stats;
+    }
+
+    @Override
+    public V get(CacheKey key) {
+        int hash = key.hashCode();
+        sketch.increment(hash);
+        Node<V> node = data.get(key);
+        if (node == null) {
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        Stripe<V> stripe = stripeFor(hash);
+        if (stripe.lock.tryLock()) {
+            try {
+                stripe.onAccess(node);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public long stamp(CacheKey key) {
+        return epochs.get(key.hashCode() & stripeMask);
+    }
+
+    @Override
+    public void putIfUnchanged(CacheKey key, V value, long stamp) {
+        int hash = key.hashCode();
+        int index = hash & stripeMask;
+        Stripe<V> stripe = stripes[index];
+        stripe.lock.lock();
+        try {
+            if (epochs.get(index) != stamp) {
+                return;
+            }
+            Node<V> node = new Node<>(key, value, hash);
+            Node<V> prior = data.put(key, node);
+            if (prior != null) {
+                stripe.unlink(prior);
+            }
+            stripe.insert(node);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean invalidate(CacheKey key) {
+        int index = key.hashCode() & stripeMask;
+        Stripe<V> stripe = stripes[index];
+        stripe.lock.lock();
+        try {
+            epochs.incrementAndGet(index);
+            Node<V> node = data.remove(key);
+            if (node == null) {
+                return false;
+            }
+            stripe.unlink(node);
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe<V> stripe = stripes[i];
+            stripe.lock.lock();
+            try {
+                epochs.incrementAndGet(i);
+                for (Node<V> node = stripe.window.head; node != null; node = stripe.window.head) {
+                    stripe.unlink(node);
+                    data.remove(node.key, node);
+                }
+                for (Node<V> node = stripe.probation.head; node != null; node = stripe.probation.head) {
+                    stripe.unlink(node);
+                    data.remove(node.key, node);
+                }
+                for (Node<V> node = stripe.protectedSegment.head; node != null; node = stripe.protectedSegment.head) {
+                    stripe.unlink(node);
+                    data.remove(node.key, node);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return data.size();
+    }
+
+    private Stripe<V> stripeFor(int hash) {
+        return stripes[hash & stripeMask];
+    }
+
+    private static final class Stripe<SV> {
+        private final TinyLfuCache<SV> owner;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<SV> window = new Deque<>();
+        private final Deque<SV> probation = new Deque<>();
+        private final Deque<SV> protectedSegment = new Deque<>();
+        private final int windowMaximum;
+        private final int mainMaximum;
+        private final int protectedMaximum;
+
+        Stripe(TinyLfuCache<SV> owner, int maximum) {
+            this.owner = owner;
+            this.windowMaximum = Math.max(1, maximum / 100);
+            this.mainMaximum = Math.max(1, maximum - windowMaximum);
+            this.protectedMaximum = Math.max(1, (int) (mainMaximum * 0.8));
+        }
+
+        void onAccess(Node<SV> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.moveToTail(node);
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    node.queue = PROTECTED;
+                    protectedSegment.addLast(node);
+                    demoteProtectedOverflow();
+                    break;
+                case PROTECTED:
+                    protectedSegment.moveToTail(node);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        void insert(Node<SV> node) {
+            node.queue = WINDOW;
+            window.addLast(node);
+            while (window.size > windowMaximum) {
+                Node<SV> candidate = window.head;
+                window.remove(candidate);
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+                if (probation.size + protectedSegment.size > mainMaximum) {
+                    evictFromMain(candidate);
+                }
+            }
+        }
+
+        void unlink(Node<SV> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.remove(node);
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    break;
+                case PROTECTED:
+                    protectedSegment.remove(node);
+                    break;
+                default:
+                    break;
+            }
+            node.queue = 0;
+        }
+
+        private void evictFromMain(Node<SV> candidate) {
+            Node<SV> victim = probation.head != candidate ? probation.head : protectedSegment.head;
+            if (victim == null
+                    || victim == candidate
+                    || owner.sketch.frequency(candidate.hash) <= owner.sketch.frequency(victim.hash)) {
+                victim = candidate;
+            }
+            unlink(victim);
+            owner.data.remove(victim.key, victim);
+            owner.stats.recordEviction();
+        }
+
+        private void demoteProtectedOverflow() {
+            while (protectedSegment.size > protectedMaximum) {
+                Node<SV> demoted = protectedSegment.head;
+                protectedSegment.remove(demoted);
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+        }
+    }
+
+    private static final class Node<V> {
+        private final CacheKey key;
+        private final V value;
+        private final int hash;
+        private int queue;
+        private Node<V> prev;
+        private Node<V> next;
+
+        Node(CacheKey key, V value, int hash) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+        }
+    }
+
+    private static final class Deque<V> {
+        private Node<V> head;
+        private Node<V> tail;
+        private int size;
+
+        void addLast(Node<V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void remove(Node<V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToTail(Node<V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
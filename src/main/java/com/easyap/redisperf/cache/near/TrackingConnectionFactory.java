@@ -0,0 +1,34 @@
+package com.easyap.redisperf.cache.near;
+
+import org.apache.commons.pool2.PooledObject;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionFactory;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.Protocol;
+
+/**
+ * Pooled connection factory that turns on server-assisted tracking for every new data connection and redirects
+ * its invalidations to the listener connection.
+ */
+public class TrackingConnectionFactory extends ConnectionFactory {
+
+    private final long redirectClientId;
+
+    public TrackingConnectionFactory(JedisSocketFactory socketFactory, JedisClientConfig clientConfig, long redirectClientId) {
+        super(socketFactory, clientConfig);
+        this.redirectClientId = redirectClientId;
+    }
+
+    @Override
+    public PooledObject<Connection> makeObject() throws Exception {
+        PooledObject<Connection> pooled = super.makeObject();
+        pooled.getObject().executeCommand(new CommandArguments(Protocol.Command.CLIENT)
+                .add("TRACKING")
+                .add("ON")
+                .add("REDIRECT")
+                .add(redirectClientId));
+        return pooled;
+    }
+}
@@ -0,0 +1,296 @@
+package com.easyap.redisperf.cache.near;
+
+import com.easyap.redisperf.config.RedisEndpoint;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedicated RESP3 connection that receives server-assisted invalidation pushes and forwards them to a
+ * {@link Handler}. In {@link TrackingMode#DEFAULT} the data connections redirect their tracking here (see
+ * {@link TrackingConnectionFactory}); in {@link TrackingMode#BCAST} this connection registers the prefixes itself.
+ */
+public class TrackingInvalidationListener implements AutoCloseable {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3_000;
+    private static final byte[] INVALIDATE = "invalidate".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MESSAGE = "message".getBytes(StandardCharsets.US_ASCII);
+
+    public interface Handler {
+        void onInvalidate(List<byte[]> keys);
+
+        void onFlush();
+    }
+
+    private final RedisEndpoint endpoint;
+    private final TrackingMode mode;
+    private final List<String> prefixes;
+    private final Handler handler;
+    private final AtomicLong messages = new AtomicLong();
+
+    private Socket socket;
+    private InputStream input;
+    private OutputStream output;
+    private Thread readerThread;
+    private volatile boolean running;
+
+    public TrackingInvalidationListener(RedisEndpoint endpoint, TrackingMode mode, List<String> prefixes, Handler handler) {
+        this.endpoint = Objects.requireNonNull(endpoint, "endpoint");
+        this.mode = Objects.requireNonNull(mode, "mode");
+        this.prefixes = new ArrayList<>(Objects.requireNonNull(prefixes, "prefixes"));
+        this.handler = Objects.requireNonNull(handler, "handler");
+        if (mode == TrackingMode.BCAST && this.prefixes.isEmpty()) {
+            throw new IllegalArgumentException("BCAST tracking requires at least one prefix");
+        }
+    }
+
+    /**
+     * Opens the connection and returns its client id, which data connections use as their REDIRECT target.
+     */
+    public long start() {
+        try {
+            socket = endpoint.ssl() ? SSLSocketFactory.getDefault().createSocket() : new Socket();
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(endpoint.host(), endpoint.port()), CONNECT_TIMEOUT_MILLIS);
+            input = new BufferedInputStream(socket.getInputStream(), 16 * 1024);
+            output = new BufferedOutputStream(socket.getOutputStream());
+
+            if (endpoint.password() != null) {
+                call("HELLO", "3", "AUTH", "default", endpoint.password());
+            } else {
+                call("HELLO", "3");
+            }
+            long clientId = (Long) call("CLIENT", "ID");
+            if (mode == TrackingMode.BCAST) {
+                List<String> args = new ArrayList<>(Arrays.asList("CLIENT", "TRACKING", "ON", "BCAST"));
+                for (String prefix : prefixes) {
+                    args.add("PREFIX");
+                    args.add(prefix);
+                }
+                call(args.toArray(new String[0]));
+            }
+
+            running = true;
+            readerThread = new Thread(this::readLoop, "near-cache-tracking-" + clientId);
+            readerThread.setDaemon(true);
+            readerThread.start();
+            return clientId;
+        } catch (IOException e) {
+            close();
+            throw new IllegalStateException("Failed to open tracking connection to " + endpoint.host() + ":" + endpoint.port(), e);
+        }
+    }
+
+    public long messagesReceived() {
+        return messages.get();
+    }
+
+    private Object call(String... args) throws IOException {
+        writeCommand(args);
+        Object reply = readValue();
+        while (reply instanceof Push) {
+            dispatch((Push) reply);
+            reply = readValue();
+        }
+        if (reply instanceof RespError) {
+            throw new IOException(((RespError) reply).message + " (command " + args[0] + ")");
+        }
+        return reply;
+    }
+
+    private void readLoop() {
+        try {
+            while (running) {
+                Object value = readValue();
+                if (value instanceof Push) {
+                    dispatch((Push) value);
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Tracking connection lost: " + e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Tracking listener failed: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(Push push) {
+        List<Object> elements = push.elements;
+        if (elements.isEmpty() || !(elements.get(0) instanceof byte[])) {
+            return;
+        }
+        byte[] kind = (byte[]) elements.get(0);
+        Object keys;
+        if (Arrays.equals(kind, INVALIDATE) && elements.size() >= 2) {
+            keys = elements.get(1);
+        } else if (Arrays.equals(kind, MESSAGE) && elements.size() >= 3) {
+            keys = elements.get(2);
+        } else {
+            return;
+        }
+        messages.incrementAndGet();
+        if (keys == null) {
+            handler.onFlush();
+            return;
+        }
+        List<byte[]> invalidated = new ArrayList<>();
+        if (keys instanceof List) {
+            for (Object key : (List<Object>) keys) {
+                if (key instanceof byte[]) {
+                    invalidated.add((byte[]) key);
+                }
+            }
+        } else if (keys instanceof byte[]) {
+            invalidated.add((byte[]) keys);
+        }
+        handler.onInvalidate(invalidated);
+    }
+
+    private void writeCommand(String... args) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        builder.append('*').append(args.length).append("\r\n");
+        for (String arg : args) {
+            byte[] encoded = arg.getBytes(StandardCharsets.UTF_8);
+            builder.append('$').append(encoded.length).append("\r\n").append(arg).append("\r\n");
+        }
+        output.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+        output.flush();
+    }
+
+    private Object readValue() throws IOException {
+        int type = input.read();
+        if (type == -1) {
+            throw new EOFException("Connection closed");
+        }
+        switch (type) {
+            case '+':
+            case ',':
+            case '(':
+                return readLine();
+            case '-':
+            case '!':
+                return new RespError(type == '!' ? new String(readBulk(), StandardCharsets.UTF_8) : readLine());
+            case ':':
+                return Long.parseLong(readLine());
+            case '#':
+                return "t".equals(readLine());
+            case '_':
+                readLine();
+                return null;
+            case '$':
+            case '=':
+                return readBulk();
+            case '*':
+            case '~':
+                return readAggregate(Integer.parseInt(readLine()));
+            case '%':
+                int pairs = Integer.parseInt(readLine());
+                return readAggregate(pairs < 0 ? pairs : pairs * 2);
+            case '>':
+                List<Object> elements = readAggregate(Integer.parseInt(readLine()));
+                return new Push(elements != null ? elements : Collections.emptyList());
+            case '|':
+                int attributes = Integer.parseInt(readLine());
+                readAggregate(attributes * 2);
+                return readValue();
+            default:
+                throw new IOException("Unexpected RESP type byte: " + (char) type);
+        }
+    }
+
+    private List<Object> readAggregate(int count) throws IOException {
+        if (count < 0) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readValue());
+        }
+        return values;
+    }
+
+    private byte[] readBulk() throws IOException {
+        int length = Integer.parseInt(readLine());
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = input.read(data, read, length - read);
+            if (n == -1) {
+                throw new EOFException("Connection closed");
+            }
+            read += n;
+        }
+        readLine();
+        return data;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (;;) {
+            int b = input.read();
+            if (b == -1) {
+                throw new EOFException("Connection closed");
+            }
+            if (b == '\r') {
+                input.read();
+                return builder.toString();
+            }
+            builder.append((char) b);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+        }
+        if (readerThread != null) {
+            try {
+                readerThread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Push {
+        private final List<Object> elements;
+
+        Push(List<Object> elements) {
+            this.elements = elements;
+        }
+    }
+
+    private static final class RespError {
+        private final String message;
+
+        RespError(String message) {
+            this.message = message;
+        }
+    }
+}
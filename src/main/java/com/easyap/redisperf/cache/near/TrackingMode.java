@@ -0,0 +1,13 @@
+package com.easyap.redisperf.cache.near;
+
+public enum TrackingMode {
+    /**
+     * The server remembers every key read by the data connections, which redirect invalidations to the
+     * listener connection.
+     */
+    DEFAULT,
+    /**
+     * The listener subscribes to key prefixes and is told about every write under them, read or not.
+     */
+    BCAST
+}
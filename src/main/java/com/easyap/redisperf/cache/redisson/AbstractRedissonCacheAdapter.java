@@ -5,13 +5,18 @@ import org.redisson.api.RBucket;
 import org.redisson.api.RedissonClient;
 import org.redisson.codec.SerializationCodec;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 abstract class AbstractRedissonCacheAdapter implements CacheAdapter {
 
     protected static final SerializationCodec CODEC = new SerializationCodec();
 
     private final RedissonClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
 
     protected AbstractRedissonCacheAdapter(RedissonClient client) {
         this.client = client;
@@ -25,7 +30,12 @@ abstract class AbstractRedissonCacheAdapter implements CacheAdapter {
 
     @Override
     public Object get(String key) {
-        return bucketFor(key).get();
+        inFlight.incrementAndGet();
+        try {
+            return bucketFor(key).get();
+        } finally {
+            inFlight.decrementAndGet();
+        }
     }
 
     @Override
@@ -38,7 +48,20 @@ abstract class AbstractRedissonCacheAdapter implements CacheAdapter {
         if (ttlSeconds <= 0) {
             throw new IllegalArgumentException("ttlSeconds must be greater than 0");
         }
-        bucket.set(value, ttlSeconds, TimeUnit.SECONDS);
+        inFlight.incrementAndGet();
+        try {
+            bucket.set(value, ttlSeconds, TimeUnit.SECONDS);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Calls currently waiting on Redisson: commands queued for a connection or awaiting their reply.
+     */
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        return Collections.singletonMap("redisson.inFlight", inFlight::get);
     }
 
     @Override
@@ -0,0 +1,74 @@
+package com.easyap.redisperf.cache.redisson;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.LocalCachedMapOptions;
+import org.redisson.api.options.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.options.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.options.LocalCachedMapOptions.SyncStrategy;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Redisson's advanced local cache ({@code RLocalCachedMap}): benchmark keys become fields of one hash, and local
+ * copies are kept in sync through the map's own pub/sub topic rather than RESP3 tracking.
+ *
+ * <p>Hash fields cannot carry their own TTL, so {@code ttlSeconds} is only validated; the scoped cleanup removes
+ * the whole map after each test.</p>
+ */
+public class RedissonLocalCachedMapAdapter implements CacheAdapter {
+
+    private final RedissonClient client;
+    private final RLocalCachedMap<String, Object> map;
+
+    public RedissonLocalCachedMapAdapter(RedissonClient client,
+                                         String mapName,
+                                         int cacheSize,
+                                         SyncStrategy syncStrategy,
+                                         EvictionPolicy evictionPolicy,
+                                         ReconnectionStrategy reconnectionStrategy) {
+        this.client = client;
+        LocalCachedMapOptions<String, Object> options = LocalCachedMapOptions.<String, Object>name(mapName)
+                .codec(new CompositeCodec(StringCodec.INSTANCE, AbstractRedissonCacheAdapter.CODEC))
+                .cacheSize(cacheSize)
+                .syncStrategy(syncStrategy)
+                .evictionPolicy(evictionPolicy)
+                .reconnectionStrategy(reconnectionStrategy);
+        this.map = client.getLocalCachedMap(options);
+    }
+
+    @Override
+    public Object get(String key) {
+        return map.get(key);
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        if (value == null) {
+            map.fastRemove(key);
+            return;
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("ttlSeconds must be greater than 0");
+        }
+        map.fastPut(key, value);
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        return Collections.singletonMap("localCachedMap.size", Long.valueOf(map.getCachedMap().size()));
+    }
+
+    @Override
+    public void close() {
+        try {
+            map.destroy();
+        } finally {
+            client.shutdown();
+        }
+    }
+}
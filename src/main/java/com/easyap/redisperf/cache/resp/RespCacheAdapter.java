@@ -0,0 +1,114 @@
+package com.easyap.redisperf.cache.resp;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.config.ClientTuning;
+import com.easyap.redisperf.config.RedisEndpoint;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-overhead floor: every calling thread gets its own {@link RespConnection}, so there is no pool, no
+ * command queue and no codec layer between the benchmark and the wire. Payloads use the same Java serialization
+ * as the library adapters. A connection that fails mid-command is discarded and the next call reconnects.
+ */
+public class RespCacheAdapter implements CacheAdapter {
+
+    private final RedisEndpoint endpoint;
+    private final ClientTuning tuning;
+    private final String clientName;
+    private final ThreadLocal<RespConnection> connection = new ThreadLocal<>();
+    private final Queue<RespConnection> opened = new ConcurrentLinkedQueue<>();
+    private final AtomicLong connects = new AtomicLong();
+    private volatile boolean closed;
+
+    public RespCacheAdapter(RedisEndpoint endpoint, ClientTuning tuning, String clientName) {
+        this.endpoint = Objects.requireNonNull(endpoint, "endpoint");
+        this.tuning = Objects.requireNonNull(tuning, "tuning");
+        this.clientName = Objects.requireNonNull(clientName, "clientName");
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        RespConnection current = connection();
+        try {
+            return current.get(key.bytes());
+        } catch (IOException e) {
+            discard(current);
+            throw new IllegalStateException("GET failed", e);
+        } catch (RespConnection.DesynchronizedException e) {
+            discard(current);
+            throw e;
+        }
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        RespConnection current = connection();
+        try {
+            if (value == null) {
+                current.del(key.bytes());
+            } else {
+                current.setex(key.bytes(), ttlSeconds, value);
+            }
+        } catch (IOException e) {
+            discard(current);
+            throw new IllegalStateException("SETEX failed", e);
+        } catch (RespConnection.DesynchronizedException e) {
+            discard(current);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("resp.connections", connects.get());
+        return counters;
+    }
+
+    private RespConnection connection() {
+        if (closed) {
+            throw new IllegalStateException("Adapter is closed");
+        }
+        RespConnection current = connection.get();
+        if (current == null) {
+            current = RespConnection.open(endpoint, tuning, clientName);
+            connects.incrementAndGet();
+            opened.add(current);
+            connection.set(current);
+        }
+        return current;
+    }
+
+    private void discard(RespConnection current) {
+        connection.remove();
+        opened.remove(current);
+        current.close();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        RespConnection current;
+        while ((current = opened.poll()) != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.easyap.redisperf.cache.resp;
+
+import com.easyap.redisperf.config.ClientTuning;
+import com.easyap.redisperf.config.RedisEndpoint;
+import com.easyap.redisperf.util.JavaSerializationUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One blocking RESP2 connection with its own direct buffers. Commands are written from pre-encoded headers and
+ * bulk replies are deserialized straight out of the read buffer. Not thread-safe.
+ */
+final class RespConnection implements AutoCloseable {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    // room for the array header, bulk length prefixes and CRLFs of a command
+    private static final int FRAMING_BYTES = 64;
+
+    private static final byte[] SETEX = "*4\r\n$5\r\nSETEX\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GET = "*2\r\n$3\r\nGET\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DEL = "*2\r\n$3\r\nDEL\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final SocketChannel channel;
+    private final ScratchOutput scratch = new ScratchOutput();
+    private ByteBuffer out = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+    // kept in read mode: the bytes between position and limit have not been consumed yet
+    private ByteBuffer in = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+
+    private RespConnection(SocketChannel channel) {
+        this.channel = channel;
+        in.limit(0);
+    }
+
+    static RespConnection open(RedisEndpoint endpoint, ClientTuning tuning, String clientName) {
+        if (endpoint.ssl()) {
+            throw new IllegalStateException("The RESP baseline does not support TLS endpoints");
+        }
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.socket().setTcpNoDelay(tuning.tcpNoDelay());
+            channel.socket().setKeepAlive(tuning.keepAlive());
+            channel.socket().connect(new InetSocketAddress(endpoint.host(), endpoint.port()), CONNECT_TIMEOUT_MILLIS);
+            RespConnection connection = new RespConnection(channel);
+            if (endpoint.password() != null) {
+                connection.call("AUTH", endpoint.password());
+            }
+            if (endpoint.database() != 0) {
+                connection.call("SELECT", String.valueOf(endpoint.database()));
+            }
+            connection.call("CLIENT", "SETNAME", clientName);
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // ignore
+                }
+            }
+            throw e instanceof RuntimeException
+                    ? (RuntimeException) e
+                    : new IllegalStateException("Failed to connect to " + endpoint.host() + ":" + endpoint.port(), e);
+        }
+    }
+
+    void setex(byte[] key, long ttlSeconds, Object value) throws IOException {
+        scratch.reset();
+        try (ObjectOutputStream oos = new ObjectOutputStream(scratch)) {
+            oos.writeObject(value);
+        }
+        prepareOut(SETEX.length + key.length + scratch.size() + FRAMING_BYTES);
+        out.put(SETEX);
+        putBulk(key, 0, key.length);
+        out.put((byte) '$');
+        putDecimal(digits(ttlSeconds));
+        putCrlf();
+        putDecimal(ttlSeconds);
+        putCrlf();
+        putBulk(scratch.buffer(), 0, scratch.size());
+        flush();
+        expect('+');
+    }
+
+    Object get(byte[] key) throws IOException {
+        prepareOut(GET.length + key.length + FRAMING_BYTES);
+        out.put(GET);
+        putBulk(key, 0, key.length);
+        flush();
+        expectType('$');
+        long length = readLong();
+        if (length < 0) {
+            return null;
+        }
+        int size = (int) length;
+        ensureReadable(size + 2);
+        int start = in.position();
+        // consume the reply before decoding, so a payload that fails to decode leaves the connection usable
+        in.position(start + size + 2);
+        ByteBuffer payload = in.duplicate();
+        payload.limit(start + size);
+        payload.position(start);
+        return JavaSerializationUtils.deserialize(new ByteBufferInputStream(payload));
+    }
+
+    void del(byte[] key) throws IOException {
+        prepareOut(DEL.length + key.length + FRAMING_BYTES);
+        out.put(DEL);
+        putBulk(key, 0, key.length);
+        flush();
+        expect(':');
+    }
+
+    private void call(String... arguments) throws IOException {
+        int size = FRAMING_BYTES;
+        byte[][] encoded = new byte[arguments.length][];
+        for (int i = 0; i < arguments.length; i++) {
+            encoded[i] = arguments[i].getBytes(StandardCharsets.UTF_8);
+            size += encoded[i].length + FRAMING_BYTES;
+        }
+        prepareOut(size);
+        out.put((byte) '*');
+        putDecimal(arguments.length);
+        putCrlf();
+        for (byte[] argument : encoded) {
+            putBulk(argument, 0, argument.length);
+        }
+        flush();
+        expect('+');
+    }
+
+    private void prepareOut(int capacity) {
+        if (out.capacity() < capacity) {
+            out = ByteBuffer.allocateDirect(Integer.highestOneBit(capacity - 1) << 1);
+        }
+        out.clear();
+    }
+
+    private void putBulk(byte[] value, int offset, int length) {
+        out.put((byte) '$');
+        putDecimal(length);
+        putCrlf();
+        out.put(value, offset, length);
+        putCrlf();
+    }
+
+    private void putDecimal(long value) {
+        int count = digits(value);
+        int start = out.position();
+        long remaining = value;
+        for (int i = count - 1; i >= 0; i--) {
+            out.put(start + i, (byte) ('0' + remaining % 10));
+            remaining /= 10;
+        }
+        out.position(start + count);
+    }
+
+    private void putCrlf() {
+        out.put((byte) '\r');
+        out.put((byte) '\n');
+    }
+
+    private static int digits(long value) {
+        int count = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            count++;
+        }
+        return count;
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * Reads the reply type and its line, failing on error replies and anything but the expected type.
+     */
+    private void expect(char type) throws IOException {
+        expectType(type);
+        if (type == ':') {
+            readLong();
+        } else {
+            readLine();
+        }
+    }
+
+    private void expectType(char type) throws IOException {
+        byte actual = readByte();
+        if (actual == '-') {
+            throw new IllegalStateException("Redis error: " + readLine());
+        }
+        if (actual != type) {
+            throw new DesynchronizedException("Unexpected RESP reply type '" + (char) actual + "', expected '" + type + "'");
+        }
+    }
+
+    private long readLong() throws IOException {
+        byte b = readByte();
+        boolean negative = b == '-';
+        if (negative) {
+            b = readByte();
+        }
+        long value = 0;
+        while (b != '\r') {
+            value = value * 10 + (b - '0');
+            b = readByte();
+        }
+        readByte();
+        return negative ? -value : value;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (byte b = readByte(); b != '\r'; b = readByte()) {
+            line.append((char) b);
+        }
+        readByte();
+        return line.toString();
+    }
+
+    private byte readByte() throws IOException {
+        if (!in.hasRemaining()) {
+            ensureReadable(1);
+        }
+        return in.get();
+    }
+
+    private void ensureReadable(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        if (in.capacity() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes - 1) << 1);
+            larger.put(in);
+            larger.flip();
+            in = larger;
+        }
+        in.compact();
+        while (in.position() < bytes) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+        }
+        in.flip();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // ignore
+        }
+    }
+
+    /**
+     * The reply did not match the command, so the rest of the stream cannot be trusted; the connection must be
+     * discarded. Error replies ({@code -ERR ...}) are read completely and leave the connection usable.
+     */
+    static final class DesynchronizedException extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        DesynchronizedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Serialization target reused across commands; its array is written to the socket without {@code toByteArray}.
+     */
+    private static final class ScratchOutput extends ByteArrayOutputStream {
+
+        ScratchOutput() {
+            super(INITIAL_BUFFER_BYTES);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
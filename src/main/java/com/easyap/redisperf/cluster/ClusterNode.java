@@ -0,0 +1,72 @@
+package com.easyap.redisperf.cluster;
+
+import com.easyap.redisperf.config.RedisEndpoint;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+
+import java.util.Objects;
+
+/**
+ * A cluster primary as announced by the cluster itself (node id plus announced address).
+ */
+public final class ClusterNode {
+
+    public static final String ADMIN_CLIENT_NAME = "redisperf-admin";
+
+    private final String id;
+    private final String host;
+    private final int port;
+
+    public ClusterNode(String id, String host, int port) {
+        this.id = Objects.requireNonNull(id, "id");
+        this.host = Objects.requireNonNull(host, "host");
+        this.port = port;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public String address() {
+        return host + ":" + port;
+    }
+
+    /**
+     * URI of this node carrying the scheme and password of {@code credentials}.
+     */
+    public String uri(RedisEndpoint credentials) {
+        String userInfo = credentials.password() != null ? ":" + credentials.password() + "@" : "";
+        return (credentials.ssl() ? "rediss" : "redis") + "://" + userInfo + address();
+    }
+
+    /**
+     * Single connection for administrative commands ({@code CLUSTER ...}, {@code MIGRATE}).
+     */
+    public Jedis connect(RedisEndpoint credentials) {
+        return connect(new HostAndPort(host, port), credentials);
+    }
+
+    static Jedis connect(HostAndPort hostAndPort, RedisEndpoint credentials) {
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+                .ssl(credentials.ssl())
+                .clientName(ADMIN_CLIENT_NAME);
+        if (credentials.password() != null) {
+            builder.password(credentials.password());
+        }
+        return new Jedis(hostAndPort, builder.build());
+    }
+
+    @Override
+    public String toString() {
+        return address();
+    }
+}
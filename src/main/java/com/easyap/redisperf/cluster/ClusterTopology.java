@@ -0,0 +1,91 @@
+package com.easyap.redisperf.cluster;
+
+import com.easyap.redisperf.config.RedisEndpoint;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.resps.ClusterShardInfo;
+import redis.clients.jedis.resps.ClusterShardNodeInfo;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the slot owners of a Redis Cluster, read once through {@code CLUSTER SHARDS}. Keys are mapped to
+ * slots with the same CRC16 (and hash-tag rule) the clients use, so per-node accounting matches real routing as
+ * long as no slot moves.
+ */
+public final class ClusterTopology {
+
+    public static final int SLOTS = 16_384;
+
+    private final List<ClusterNode> primaries;
+    private final int[] ownerBySlot;
+
+    private ClusterTopology(List<ClusterNode> primaries, int[] ownerBySlot) {
+        this.primaries = primaries;
+        this.ownerBySlot = ownerBySlot;
+    }
+
+    public static ClusterTopology load(String seedUri) {
+        RedisEndpoint seed = RedisEndpoint.fromUri(seedUri);
+        try (Jedis jedis = ClusterNode.connect(new HostAndPort(seed.host(), seed.port()), seed)) {
+            return load(jedis);
+        }
+    }
+
+    public static ClusterTopology load(Jedis seed) {
+        List<ClusterNode> primaries = new ArrayList<>();
+        int[] ownerBySlot = new int[SLOTS];
+        Arrays.fill(ownerBySlot, -1);
+        for (ClusterShardInfo shard : seed.clusterShards()) {
+            ClusterShardNodeInfo primary = null;
+            for (ClusterShardNodeInfo node : shard.getNodes()) {
+                if ("master".equals(node.getRole())) {
+                    primary = node;
+                    break;
+                }
+            }
+            if (primary == null || shard.getSlots().isEmpty()) {
+                continue;
+            }
+            int index = primaries.size();
+            primaries.add(new ClusterNode(primary.getId(), primary.getIp(), primary.getPort().intValue()));
+            for (List<Long> range : shard.getSlots()) {
+                // each entry holds start/end pairs
+                for (int i = 0; i + 1 < range.size(); i += 2) {
+                    for (long slot = range.get(i); slot <= range.get(i + 1); slot++) {
+                        ownerBySlot[(int) slot] = index;
+                    }
+                }
+            }
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (ownerBySlot[slot] < 0) {
+                throw new IllegalStateException("Slot " + slot + " is not served by any primary");
+            }
+        }
+        return new ClusterTopology(Collections.unmodifiableList(primaries), ownerBySlot);
+    }
+
+    public static int slotOf(byte[] key) {
+        return JedisClusterCRC16.getSlot(key);
+    }
+
+    public List<ClusterNode> primaries() {
+        return primaries;
+    }
+
+    /**
+     * Index in {@link #primaries()} of the node that owns the key's slot.
+     */
+    public int ownerIndex(byte[] key) {
+        return ownerBySlot[slotOf(key)];
+    }
+
+    public ClusterNode ownerOf(int slot) {
+        return primaries.get(ownerBySlot[slot]);
+    }
+}
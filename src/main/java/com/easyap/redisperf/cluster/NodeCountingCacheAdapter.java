@@ -0,0 +1,83 @@
+package com.easyap.redisperf.cluster;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the operations each cluster primary serves, by slot owner, and reports them as
+ * {@code cluster.<host:port>.ops}. Call {@link #resetCounts()} once the warm-up is over so the counts cover only
+ * the measured section.
+ */
+public class NodeCountingCacheAdapter implements CacheAdapter {
+
+    public static final String COUNTER_PREFIX = "cluster.";
+    public static final String COUNTER_SUFFIX = ".ops";
+
+    private final CacheAdapter delegate;
+    private final ClusterTopology topology;
+    private final LongAdder[] operations;
+
+    public NodeCountingCacheAdapter(CacheAdapter delegate, ClusterTopology topology) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.topology = Objects.requireNonNull(topology, "topology");
+        this.operations = new LongAdder[topology.primaries().size()];
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Object get(String key) {
+        return get(CacheKey.of(key));
+    }
+
+    @Override
+    public void set(String key, Object value, long ttlSeconds) {
+        set(CacheKey.of(key), value, ttlSeconds);
+    }
+
+    @Override
+    public Object get(CacheKey key) {
+        operations[topology.ownerIndex(key.bytes())].increment();
+        return delegate.get(key);
+    }
+
+    @Override
+    public void set(CacheKey key, Object value, long ttlSeconds) {
+        operations[topology.ownerIndex(key.bytes())].increment();
+        delegate.set(key, value, ttlSeconds);
+    }
+
+    public void resetCounts() {
+        for (LongAdder counter : operations) {
+            counter.reset();
+        }
+    }
+
+    @Override
+    public Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>(delegate.counters());
+        List<ClusterNode> primaries = topology.primaries();
+        for (int i = 0; i < operations.length; i++) {
+            counters.put(COUNTER_PREFIX + primaries.get(i).address() + COUNTER_SUFFIX, operations[i].sum());
+        }
+        return counters;
+    }
+
+    @Override
+    public Map<String, LongSupplier> gauges() {
+        return delegate.gauges();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,162 @@
+package com.easyap.redisperf.cluster;
+
+import com.easyap.redisperf.cache.CacheAdapter;
+import com.easyap.redisperf.cache.CacheKey;
+import com.easyap.redisperf.config.RedisEndpoint;
+import com.easyap.redisperf.metrics.LatencyHistogram;
+import redis.clients.jedis.Jedis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Measures what a client pays when a slot moves under it. Each round migrates the slot of a probe key to another
+ * primary in two steps and times one {@code get} after each:
+ * <ol>
+ *     <li>key migrated, slot still {@code MIGRATING}: the old owner answers {@code -ASK}, the client retries on the
+ *     new owner with {@code ASKING};</li>
+ *     <li>slot reassigned with {@code SETSLOT NODE}: the client still routes to the old owner, gets {@code -MOVED}
+ *     and refreshes its slot map before retrying.</li>
+ * </ol>
+ * Rounds alternate direction, so an even round count leaves the slot where it started. A client that refreshes
+ * its topology in the background between the two steps makes the MOVED sample look like a direct hit; the p50
+ * over the rounds is what gets reported.
+ */
+public final class RedirectProbe {
+
+    private static final int STEADY_SAMPLES = 500;
+    private static final int MIGRATE_TIMEOUT_MILLIS = 5_000;
+
+    private RedirectProbe() {
+    }
+
+    /**
+     * @return {@code null} when the cluster has a single primary and there is nowhere to move the slot
+     */
+    public static Result run(CacheAdapter adapter,
+                             ClusterTopology topology,
+                             RedisEndpoint credentials,
+                             String key,
+                             int rounds) {
+        Objects.requireNonNull(adapter, "adapter");
+        List<ClusterNode> primaries = topology.primaries();
+        if (primaries.size() < 2) {
+            return null;
+        }
+        CacheKey probeKey = CacheKey.of(key);
+        int slot = ClusterTopology.slotOf(probeKey.bytes());
+        ClusterNode source = topology.ownerOf(slot);
+        ClusterNode target = primaries.get(0) == source ? primaries.get(1) : primaries.get(0);
+
+        List<Jedis> admins = new ArrayList<>(primaries.size());
+        Jedis sourceAdmin = null;
+        Jedis targetAdmin = null;
+        ClusterNode owner = source;
+        try {
+            for (ClusterNode node : primaries) {
+                Jedis admin = node.connect(credentials);
+                admins.add(admin);
+                if (node == source) {
+                    sourceAdmin = admin;
+                } else if (node == target) {
+                    targetAdmin = admin;
+                }
+            }
+
+            adapter.set(probeKey, "redirect-probe", 600);
+            LatencyHistogram steady = new LatencyHistogram();
+            for (int i = 0; i < STEADY_SAMPLES * 2; i++) {
+                long start = System.nanoTime();
+                adapter.get(probeKey);
+                if (i >= STEADY_SAMPLES) {
+                    steady.record(System.nanoTime() - start);
+                }
+            }
+
+            LatencyHistogram ask = new LatencyHistogram();
+            LatencyHistogram moved = new LatencyHistogram();
+            for (int round = 0; round < rounds; round++) {
+                ClusterNode from = round % 2 == 0 ? source : target;
+                ClusterNode to = round % 2 == 0 ? target : source;
+                Jedis fromAdmin = round % 2 == 0 ? sourceAdmin : targetAdmin;
+                Jedis toAdmin = round % 2 == 0 ? targetAdmin : sourceAdmin;
+
+                toAdmin.clusterSetSlotImporting(slot, from.id());
+                fromAdmin.clusterSetSlotMigrating(slot, to.id());
+                fromAdmin.migrate(to.host(), to.port(), key, 0, MIGRATE_TIMEOUT_MILLIS);
+                owner = to;
+                ask.record(timedGet(adapter, probeKey));
+
+                for (Jedis admin : admins) {
+                    admin.clusterSetSlotNode(slot, to.id());
+                }
+                moved.record(timedGet(adapter, probeKey));
+            }
+            return new Result(source.address() + " <-> " + target.address(), rounds,
+                    steady.percentileNanos(0.50), ask.percentileNanos(0.50), moved.percentileNanos(0.50), moved.maxNanos());
+        } finally {
+            // put the slot back into a stable state on whichever node holds the key
+            for (Jedis admin : admins) {
+                try {
+                    admin.clusterSetSlotNode(slot, owner.id());
+                } catch (RuntimeException ignored) {
+                    // best effort
+                }
+                admin.close();
+            }
+        }
+    }
+
+    private static long timedGet(CacheAdapter adapter, CacheKey key) {
+        long start = System.nanoTime();
+        Object value = adapter.get(key);
+        long elapsed = System.nanoTime() - start;
+        if (value == null) {
+            throw new IllegalStateException("Probe key lost during slot migration");
+        }
+        return elapsed;
+    }
+
+    public static final class Result {
+        private final String nodes;
+        private final int rounds;
+        private final long steadyP50Nanos;
+        private final long askP50Nanos;
+        private final long movedP50Nanos;
+        private final long movedMaxNanos;
+
+        Result(String nodes, int rounds, long steadyP50Nanos, long askP50Nanos, long movedP50Nanos, long movedMaxNanos) {
+            this.nodes = nodes;
+            this.rounds = rounds;
+            this.steadyP50Nanos = steadyP50Nanos;
+            this.askP50Nanos = askP50Nanos;
+            this.movedP50Nanos = movedP50Nanos;
+            this.movedMaxNanos = movedMaxNanos;
+        }
+
+        public String nodes() {
+            return nodes;
+        }
+
+        public int rounds() {
+            return rounds;
+        }
+
+        public long steadyP50Nanos() {
+            return steadyP50Nanos;
+        }
+
+        public long askP50Nanos() {
+            return askP50Nanos;
+        }
+
+        public long movedP50Nanos() {
+            return movedP50Nanos;
+        }
+
+        public long movedMaxNanos() {
+            return movedMaxNanos;
+        }
+    }
+}
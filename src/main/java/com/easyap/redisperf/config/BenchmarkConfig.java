@@ -1,11 +1,18 @@
 package com.easyap.redisperf.config;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public final class BenchmarkConfig {
 
+    private final String command;
     private final String redisUri;
     private final int threadCount;
     private final int iterationsPerThread;
@@ -13,8 +20,51 @@ public final class BenchmarkConfig {
     private final Duration warmupDuration;
     private final int latencySampleSize;
     private final int scenarioRuns;
+    private final int payloadPoolSize;
+    private final int keySpaceSize;
+    private final boolean preSerializePayloads;
+    private final int cleanupBatchSize;
+    private final int cleanupThreads;
+    private final int offHeapMegabytes;
+    private final List<String> scenarioFilters;
+    private final List<String> objectFilters;
+    private final List<String> modeFilters;
+    private final String sweepGrid;
+    private final List<String> clusterNodes;
+    private final List<String> replicaUris;
+    private final int workers;
+    private final int localWorkers;
+    private final int controlPort;
+    private final String coordinator;
+    private final List<String> baselineRuns;
+    private final List<String> currentRuns;
+    private final double regressionThresholdPercent;
+    private final double significanceLevel;
+    private final int metricsPort;
+    private final boolean jfrRecording;
+    private final long jfrSlowOperationMicros;
+    private final int jfrSampleEvery;
+    private final List<Integer> payloadSizes;
+    private final List<String> payloadVariants;
+    private final int sizeSweepBudgetMegabytes;
+    private final int chunkKilobytes;
+    private final List<Integer> leaderboardSizes;
+    private final Map<String, Integer> leaderboardMix;
+    private final int leaderboardTopN;
+    private final int streamProducers;
+    private final int streamConsumers;
+    private final int streamBatch;
+    private final List<Integer> streamRates;
+    private final int streamStepSeconds;
+    private final int streamMaxLength;
+    private final int pubSubChannels;
+    private final int pubSubSubscribers;
+    private final int pubSubPublishers;
+    private final List<Integer> pubSubRates;
+    private final int pubSubStepSeconds;
 
     private BenchmarkConfig(Builder builder) {
+        this.command = builder.command;
         this.redisUri = builder.redisUri;
         this.threadCount = builder.threadCount;
         this.iterationsPerThread = builder.iterationsPerThread;
@@ -22,6 +72,52 @@ public final class BenchmarkConfig {
         this.warmupDuration = builder.warmupDuration;
         this.latencySampleSize = builder.latencySampleSize;
         this.scenarioRuns = builder.scenarioRuns;
+        this.payloadPoolSize = builder.payloadPoolSize;
+        this.keySpaceSize = builder.keySpaceSize;
+        this.preSerializePayloads = builder.preSerializePayloads;
+        this.cleanupBatchSize = builder.cleanupBatchSize;
+        this.cleanupThreads = builder.cleanupThreads;
+        this.offHeapMegabytes = builder.offHeapMegabytes;
+        this.scenarioFilters = Collections.unmodifiableList(new ArrayList<>(builder.scenarioFilters));
+        this.objectFilters = Collections.unmodifiableList(new ArrayList<>(builder.objectFilters));
+        this.modeFilters = Collections.unmodifiableList(new ArrayList<>(builder.modeFilters));
+        this.sweepGrid = builder.sweepGrid;
+        this.clusterNodes = Collections.unmodifiableList(new ArrayList<>(builder.clusterNodes));
+        this.replicaUris = Collections.unmodifiableList(new ArrayList<>(builder.replicaUris));
+        this.workers = builder.workers;
+        this.localWorkers = builder.localWorkers < 0 ? builder.workers : builder.localWorkers;
+        this.controlPort = builder.controlPort;
+        this.coordinator = builder.coordinator;
+        this.baselineRuns = Collections.unmodifiableList(new ArrayList<>(builder.baselineRuns));
+        this.currentRuns = Collections.unmodifiableList(new ArrayList<>(builder.currentRuns));
+        this.regressionThresholdPercent = builder.regressionThresholdPercent;
+        this.significanceLevel = builder.significanceLevel;
+        this.metricsPort = builder.metricsPort;
+        this.jfrRecording = builder.jfrRecording;
+        this.jfrSlowOperationMicros = builder.jfrSlowOperationMicros;
+        this.jfrSampleEvery = builder.jfrSampleEvery;
+        this.payloadSizes = Collections.unmodifiableList(new ArrayList<>(builder.payloadSizes));
+        this.payloadVariants = Collections.unmodifiableList(new ArrayList<>(builder.payloadVariants));
+        this.sizeSweepBudgetMegabytes = builder.sizeSweepBudgetMegabytes;
+        this.chunkKilobytes = builder.chunkKilobytes;
+        this.leaderboardSizes = Collections.unmodifiableList(new ArrayList<>(builder.leaderboardSizes));
+        this.leaderboardMix = Collections.unmodifiableMap(new LinkedHashMap<>(builder.leaderboardMix));
+        this.leaderboardTopN = builder.leaderboardTopN;
+        this.streamProducers = builder.streamProducers;
+        this.streamConsumers = builder.streamConsumers;
+        this.streamBatch = builder.streamBatch;
+        this.streamRates = Collections.unmodifiableList(new ArrayList<>(builder.streamRates));
+        this.streamStepSeconds = builder.streamStepSeconds;
+        this.streamMaxLength = builder.streamMaxLength;
+        this.pubSubChannels = builder.pubSubChannels;
+        this.pubSubSubscribers = builder.pubSubSubscribers;
+        this.pubSubPublishers = builder.pubSubPublishers;
+        this.pubSubRates = Collections.unmodifiableList(new ArrayList<>(builder.pubSubRates));
+        this.pubSubStepSeconds = builder.pubSubStepSeconds;
+    }
+
+    public String getCommand() {
+        return command;
     }
 
     public String getRedisUri() {
@@ -52,6 +148,242 @@ public final class BenchmarkConfig {
         return scenarioRuns;
     }
 
+    public int getPayloadPoolSize() {
+        return payloadPoolSize;
+    }
+
+    public int getKeySpaceSize() {
+        return keySpaceSize;
+    }
+
+    public boolean isPreSerializePayloads() {
+        return preSerializePayloads;
+    }
+
+    public int getCleanupBatchSize() {
+        return cleanupBatchSize;
+    }
+
+    public int getCleanupThreads() {
+        return cleanupThreads;
+    }
+
+    public int getOffHeapMegabytes() {
+        return offHeapMegabytes;
+    }
+
+    public List<String> getScenarioFilters() {
+        return scenarioFilters;
+    }
+
+    public List<String> getObjectFilters() {
+        return objectFilters;
+    }
+
+    public List<String> getModeFilters() {
+        return modeFilters;
+    }
+
+    public String getSweepGrid() {
+        return sweepGrid;
+    }
+
+    /**
+     * Seed node URIs of the Redis Cluster used by {@code command=cluster}; entries given as {@code host:port}
+     * are returned with the {@code redis://} scheme.
+     */
+    public List<String> getClusterNodes() {
+        return clusterNodes;
+    }
+
+    /**
+     * Replicas of {@link #getRedisUri()} used by {@code command=replica}, normalized like the cluster nodes.
+     */
+    public List<String> getReplicaUris() {
+        return replicaUris;
+    }
+
+    /**
+     * Worker JVMs the coordinator waits for before starting.
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * How many of {@link #getWorkers()} the coordinator forks on its own host; the rest connect from elsewhere.
+     */
+    public int getLocalWorkers() {
+        return localWorkers;
+    }
+
+    public int getControlPort() {
+        return controlPort;
+    }
+
+    /**
+     * {@code host:port} of the coordinator's control channel, used by {@code command=worker}.
+     */
+    public String getCoordinator() {
+        return coordinator;
+    }
+
+    /**
+     * Result CSVs (or directories of {@code run-*.csv}) that {@code command=compare} treats as the baseline.
+     */
+    public List<String> getBaselineRuns() {
+        return baselineRuns;
+    }
+
+    /**
+     * Result CSVs (or directories of {@code run-*.csv}) compared against {@link #getBaselineRuns()}.
+     */
+    public List<String> getCurrentRuns() {
+        return currentRuns;
+    }
+
+    /**
+     * Largest tolerated slowdown, in percent, of a significant change before {@code command=compare} fails.
+     */
+    public double getRegressionThresholdPercent() {
+        return regressionThresholdPercent;
+    }
+
+    public double getSignificanceLevel() {
+        return significanceLevel;
+    }
+
+    /**
+     * Port of the Prometheus {@code /metrics} endpoint; 0 (the default) leaves it off.
+     */
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    /**
+     * Whether every scenario gets its own Flight Recorder recording under {@code benchmark-results/jfr/}.
+     */
+    public boolean isJfrRecording() {
+        return jfrRecording;
+    }
+
+    /**
+     * Timed operations at least this slow are emitted as JFR events.
+     */
+    public long getJfrSlowOperationNanos() {
+        return jfrSlowOperationMicros * 1_000L;
+    }
+
+    /**
+     * Every n-th timed operation of a thread is emitted as a JFR event whatever its latency; 0 disables sampling.
+     */
+    public int getJfrSampleEvery() {
+        return jfrSampleEvery;
+    }
+
+    /**
+     * Value sizes in bytes swept by {@code command=sizes}.
+     */
+    public List<Integer> getPayloadSizes() {
+        return payloadSizes;
+    }
+
+    public List<String> getPayloadVariants() {
+        return payloadVariants;
+    }
+
+    /**
+     * Bytes of values each size sweep point may write, which scales iterations and payload pool down for large
+     * values.
+     */
+    public long getSizeSweepBudgetBytes() {
+        return sizeSweepBudgetMegabytes * 1024L * 1024L;
+    }
+
+    /**
+     * Chunk size of the chunked large-value scenario.
+     */
+    public int getChunkBytes() {
+        return chunkKilobytes * 1024;
+    }
+
+    /**
+     * Member counts a leaderboard is grown to, smallest first.
+     */
+    public List<Integer> getLeaderboardSizes() {
+        return leaderboardSizes;
+    }
+
+    /**
+     * Relative weight of each leaderboard operation ({@code zadd}, {@code zincrby}, {@code rank}, {@code top}).
+     */
+    public Map<String, Integer> getLeaderboardMix() {
+        return leaderboardMix;
+    }
+
+    public int getLeaderboardTopN() {
+        return leaderboardTopN;
+    }
+
+    public int getStreamProducers() {
+        return streamProducers;
+    }
+
+    public int getStreamConsumers() {
+        return streamConsumers;
+    }
+
+    /**
+     * {@code COUNT} of every {@code XREADGROUP}.
+     */
+    public int getStreamBatch() {
+        return streamBatch;
+    }
+
+    /**
+     * Target event rates (events/s over all producers) tried in turn by {@code command=streams}.
+     */
+    public List<Integer> getStreamRates() {
+        return streamRates;
+    }
+
+    public Duration getStreamStepDuration() {
+        return Duration.ofSeconds(streamStepSeconds);
+    }
+
+    /**
+     * Approximate {@code MAXLEN} applied on every {@code XADD}.
+     */
+    public int getStreamMaxLength() {
+        return streamMaxLength;
+    }
+
+    public int getPubSubChannels() {
+        return pubSubChannels;
+    }
+
+    /**
+     * Subscribers on every channel.
+     */
+    public int getPubSubSubscribers() {
+        return pubSubSubscribers;
+    }
+
+    public int getPubSubPublishers() {
+        return pubSubPublishers;
+    }
+
+    /**
+     * Target publish rates (messages/s over all channels) tried in turn by {@code command=pubsub}.
+     */
+    public List<Integer> getPubSubRates() {
+        return pubSubRates;
+    }
+
+    public Duration getPubSubStepDuration() {
+        return Duration.ofSeconds(pubSubStepSeconds);
+    }
+
     public static BenchmarkConfig fromArgs(String[] args) {
         Map<String, String> overrides = parseArgs(args);
         Builder builder = new Builder();
@@ -87,6 +419,12 @@ public final class BenchmarkConfig {
     }
 
     public static final class Builder {
+
+        private static final List<String> COMMANDS = Arrays.asList("run", "sweep", "cluster", "replica", "coordinator", "worker", "compare", "sizes", "leaderboard", "streams", "pubsub");
+        private static final List<String> LEADERBOARD_OPERATIONS = Arrays.asList("zadd", "zincrby", "rank", "top");
+        private static final List<String> PAYLOAD_VARIANTS = Arrays.asList("text", "bytes", "structured");
+        private static final int MAX_PAYLOAD_SIZE = 512 * 1024 * 1024;
+        private String command = System.getenv().getOrDefault("BENCHMARK_COMMAND", "run");
         private String redisUri = System.getenv().getOrDefault("REDIS_URI", "redis://127.0.0.1:6379");
         private int threadCount = getEnvInt("BENCHMARK_THREADS", 8);
         private int iterationsPerThread = getEnvInt("BENCHMARK_ITERATIONS", 10_000);
@@ -94,6 +432,48 @@ public final class BenchmarkConfig {
         private Duration warmupDuration = Duration.ofSeconds(getEnvLong("BENCHMARK_WARMUP_SECONDS", 10L));
         private int latencySampleSize = getEnvInt("BENCHMARK_LATENCY_SAMPLE", 5_000);
         private int scenarioRuns = getEnvInt("BENCHMARK_RUNS", 1);
+        private int payloadPoolSize = getEnvInt("BENCHMARK_PAYLOAD_POOL", 1_024);
+        private int keySpaceSize = getEnvInt("BENCHMARK_KEY_SPACE", 100_000);
+        private boolean preSerializePayloads = getEnvBoolean("BENCHMARK_PRESERIALIZE", false);
+        private int cleanupBatchSize = getEnvInt("BENCHMARK_CLEANUP_BATCH", 1_000);
+        private int cleanupThreads = getEnvInt("BENCHMARK_CLEANUP_THREADS", 4);
+        private int offHeapMegabytes = getEnvInt("BENCHMARK_OFFHEAP_MB", 1_024);
+        private List<String> scenarioFilters = parseList(System.getenv("BENCHMARK_SCENARIOS"));
+        private List<String> objectFilters = parseList(System.getenv("BENCHMARK_OBJECTS"));
+        private List<String> modeFilters = parseList(System.getenv("BENCHMARK_MODES"));
+        private String sweepGrid = System.getenv("BENCHMARK_SWEEP_GRID");
+        private List<String> clusterNodes = parseNodes(System.getenv("BENCHMARK_CLUSTER_NODES"));
+        private List<String> replicaUris = parseNodes(System.getenv("BENCHMARK_REPLICAS"));
+        private int workers = getEnvInt("BENCHMARK_WORKERS", 2);
+        private int localWorkers = getEnvInt("BENCHMARK_LOCAL_WORKERS", -1);
+        private int controlPort = getEnvInt("BENCHMARK_CONTROL_PORT", 7070);
+        private String coordinator = System.getenv().getOrDefault("BENCHMARK_COORDINATOR", "127.0.0.1:7070");
+        private List<String> baselineRuns = parseList(System.getenv("BENCHMARK_BASELINE"));
+        private List<String> currentRuns = parseList(System.getenv().getOrDefault("BENCHMARK_CURRENT", "benchmark-results/latest.csv"));
+        private double regressionThresholdPercent = getEnvDouble("BENCHMARK_REGRESSION_THRESHOLD", 5.0);
+        private double significanceLevel = getEnvDouble("BENCHMARK_SIGNIFICANCE", 0.05);
+        private int metricsPort = getEnvInt("BENCHMARK_METRICS_PORT", 0);
+        private boolean jfrRecording = getEnvBoolean("BENCHMARK_JFR", false);
+        private long jfrSlowOperationMicros = getEnvLong("BENCHMARK_JFR_SLOW_OP_MICROS", 5_000L);
+        private int jfrSampleEvery = getEnvInt("BENCHMARK_JFR_SAMPLE_EVERY", 1_000);
+        private List<Integer> payloadSizes = parseSizes(System.getenv().getOrDefault("BENCHMARK_PAYLOAD_SIZES", "64,256,1K,4K,16K,64K,256K,1M,4M"));
+        private List<String> payloadVariants = parseList(System.getenv().getOrDefault("BENCHMARK_PAYLOAD_VARIANTS", "text,bytes,structured"));
+        private int sizeSweepBudgetMegabytes = getEnvInt("BENCHMARK_SIZE_SWEEP_BUDGET_MB", 256);
+        private int chunkKilobytes = getEnvInt("BENCHMARK_CHUNK_KB", 256);
+        private List<Integer> leaderboardSizes = parseSizes(System.getenv().getOrDefault("BENCHMARK_LEADERBOARD_SIZES", "100000,1000000,10000000"));
+        private Map<String, Integer> leaderboardMix = parseWeights(System.getenv().getOrDefault("BENCHMARK_LEADERBOARD_MIX", "zadd=20,zincrby=40,rank=30,top=10"));
+        private int leaderboardTopN = getEnvInt("BENCHMARK_LEADERBOARD_TOP_N", 10);
+        private int streamProducers = getEnvInt("BENCHMARK_STREAM_PRODUCERS", 4);
+        private int streamConsumers = getEnvInt("BENCHMARK_STREAM_CONSUMERS", 4);
+        private int streamBatch = getEnvInt("BENCHMARK_STREAM_BATCH", 100);
+        private List<Integer> streamRates = parseSizes(System.getenv().getOrDefault("BENCHMARK_STREAM_RATES", "1000,2000,5000,10000,20000,50000,100000,200000"));
+        private int streamStepSeconds = getEnvInt("BENCHMARK_STREAM_STEP_SECONDS", 10);
+        private int streamMaxLength = getEnvInt("BENCHMARK_STREAM_MAXLEN", 100_000);
+        private int pubSubChannels = getEnvInt("BENCHMARK_PUBSUB_CHANNELS", 4);
+        private int pubSubSubscribers = getEnvInt("BENCHMARK_PUBSUB_SUBSCRIBERS", 4);
+        private int pubSubPublishers = getEnvInt("BENCHMARK_PUBSUB_PUBLISHERS", 4);
+        private List<Integer> pubSubRates = parseSizes(System.getenv().getOrDefault("BENCHMARK_PUBSUB_RATES", "1000,2000,5000,10000,20000,50000,100000"));
+        private int pubSubStepSeconds = getEnvInt("BENCHMARK_PUBSUB_STEP_SECONDS", 10);
 
         private static int getEnvInt(String name, int defaultValue) {
             String value = System.getenv(name);
@@ -119,11 +499,30 @@ public final class BenchmarkConfig {
             }
         }
 
+        private static double getEnvDouble(String name, double defaultValue) {
+            String value = System.getenv(name);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            return parseDouble(value, defaultValue);
+        }
+
+        private static boolean getEnvBoolean(String name, boolean defaultValue) {
+            String value = System.getenv(name);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            return parseBoolean(value, defaultValue);
+        }
+
         private void override(String property, String value) {
             if (property == null || value == null) {
                 return;
             }
             switch (property) {
+                case "command":
+                    command = value;
+                    break;
                 case "redisUri":
                     redisUri = value;
                     break;
@@ -145,6 +544,132 @@ public final class BenchmarkConfig {
                 case "runs":
                     scenarioRuns = parseInt(value, scenarioRuns);
                     break;
+                case "payloadPool":
+                    payloadPoolSize = parseInt(value, payloadPoolSize);
+                    break;
+                case "keySpace":
+                    keySpaceSize = parseInt(value, keySpaceSize);
+                    break;
+                case "preSerialize":
+                    preSerializePayloads = parseBoolean(value, preSerializePayloads);
+                    break;
+                case "cleanupBatch":
+                    cleanupBatchSize = parseInt(value, cleanupBatchSize);
+                    break;
+                case "cleanupThreads":
+                    cleanupThreads = parseInt(value, cleanupThreads);
+                    break;
+                case "offHeapMb":
+                    offHeapMegabytes = parseInt(value, offHeapMegabytes);
+                    break;
+                case "scenarios":
+                    scenarioFilters = parseList(value);
+                    break;
+                case "objects":
+                    objectFilters = parseList(value);
+                    break;
+                case "modes":
+                    modeFilters = parseList(value);
+                    break;
+                case "sweepGrid":
+                    sweepGrid = value;
+                    break;
+                case "clusterNodes":
+                    clusterNodes = parseNodes(value);
+                    break;
+                case "replicas":
+                    replicaUris = parseNodes(value);
+                    break;
+                case "workers":
+                    workers = parseInt(value, workers);
+                    break;
+                case "localWorkers":
+                    localWorkers = parseInt(value, localWorkers);
+                    break;
+                case "controlPort":
+                    controlPort = parseInt(value, controlPort);
+                    break;
+                case "coordinator":
+                    coordinator = value;
+                    break;
+                case "baseline":
+                    baselineRuns = parseList(value);
+                    break;
+                case "current":
+                    currentRuns = parseList(value);
+                    break;
+                case "regressionThreshold":
+                    regressionThresholdPercent = parseDouble(value, regressionThresholdPercent);
+                    break;
+                case "significance":
+                    significanceLevel = parseDouble(value, significanceLevel);
+                    break;
+                case "metricsPort":
+                    metricsPort = parseInt(value, metricsPort);
+                    break;
+                case "jfr":
+                    jfrRecording = parseBoolean(value, jfrRecording);
+                    break;
+                case "jfrSlowOpMicros":
+                    jfrSlowOperationMicros = parseLong(value, jfrSlowOperationMicros);
+                    break;
+                case "jfrSampleEvery":
+                    jfrSampleEvery = parseInt(value, jfrSampleEvery);
+                    break;
+                case "payloadSizes":
+                    payloadSizes = parseSizes(value);
+                    break;
+                case "payloadVariants":
+                    payloadVariants = parseList(value);
+                    break;
+                case "sizeSweepBudgetMb":
+                    sizeSweepBudgetMegabytes = parseInt(value, sizeSweepBudgetMegabytes);
+                    break;
+                case "chunkKb":
+                    chunkKilobytes = parseInt(value, chunkKilobytes);
+                    break;
+                case "leaderboardSizes":
+                    leaderboardSizes = parseSizes(value);
+                    break;
+                case "leaderboardMix":
+                    leaderboardMix = parseWeights(value);
+                    break;
+                case "leaderboardTopN":
+                    leaderboardTopN = parseInt(value, leaderboardTopN);
+                    break;
+                case "streamProducers":
+                    streamProducers = parseInt(value, streamProducers);
+                    break;
+                case "streamConsumers":
+                    streamConsumers = parseInt(value, streamConsumers);
+                    break;
+                case "streamBatch":
+                    streamBatch = parseInt(value, streamBatch);
+                    break;
+                case "streamRates":
+                    streamRates = parseSizes(value);
+                    break;
+                case "streamStepSeconds":
+                    streamStepSeconds = parseInt(value, streamStepSeconds);
+                    break;
+                case "streamMaxLen":
+                    streamMaxLength = parseInt(value, streamMaxLength);
+                    break;
+                case "pubsubChannels":
+                    pubSubChannels = parseInt(value, pubSubChannels);
+                    break;
+                case "pubsubSubscribers":
+                    pubSubSubscribers = parseInt(value, pubSubSubscribers);
+                    break;
+                case "pubsubPublishers":
+                    pubSubPublishers = parseInt(value, pubSubPublishers);
+                    break;
+                case "pubsubRates":
+                    pubSubRates = parseSizes(value);
+                    break;
+                case "pubsubStepSeconds":
+                    pubSubStepSeconds = parseInt(value, pubSubStepSeconds);
+                    break;
                 default:
                     break;
             }
@@ -166,7 +691,196 @@ public final class BenchmarkConfig {
             }
         }
 
+        private static double parseDouble(String value, double defaultValue) {
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException nfe) {
+                return defaultValue;
+            }
+        }
+
+        private static List<String> parseList(String value) {
+            List<String> values = new ArrayList<>();
+            if (value == null) {
+                return values;
+            }
+            for (String part : value.split(",")) {
+                String trimmed = part.trim();
+                if (!trimmed.isEmpty()) {
+                    values.add(trimmed);
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Comma-separated byte counts with an optional {@code K} or {@code M} (binary) suffix, e.g. {@code 64,1K,4M}.
+         */
+        private static List<Integer> parseSizes(String value) {
+            List<Integer> sizes = new ArrayList<>();
+            for (String part : parseList(value)) {
+                String normalized = part.toUpperCase(Locale.ROOT);
+                int multiplier = 1;
+                if (normalized.endsWith("K") || normalized.endsWith("M")) {
+                    multiplier = normalized.endsWith("K") ? 1024 : 1024 * 1024;
+                    normalized = normalized.substring(0, normalized.length() - 1);
+                }
+                try {
+                    sizes.add(Math.multiplyExact(Integer.parseInt(normalized.trim()), multiplier));
+                } catch (NumberFormatException | ArithmeticException e) {
+                    throw new IllegalArgumentException("Invalid payload size: " + part, e);
+                }
+            }
+            return sizes;
+        }
+
+        /**
+         * Comma-separated {@code name=weight} pairs, e.g. {@code zadd=20,rank=80}.
+         */
+        private static Map<String, Integer> parseWeights(String value) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String part : parseList(value)) {
+                int eq = part.indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("Invalid weight (expected name=weight): " + part);
+                }
+                try {
+                    weights.put(part.substring(0, eq).trim().toLowerCase(Locale.ROOT), Integer.parseInt(part.substring(eq + 1).trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid weight: " + part, e);
+                }
+            }
+            return weights;
+        }
+
+        private static List<String> parseNodes(String value) {
+            List<String> nodes = new ArrayList<>();
+            for (String node : parseList(value)) {
+                nodes.add(node.contains("://") ? node : "redis://" + node);
+            }
+            return nodes;
+        }
+
+        private static boolean parseBoolean(String value, boolean defaultValue) {
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            switch (normalized) {
+                case "true":
+                case "yes":
+                case "1":
+                    return true;
+                case "false":
+                case "no":
+                case "0":
+                    return false;
+                default:
+                    return defaultValue;
+            }
+        }
+
         public BenchmarkConfig build() {
+            if (!COMMANDS.contains(command)) {
+                throw new IllegalArgumentException("command must be one of " + COMMANDS);
+            }
+            if (command.equals("cluster") && clusterNodes.isEmpty()) {
+                throw new IllegalArgumentException("command=cluster needs clusterNodes");
+            }
+            if (command.equals("replica") && replicaUris.isEmpty()) {
+                throw new IllegalArgumentException("command=replica needs replicas");
+            }
+            if (command.equals("compare") && (baselineRuns.isEmpty() || currentRuns.isEmpty())) {
+                throw new IllegalArgumentException("command=compare needs baseline and current");
+            }
+            if (regressionThresholdPercent < 0) {
+                throw new IllegalArgumentException("regressionThreshold must be >= 0");
+            }
+            if (significanceLevel <= 0 || significanceLevel >= 1) {
+                throw new IllegalArgumentException("significance must be between 0 and 1");
+            }
+            if (command.equals("sizes")) {
+                if (payloadSizes.isEmpty() || payloadVariants.isEmpty()) {
+                    throw new IllegalArgumentException("command=sizes needs payloadSizes and payloadVariants");
+                }
+                for (int size : payloadSizes) {
+                    if (size <= 0 || size > MAX_PAYLOAD_SIZE) {
+                        throw new IllegalArgumentException("payloadSizes must be between 1 and 512M");
+                    }
+                }
+                for (String variant : payloadVariants) {
+                    if (!PAYLOAD_VARIANTS.contains(variant.toLowerCase(Locale.ROOT))) {
+                        throw new IllegalArgumentException("payloadVariants must be among " + PAYLOAD_VARIANTS);
+                    }
+                }
+                if (sizeSweepBudgetMegabytes <= 0) {
+                    throw new IllegalArgumentException("sizeSweepBudgetMb must be > 0");
+                }
+            }
+            if (command.equals("leaderboard")) {
+                if (leaderboardSizes.isEmpty()) {
+                    throw new IllegalArgumentException("command=leaderboard needs leaderboardSizes");
+                }
+                for (int size : leaderboardSizes) {
+                    if (size <= 0) {
+                        throw new IllegalArgumentException("leaderboardSizes must be > 0");
+                    }
+                }
+                int totalWeight = 0;
+                for (Map.Entry<String, Integer> weight : leaderboardMix.entrySet()) {
+                    if (!LEADERBOARD_OPERATIONS.contains(weight.getKey()) || weight.getValue() < 0) {
+                        throw new IllegalArgumentException("leaderboardMix must weigh operations among " + LEADERBOARD_OPERATIONS + " with weights >= 0");
+                    }
+                    totalWeight += weight.getValue();
+                }
+                if (totalWeight <= 0) {
+                    throw new IllegalArgumentException("leaderboardMix needs a positive weight");
+                }
+                if (leaderboardTopN <= 0) {
+                    throw new IllegalArgumentException("leaderboardTopN must be > 0");
+                }
+            }
+            if (command.equals("streams")) {
+                if (streamProducers <= 0 || streamConsumers <= 0 || streamBatch <= 0) {
+                    throw new IllegalArgumentException("streamProducers, streamConsumers and streamBatch must be > 0");
+                }
+                if (streamRates.isEmpty()) {
+                    throw new IllegalArgumentException("command=streams needs streamRates");
+                }
+                for (int rate : streamRates) {
+                    if (rate <= 0) {
+                        throw new IllegalArgumentException("streamRates must be > 0");
+                    }
+                }
+                if (streamStepSeconds <= 0 || streamMaxLength <= 0) {
+                    throw new IllegalArgumentException("streamStepSeconds and streamMaxLen must be > 0");
+                }
+            }
+            if (command.equals("pubsub")) {
+                if (pubSubChannels <= 0 || pubSubSubscribers <= 0 || pubSubPublishers <= 0) {
+                    throw new IllegalArgumentException("pubsubChannels, pubsubSubscribers and pubsubPublishers must be > 0");
+                }
+                if (pubSubRates.isEmpty()) {
+                    throw new IllegalArgumentException("command=pubsub needs pubsubRates");
+                }
+                for (int rate : pubSubRates) {
+                    if (rate <= 0) {
+                        throw new IllegalArgumentException("pubsubRates must be > 0");
+                    }
+                }
+                if (pubSubStepSeconds <= 0) {
+                    throw new IllegalArgumentException("pubsubStepSeconds must be > 0");
+                }
+            }
+            if (jfrSlowOperationMicros < 0 || jfrSampleEvery < 0) {
+                throw new IllegalArgumentException("jfrSlowOpMicros and jfrSampleEvery must be >= 0");
+            }
+            if (chunkKilobytes <= 0 || chunkKilobytes > 512 * 1024) {
+                throw new IllegalArgumentException("chunkKb must be between 1 and 524288");
+            }
+            if (workers <= 0) {
+                throw new IllegalArgumentException("workers must be > 0");
+            }
+            if (localWorkers > workers) {
+                throw new IllegalArgumentException("localWorkers must be <= workers");
+            }
             if (threadCount <= 0) {
                 throw new IllegalArgumentException("threadCount must be > 0");
             }
@@ -182,6 +896,21 @@ public final class BenchmarkConfig {
             if (scenarioRuns <= 0) {
                 throw new IllegalArgumentException("scenarioRuns must be > 0");
             }
+            if (payloadPoolSize <= 0) {
+                throw new IllegalArgumentException("payloadPoolSize must be > 0");
+            }
+            if (keySpaceSize <= 0) {
+                throw new IllegalArgumentException("keySpaceSize must be > 0");
+            }
+            if (cleanupBatchSize <= 0) {
+                throw new IllegalArgumentException("cleanupBatchSize must be > 0");
+            }
+            if (cleanupThreads <= 0) {
+                throw new IllegalArgumentException("cleanupThreads must be > 0");
+            }
+            if (offHeapMegabytes <= 0) {
+                throw new IllegalArgumentException("offHeapMegabytes must be > 0");
+            }
             return new BenchmarkConfig(this);
         }
     }
@@ -0,0 +1,151 @@
+package com.easyap.redisperf.config;
+
+import java.util.Locale;
+
+/**
+ * Client-side knobs applied by {@code RedisClientFactory}. {@link #defaults()} matches the settings every
+ * scenario used before they became configurable.
+ *
+ * <p>The built-in Jedis client cache builds its own sockets, so {@code tcpNoDelay}/{@code keepAlive} do not
+ * reach the "Jedis client cache" scenarios (Jedis enables both by default).</p>
+ */
+public final class ClientTuning {
+
+    private final int poolSize;
+    private final int minIdle;
+    private final boolean resp3;
+    private final boolean tcpNoDelay;
+    private final boolean keepAlive;
+    private final int timeoutMillis;
+    private final int nettyThreads;
+    private final int threads;
+
+    private ClientTuning(Builder builder) {
+        this.poolSize = builder.poolSize;
+        this.minIdle = builder.minIdle;
+        this.resp3 = builder.resp3;
+        this.tcpNoDelay = builder.tcpNoDelay;
+        this.keepAlive = builder.keepAlive;
+        this.timeoutMillis = builder.timeoutMillis;
+        this.nettyThreads = builder.nettyThreads;
+        this.threads = builder.threads;
+    }
+
+    public static ClientTuning defaults() {
+        return new Builder().build();
+    }
+
+    public int poolSize() {
+        return poolSize;
+    }
+
+    public int minIdle() {
+        return minIdle;
+    }
+
+    public boolean resp3() {
+        return resp3;
+    }
+
+    public boolean tcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public boolean keepAlive() {
+        return keepAlive;
+    }
+
+    public int timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public int nettyThreads() {
+        return nettyThreads;
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    /**
+     * Settings that affect the given client; the timeout and thread pools only apply to Redisson, so two tunings
+     * that differ only there describe the same Jedis client.
+     */
+    public String describe(boolean redisson) {
+        String common = String.format(Locale.ROOT, "poolSize=%d minIdle=%d protocol=%s tcpNoDelay=%s keepAlive=%s",
+                poolSize, minIdle, resp3 ? "RESP3" : "RESP2", tcpNoDelay, keepAlive);
+        if (!redisson) {
+            return common;
+        }
+        return common + String.format(Locale.ROOT, " timeoutMs=%d nettyThreads=%d threads=%d", timeoutMillis, nettyThreads, threads);
+    }
+
+    public static final class Builder {
+        private int poolSize = 32;
+        private int minIdle = 2;
+        private boolean resp3 = true;
+        private boolean tcpNoDelay = true;
+        private boolean keepAlive = true;
+        private int timeoutMillis = 3_000;
+        private int nettyThreads = 0;
+        private int threads = 0;
+
+        /**
+         * Applies one named parameter as used in sweep grids, e.g. {@code set("protocol", "RESP2")}.
+         */
+        public Builder set(String parameter, String value) {
+            String trimmed = value.trim();
+            switch (parameter.trim()) {
+                case "poolSize":
+                    poolSize = Integer.parseInt(trimmed);
+                    break;
+                case "minIdle":
+                    minIdle = Integer.parseInt(trimmed);
+                    break;
+                case "protocol":
+                    if (trimmed.equalsIgnoreCase("RESP2")) {
+                        resp3 = false;
+                    } else if (trimmed.equalsIgnoreCase("RESP3")) {
+                        resp3 = true;
+                    } else {
+                        throw new IllegalArgumentException("protocol must be RESP2 or RESP3: " + value);
+                    }
+                    break;
+                case "tcpNoDelay":
+                    tcpNoDelay = Boolean.parseBoolean(trimmed);
+                    break;
+                case "keepAlive":
+                    keepAlive = Boolean.parseBoolean(trimmed);
+                    break;
+                case "timeoutMs":
+                    timeoutMillis = Integer.parseInt(trimmed);
+                    break;
+                case "nettyThreads":
+                    nettyThreads = Integer.parseInt(trimmed);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(trimmed);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown client parameter: " + parameter);
+            }
+            return this;
+        }
+
+        public ClientTuning build() {
+            if (poolSize <= 0) {
+                throw new IllegalArgumentException("poolSize must be > 0");
+            }
+            if (minIdle < 0 || minIdle > poolSize) {
+                throw new IllegalArgumentException("minIdle must be between 0 and poolSize");
+            }
+            if (timeoutMillis <= 0) {
+                throw new IllegalArgumentException("timeoutMs must be > 0");
+            }
+            if (nettyThreads < 0 || threads < 0) {
+                throw new IllegalArgumentException("nettyThreads and threads must be >= 0");
+            }
+            return new ClientTuning(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.easyap.redisperf.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cartesian grid of {@link ClientTuning} parameters, written as
+ * {@code poolSize=8,32,64;protocol=RESP2,RESP3}. Parameters missing from the grid keep their default.
+ */
+public final class ParameterGrid {
+
+    public static final String DEFAULT_SPEC = "poolSize=8,32,64;protocol=RESP2,RESP3";
+
+    private final Map<String, List<String>> parameters;
+
+    private ParameterGrid(Map<String, List<String>> parameters) {
+        this.parameters = parameters;
+    }
+
+    public static ParameterGrid parse(String spec) {
+        String source = spec == null || spec.trim().isEmpty() ? DEFAULT_SPEC : spec;
+        Map<String, List<String>> parameters = new LinkedHashMap<>();
+        for (String entry : source.split(";")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            int eq = entry.indexOf('=');
+            if (eq <= 0 || eq == entry.length() - 1) {
+                throw new IllegalArgumentException("Invalid sweep parameter '" + entry + "', expected name=v1,v2");
+            }
+            List<String> values = new ArrayList<>();
+            for (String value : entry.substring(eq + 1).split(",")) {
+                if (!value.trim().isEmpty()) {
+                    values.add(value.trim());
+                }
+            }
+            parameters.put(entry.substring(0, eq).trim(), values);
+        }
+        ParameterGrid grid = new ParameterGrid(parameters);
+        grid.combinations();
+        return grid;
+    }
+
+    public Map<String, List<String>> parameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    /**
+     * Every combination, first parameter varying slowest. Invalid names or values fail here rather than halfway
+     * through a sweep.
+     */
+    public List<ClientTuning> combinations() {
+        List<List<String[]>> assignments = new ArrayList<>();
+        assignments.add(new ArrayList<>());
+        for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+            List<List<String[]>> expanded = new ArrayList<>();
+            for (List<String[]> assignment : assignments) {
+                for (String value : parameter.getValue()) {
+                    List<String[]> next = new ArrayList<>(assignment);
+                    next.add(new String[]{parameter.getKey(), value});
+                    expanded.add(next);
+                }
+            }
+            assignments = expanded;
+        }
+        List<ClientTuning> tunings = new ArrayList<>(assignments.size());
+        for (List<String[]> assignment : assignments) {
+            ClientTuning.Builder builder = new ClientTuning.Builder();
+            for (String[] pair : assignment) {
+                builder.set(pair[0], pair[1]);
+            }
+            tunings.add(builder.build());
+        }
+        return tunings;
+    }
+}
@@ -0,0 +1,65 @@
+package com.easyap.redisperf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A client-side caching invalidation push received from the server: keys dropped from a local cache, or the whole
+ * cache flushed.
+ */
+@Name("redisperf.Invalidation")
+@Label("CSC Invalidation")
+@Category({"Redis Perf"})
+@Description("Client-side caching invalidation received from Redis")
+@StackTrace(false)
+public class InvalidationEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Keys")
+    int keys;
+
+    @Label("First Key")
+    String firstKey;
+
+    @Label("Flush")
+    boolean flush;
+
+    private InvalidationEvent() {
+    }
+
+    /**
+     * @param keys the invalidated keys as {@code byte[]} or {@code String}, as the client delivers them
+     */
+    public static void keys(String cache, List<?> keys) {
+        InvalidationEvent event = new InvalidationEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.cache = cache;
+        event.keys = keys.size();
+        event.firstKey = keys.isEmpty() ? null : text(keys.get(0));
+        event.commit();
+    }
+
+    public static void flush(String cache) {
+        InvalidationEvent event = new InvalidationEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.cache = cache;
+        event.flush = true;
+        event.commit();
+    }
+
+    private static String text(Object key) {
+        return key instanceof byte[] ? new String((byte[]) key, StandardCharsets.UTF_8) : String.valueOf(key);
+    }
+}
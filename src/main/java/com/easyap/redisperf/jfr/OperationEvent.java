@@ -0,0 +1,57 @@
+package com.easyap.redisperf.jfr;
+
+import com.easyap.redisperf.cache.CacheKey;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A timed cache operation that took at least {@code jfrSlowOpMicros}, or that was picked by the
+ * {@code jfrSampleEvery} sampling. The latency is the one measured by the benchmark, not the event duration, so
+ * events can be matched against the reported percentiles.
+ */
+@Name("redisperf.Operation")
+@Label("Cache Operation")
+@Category({"Redis Perf"})
+@Description("Slow or sampled timed operation with its key, adapter and latency")
+@StackTrace(false)
+public class OperationEvent extends jdk.jfr.Event {
+
+    public static final String SLOW = "slow";
+    public static final String SAMPLED = "sampled";
+
+    @Label("Scenario")
+    String scenario;
+
+    @Label("Adapter")
+    String adapter;
+
+    @Label("Key")
+    String key;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+
+    @Label("Reason")
+    String reason;
+
+    private OperationEvent() {
+    }
+
+    public static void emit(String scenario, String adapter, CacheKey key, long latencyNanos, String reason) {
+        OperationEvent event = new OperationEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.scenario = scenario;
+        event.adapter = adapter;
+        event.key = key.asString();
+        event.latency = latencyNanos;
+        event.reason = reason;
+        event.commit();
+    }
+}
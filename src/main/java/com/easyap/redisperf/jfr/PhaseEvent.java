@@ -0,0 +1,47 @@
+package com.easyap.redisperf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Warm-up, timed section or cleanup of a scenario, so GC pauses and allocation in the recording can be told apart
+ * by phase.
+ */
+@Name("redisperf.Phase")
+@Label("Scenario Phase")
+@Category({"Redis Perf"})
+@Description("Warm-up, measured section or cleanup of a scenario")
+@StackTrace(false)
+public class PhaseEvent extends jdk.jfr.Event {
+
+    public static final String WARMUP = "warmup";
+    public static final String MEASURE = "measure";
+    public static final String CLEANUP = "cleanup";
+
+    @Label("Scenario")
+    String scenario;
+
+    @Label("Object")
+    String object;
+
+    @Label("Phase")
+    String phase;
+
+    private PhaseEvent(String scenario, String object, String phase) {
+        this.scenario = scenario;
+        this.object = object;
+        this.phase = phase;
+    }
+
+    /**
+     * Starts timing a phase; {@link #commit()} it when the phase is over.
+     */
+    public static PhaseEvent begin(String scenario, String object, String phase) {
+        PhaseEvent event = new PhaseEvent(scenario, object, phase);
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,44 @@
+package com.easyap.redisperf.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans one mode, scenario and object from the adapter being opened until its keys are cleaned up.
+ */
+@Name("redisperf.Scenario")
+@Label("Scenario")
+@Category({"Redis Perf"})
+@Description("One mode, scenario and object, including warm-up and cleanup")
+@StackTrace(false)
+public class ScenarioEvent extends jdk.jfr.Event {
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Scenario")
+    String scenario;
+
+    @Label("Object")
+    String object;
+
+    @Label("Run")
+    int run;
+
+    @Label("Operations")
+    long operations;
+
+    ScenarioEvent(String mode, String scenario, String object, int run) {
+        this.mode = mode;
+        this.scenario = scenario;
+        this.object = object;
+        this.run = run;
+    }
+
+    void operations(long operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,82 @@
+package com.easyap.redisperf.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Locale;
+
+/**
+ * Brackets one mode, scenario and object with a {@link ScenarioEvent} and, with {@code jfr=true}, a Flight
+ * Recorder recording of its own (the JDK {@code profile} settings) saved to {@code benchmark-results/jfr/}.
+ * Without the flag the events still reach any recording started with {@code -XX:StartFlightRecording}.
+ */
+public final class ScenarioRecording implements AutoCloseable {
+
+    private static final Path DIRECTORY = Paths.get("benchmark-results", "jfr");
+
+    private final ScenarioEvent event;
+    private final Recording recording;
+    private final Path destination;
+
+    private ScenarioRecording(ScenarioEvent event, Recording recording, Path destination) {
+        this.event = event;
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    public static ScenarioRecording start(boolean record, String mode, String scenario, String object, int run) {
+        Recording recording = null;
+        Path destination = null;
+        if (record && FlightRecorder.isAvailable()) {
+            destination = DIRECTORY.resolve(fileName(mode, scenario, object, run));
+            try {
+                recording = new Recording(Configuration.getConfiguration("profile"));
+                recording.setName(mode + " | " + scenario + " | " + object + " | run " + run);
+                recording.start();
+            } catch (IOException | ParseException e) {
+                throw new IllegalStateException("Cannot start JFR recording for " + scenario, e);
+            }
+        }
+        ScenarioEvent event = new ScenarioEvent(mode, scenario, object, run);
+        event.begin();
+        return new ScenarioRecording(event, recording, destination);
+    }
+
+    public void operations(long operations) {
+        event.operations(operations);
+    }
+
+    /**
+     * Commits the scenario event and saves the recording, if any.
+     */
+    @Override
+    public void close() {
+        event.commit();
+        if (recording == null) {
+            return;
+        }
+        try {
+            recording.stop();
+            Files.createDirectories(DIRECTORY);
+            recording.dump(destination);
+            System.out.println("  JFR recording saved to " + destination);
+        } catch (IOException e) {
+            System.err.println("Failed to save JFR recording: " + e.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+
+    static String fileName(String mode, String scenario, String object, int run) {
+        String name = (mode + "-" + scenario + "-" + object).toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-|-$", "");
+        return name + "-run" + run + ".jfr";
+    }
+}
@@ -0,0 +1,63 @@
+package com.easyap.redisperf.leaderboard;
+
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.resps.Tuple;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leaderboard on Jedis sorted-set commands: {@code ZADD}, {@code ZINCRBY}, {@code ZREVRANK} and
+ * {@code ZREVRANGE ... WITHSCORES}.
+ */
+public class JedisLeaderboardAdapter implements LeaderboardAdapter {
+
+    private final UnifiedJedis jedis;
+
+    public JedisLeaderboardAdapter(UnifiedJedis jedis) {
+        this.jedis = jedis;
+    }
+
+    @Override
+    public void addAll(String board, Map<String, Double> scores) {
+        jedis.zadd(board, scores);
+    }
+
+    @Override
+    public void setScore(String board, String member, double score) {
+        jedis.zadd(board, score, member);
+    }
+
+    @Override
+    public double incrementScore(String board, String member, double delta) {
+        return jedis.zincrby(board, delta, member);
+    }
+
+    @Override
+    public long rank(String board, String member) {
+        Long rank = jedis.zrevrank(board, member);
+        return rank == null ? -1L : rank;
+    }
+
+    @Override
+    public List<Map.Entry<String, Double>> top(String board, int count) {
+        List<Tuple> tuples = jedis.zrevrangeWithScores(board, 0, count - 1);
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(tuple.getElement(), tuple.getScore()));
+        }
+        return entries;
+    }
+
+    @Override
+    public long size(String board) {
+        return jedis.zcard(board);
+    }
+
+    @Override
+    public void close() {
+        jedis.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.easyap.redisperf.leaderboard;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted-set operations behind a leaderboard. Members are plain strings and scores doubles, stored the same way
+ * by every client, so a board written by one can be read by another.
+ */
+public interface LeaderboardAdapter extends AutoCloseable {
+
+    /**
+     * Adds or moves several members in one command; used to grow a board.
+     */
+    void addAll(String board, Map<String, Double> scores);
+
+    void setScore(String board, String member, double score);
+
+    /**
+     * @return the member's new score
+     */
+    double incrementScore(String board, String member, double delta);
+
+    /**
+     * @return 0-based position from the highest score, or -1 if the member is not on the board
+     */
+    long rank(String board, String member);
+
+    /**
+     * @return up to {@code count} members with their scores, highest first
+     */
+    List<Map.Entry<String, Double>> top(String board, int count);
+
+    long size(String board);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,75 @@
+package com.easyap.redisperf.leaderboard;
+
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leaderboard on Redisson {@link RScoredSortedSet} with {@link StringCodec}, so members are stored as the same
+ * plain strings Jedis writes.
+ */
+public class RedissonLeaderboardAdapter implements LeaderboardAdapter {
+
+    private final RedissonClient client;
+    private final Map<String, RScoredSortedSet<String>> boards = new ConcurrentHashMap<>();
+
+    public RedissonLeaderboardAdapter(RedissonClient client) {
+        this.client = client;
+    }
+
+    /**
+     * One proxy per board, like the other Redisson adapters hold their objects, so the timed calls do not build one.
+     */
+    private RScoredSortedSet<String> boardFor(String board) {
+        return boards.computeIfAbsent(board, name -> client.getScoredSortedSet(name, StringCodec.INSTANCE));
+    }
+
+    @Override
+    public void addAll(String board, Map<String, Double> scores) {
+        boardFor(board).addAll(scores);
+    }
+
+    @Override
+    public void setScore(String board, String member, double score) {
+        boardFor(board).add(score, member);
+    }
+
+    @Override
+    public double incrementScore(String board, String member, double delta) {
+        return boardFor(board).addScore(member, delta);
+    }
+
+    @Override
+    public long rank(String board, String member) {
+        Integer rank = boardFor(board).revRank(member);
+        return rank == null ? -1L : rank;
+    }
+
+    @Override
+    public List<Map.Entry<String, Double>> top(String board, int count) {
+        Collection<ScoredEntry<String>> scored = boardFor(board).entryRangeReversed(0, count - 1);
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(scored.size());
+        for (ScoredEntry<String> entry : scored) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getValue(), entry.getScore()));
+        }
+        return entries;
+    }
+
+    @Override
+    public long size(String board) {
+        return boardFor(board).size();
+    }
+
+    @Override
+    public void close() {
+        client.shutdown();
+    }
+}
@@ -0,0 +1,43 @@
+package com.easyap.redisperf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-thread allocated-bytes counter from the HotSpot {@code com.sun.management.ThreadMXBean}. On JVMs without
+ * it, {@link #currentThreadAllocatedBytes()} returns -1 and callers skip the measurement.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = resolve();
+
+    private AllocationMeter() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        if (THREADS == null) {
+            return -1L;
+        }
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean resolve() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+                if (hotspot.isThreadAllocatedMemorySupported()) {
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                    return hotspot;
+                }
+            }
+        } catch (RuntimeException | LinkageError ignored) {
+            // not a HotSpot-compatible JVM
+        }
+        return null;
+    }
+}
@@ -1,5 +1,9 @@
 package com.easyap.redisperf.metrics;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class BenchmarkResult {
 
     private final String scenario;
@@ -7,17 +11,28 @@ public class BenchmarkResult {
     private final long operations;
     private final long durationNanos;
     private final LatencyCollector.LatencySnapshot latencySnapshot;
+    private final Map<String, Long> counters;
 
     public BenchmarkResult(String scenario,
                            String objectType,
                            long operations,
                            long durationNanos,
                            LatencyCollector.LatencySnapshot latencySnapshot) {
+        this(scenario, objectType, operations, durationNanos, latencySnapshot, Collections.emptyMap());
+    }
+
+    public BenchmarkResult(String scenario,
+                           String objectType,
+                           long operations,
+                           long durationNanos,
+                           LatencyCollector.LatencySnapshot latencySnapshot,
+                           Map<String, Long> counters) {
         this.scenario = scenario;
         this.objectType = objectType;
         this.operations = operations;
         this.durationNanos = durationNanos;
         this.latencySnapshot = latencySnapshot;
+        this.counters = Collections.unmodifiableMap(new LinkedHashMap<>(counters));
     }
 
     public String getScenario() {
@@ -40,6 +55,26 @@ public class BenchmarkResult {
         return latencySnapshot;
     }
 
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * Total of an event counter over every client of the scenario: scenarios with several clients report their
+     * counters prefixed per client (e.g. {@code reader.nearCache.hits}). Only meaningful for counts, not for
+     * percentiles or sizes.
+     */
+    public static long sumEvents(Map<String, Long> counters, String name) {
+        long total = 0;
+        String suffix = "." + name;
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            if (entry.getKey().equals(name) || entry.getKey().endsWith(suffix)) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
     public double throughputPerSecond() {
         double seconds = durationNanos / 1_000_000_000.0;
         if (seconds == 0) {
@@ -48,6 +83,17 @@ public class BenchmarkResult {
         return operations / seconds;
     }
 
+    /**
+     * Process CPU time per operation in microseconds (see {@link CpuProbe}), or {@code NaN} when it was not measured.
+     */
+    public double cpuMicrosPerOperation() {
+        Long cpuMicros = counters.get("cpu.processMicros");
+        if (cpuMicros == null || operations == 0) {
+            return Double.NaN;
+        }
+        return cpuMicros / (double) operations;
+    }
+
     public double averageLatencyMillis() {
         if (operations == 0) {
             return 0.0;
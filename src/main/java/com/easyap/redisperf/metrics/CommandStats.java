@@ -0,0 +1,33 @@
+package com.easyap.redisperf.metrics;
+
+import redis.clients.jedis.Jedis;
+
+import java.util.Locale;
+
+/**
+ * Server-side command counters from {@code INFO commandstats}. They count what a server actually served, whatever
+ * client and routing produced the traffic.
+ */
+public final class CommandStats {
+
+    private CommandStats() {
+    }
+
+    /**
+     * Calls of {@code command} since the server started (or the last {@code CONFIG RESETSTAT}); 0 if never called.
+     */
+    public static long calls(Jedis jedis, String command) {
+        String prefix = "cmdstat_" + command.toLowerCase(Locale.ROOT) + ":";
+        for (String line : jedis.info("commandstats").split("\r?\n")) {
+            if (!line.startsWith(prefix)) {
+                continue;
+            }
+            for (String field : line.substring(prefix.length()).split(",")) {
+                if (field.startsWith("calls=")) {
+                    return Long.parseLong(field.substring("calls=".length()));
+                }
+            }
+        }
+        return 0L;
+    }
+}
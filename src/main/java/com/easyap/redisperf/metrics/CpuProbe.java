@@ -0,0 +1,156 @@
+package com.easyap.redisperf.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CPU time spent during one measured test, for the whole process and per thread group: benchmark workers, Netty
+ * event loops (Redisson), the Jedis pool evictor, near-cache tracking listeners, the harness's own threads and
+ * any other Java thread. {@code cpu.jvmInternalMicros} is the rest of the process time: GC and JIT threads, and
+ * threads that ended before {@link #finish()}. Call {@code finish()} before the worker pool is shut down so the
+ * workers are still there to be read.
+ */
+public final class CpuProbe {
+
+    public static final String WORKER_THREAD_PREFIX = "benchmark-worker-";
+
+    private static final List<Group> GROUPS = Arrays.asList(
+            new Group("workers", WORKER_THREAD_PREFIX),
+            new Group("netty", "redisson-", "nioEventLoopGroup-", "epollEventLoopGroup-", "globalEventExecutor-"),
+            new Group("poolEvictor", "commons-pool-evictor"),
+            new Group("listeners", "near-cache-tracking-"),
+            new Group("harness", "main", "gauge-sampler", "keyspace-cleaner", "HTTP-Dispatcher"));
+    private static final String OTHER_THREADS = "otherThreads";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.OperatingSystemMXBean PROCESS = resolveProcess();
+    private static final AtomicInteger WORKER_SEQUENCE = new AtomicInteger();
+
+    private final long startProcessNanos;
+    private final Map<Long, Long> startThreadNanos;
+
+    private CpuProbe() {
+        this.startProcessNanos = processCpuNanos();
+        this.startThreadNanos = threadCpuNanos();
+    }
+
+    public static boolean isSupported() {
+        return PROCESS != null && THREADS.isThreadCpuTimeSupported();
+    }
+
+    public static CpuProbe start() {
+        if (isSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        return new CpuProbe();
+    }
+
+    /**
+     * Names pool threads {@code benchmark-worker-N} so their CPU time is attributed to the workers group.
+     */
+    public static ThreadFactory workerThreads() {
+        return runnable -> new Thread(runnable, WORKER_THREAD_PREFIX + WORKER_SEQUENCE.incrementAndGet());
+    }
+
+    /**
+     * @return {@code cpu.processMicros} and {@code cpu.<group>Micros}; empty when the JVM cannot measure CPU time
+     */
+    public Map<String, Long> finish() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        if (!isSupported()) {
+            return counters;
+        }
+        long processNanos = processCpuNanos() - startProcessNanos;
+        Map<Long, Long> endThreadNanos = threadCpuNanos();
+        long[] ids = new long[endThreadNanos.size()];
+        int index = 0;
+        for (Long id : endThreadNanos.keySet()) {
+            ids[index++] = id;
+        }
+        ThreadInfo[] infos = THREADS.getThreadInfo(ids);
+
+        Map<String, Long> byGroup = new LinkedHashMap<>();
+        for (Group group : GROUPS) {
+            byGroup.put(group.name, 0L);
+        }
+        byGroup.put(OTHER_THREADS, 0L);
+        long threadsTotal = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] == null) {
+                continue;
+            }
+            long delta = endThreadNanos.get(ids[i]) - startThreadNanos.getOrDefault(ids[i], 0L);
+            if (delta <= 0) {
+                continue;
+            }
+            byGroup.merge(groupOf(infos[i].getThreadName()), delta, Long::sum);
+            threadsTotal += delta;
+        }
+
+        counters.put("cpu.processMicros", processNanos / 1_000L);
+        byGroup.forEach((group, nanos) -> counters.put("cpu." + group + "Micros", nanos / 1_000L));
+        counters.put("cpu.jvmInternalMicros", Math.max(0L, processNanos - threadsTotal) / 1_000L);
+        return counters;
+    }
+
+    private static String groupOf(String threadName) {
+        for (Group group : GROUPS) {
+            for (String prefix : group.prefixes) {
+                if (threadName.startsWith(prefix)) {
+                    return group.name;
+                }
+            }
+        }
+        return OTHER_THREADS;
+    }
+
+    private static long processCpuNanos() {
+        return PROCESS == null ? 0L : Math.max(0L, PROCESS.getProcessCpuTime());
+    }
+
+    private static Map<Long, Long> threadCpuNanos() {
+        Map<Long, Long> nanos = new HashMap<>();
+        if (!isSupported()) {
+            return nanos;
+        }
+        for (long id : THREADS.getAllThreadIds()) {
+            long cpu = THREADS.getThreadCpuTime(id);
+            if (cpu >= 0) {
+                nanos.put(id, cpu);
+            }
+        }
+        return nanos;
+    }
+
+    private static com.sun.management.OperatingSystemMXBean resolveProcess() {
+        try {
+            OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+            if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+                return (com.sun.management.OperatingSystemMXBean) bean;
+            }
+        } catch (RuntimeException | LinkageError ignored) {
+            // not a HotSpot-compatible JVM
+        }
+        return null;
+    }
+
+    private static final class Group {
+
+        final String name;
+        final String[] prefixes;
+
+        Group(String name, String... prefixes) {
+            this.name = name;
+            this.prefixes = prefixes;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.easyap.redisperf.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Polls a set of gauges (pool active/idle counts, queue depths, ...) on a daemon thread while a test runs and
+ * reports their average and maximum.
+ */
+public final class GaugeSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MILLIS = 50L;
+
+    private final List<Gauge> gauges = new ArrayList<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private GaugeSampler(Map<String, LongSupplier> suppliers) {
+        suppliers.forEach((name, supplier) -> gauges.add(new Gauge(name, supplier)));
+        this.thread = new Thread(this::loop, "gauge-sampler");
+        this.thread.setDaemon(true);
+    }
+
+    public static GaugeSampler start(Map<String, LongSupplier> suppliers) {
+        GaugeSampler sampler = new GaugeSampler(suppliers);
+        if (!sampler.gauges.isEmpty()) {
+            sampler.thread.start();
+        }
+        return sampler;
+    }
+
+    private void loop() {
+        while (running) {
+            sampleOnce();
+            try {
+                Thread.sleep(INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void sampleOnce() {
+        for (Gauge gauge : gauges) {
+            try {
+                gauge.sample();
+            } catch (RuntimeException e) {
+                gauge.failed = true;
+            }
+        }
+    }
+
+    /**
+     * Stops sampling and returns {@code <name>.avg} and {@code <name>.max} for every gauge that produced samples.
+     */
+    public Map<String, Long> finish() {
+        close();
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (Gauge gauge : gauges) {
+            if (gauge.samples > 0) {
+                counters.put(gauge.name + ".avg", gauge.sum / gauge.samples);
+                counters.put(gauge.name + ".max", gauge.max);
+            }
+        }
+        return counters;
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (thread.isAlive()) {
+            thread.interrupt();
+            try {
+                thread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Gauge {
+        private final String name;
+        private final LongSupplier supplier;
+        private long samples;
+        private long sum;
+        private long max;
+        private boolean failed;
+
+        Gauge(String name, LongSupplier supplier) {
+            this.name = name;
+            this.supplier = supplier;
+        }
+
+        void sample() {
+            if (failed) {
+                return;
+            }
+            long value = supplier.getAsLong();
+            samples++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.easyap.redisperf.metrics;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Captures GC activity and memory occupancy around one measured test. Start it right before the timed region
+ * and call {@link #finish()} while the adapters under test are still open, so retained heap and direct memory
+ * include their local caches.
+ */
+public final class JvmProbe {
+
+    private final long startGcCount;
+    private final long startGcMillis;
+
+    private JvmProbe() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+        this.startGcCount = gcCount();
+        this.startGcMillis = gcMillis();
+    }
+
+    public static JvmProbe start() {
+        return new JvmProbe();
+    }
+
+    /**
+     * GC deltas are read first; retained heap is then measured after an explicit collection, which is not
+     * counted against the test.
+     */
+    public Map<String, Long> finish() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("jvm.gcCount", gcCount() - startGcCount);
+        counters.put("jvm.gcMillis", gcMillis() - startGcMillis);
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        counters.put("jvm.heapPeakBytes", peak);
+        System.gc();
+        counters.put("jvm.heapRetainedBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                counters.put("jvm.directBytes", pool.getMemoryUsed());
+            }
+        }
+        return counters;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
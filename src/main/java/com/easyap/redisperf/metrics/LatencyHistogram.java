@@ -0,0 +1,146 @@
+package com.easyap.redisperf.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram: every power-of-two range of nanoseconds is split into 16 linear buckets, so a
+ * reported percentile is within ~6% of the true value. Unlike {@link LatencyCollector} it keeps every sample
+ * and two histograms can be merged, e.g. across threads, pools or JVMs.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        total.addAndGet(other.total.get());
+        sum.addAndGet(other.sum.get());
+        long otherMax = other.max.get();
+        long current = max.get();
+        while (otherMax > current && !max.compareAndSet(current, otherMax)) {
+            current = max.get();
+        }
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long maxNanos() {
+        return max.get();
+    }
+
+    public long meanNanos() {
+        long count = total.get();
+        return count == 0 ? 0L : sum.get() / count;
+    }
+
+    /**
+     * Upper bound of the bucket holding the requested percentile (0..1), capped at the recorded maximum.
+     */
+    public long percentileNanos(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public LatencyCollector.LatencySnapshot snapshot() {
+        return new LatencyCollector.LatencySnapshot(percentileNanos(0.50), percentileNanos(0.95), percentileNanos(0.99));
+    }
+
+    /**
+     * Raw bucket counts, for shipping a histogram to another process; see {@link #fromBuckets}.
+     */
+    public long[] buckets() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    public static LatencyHistogram fromBuckets(long[] buckets, long sumNanos, long maxNanos) {
+        if (buckets.length != BUCKETS) {
+            throw new IllegalArgumentException("Expected " + BUCKETS + " buckets but got " + buckets.length);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.counts.set(i, buckets[i]);
+            count += buckets[i];
+        }
+        histogram.total.set(count);
+        histogram.sum.set(sumNanos);
+        histogram.max.set(maxNanos);
+        return histogram;
+    }
+
+    public long sumNanos() {
+        return sum.get();
+    }
+
+    /**
+     * Samples in buckets lying entirely at or below {@code nanos}, i.e. a cumulative count that may miss part of
+     * the bucket straddling the bound.
+     */
+    public long countAtMost(long nanos) {
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && upperBoundOf(i) <= nanos; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        long subBucket = bucket % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return subBucket;
+        }
+        long lower = (SUB_BUCKETS + subBucket) << (magnitude - 1);
+        return lower + (1L << (magnitude - 1)) - 1;
+    }
+}
@@ -0,0 +1,211 @@
+package com.easyap.redisperf.metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of the timed sections currently running and already finished, rendered in the Prometheus
+ * text format by {@link MetricsEndpoint}. Recording is off until the endpoint is started, so runs without
+ * {@code metricsPort} pay nothing for it.
+ */
+public final class LiveMetrics {
+
+    /** Bucket bounds of {@code redisperf_iteration_latency_seconds}, in nanoseconds. */
+    private static final long[] BOUNDS_NANOS = {
+            50_000L, 100_000L, 250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L,
+            10_000_000L, 25_000_000L, 50_000_000L, 100_000_000L, 250_000_000L, 1_000_000_000L
+    };
+
+    private static volatile boolean enabled;
+    private static final Map<String, Section> SECTIONS = new LinkedHashMap<>();
+
+    private LiveMetrics() {
+    }
+
+    static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Registers a timed section; counters stay exported after {@link Section#end()}, gauges and adapter counters
+     * only while it runs (the adapter is closed afterwards). A repeated scenario and object (e.g. with
+     * {@code runs}) keeps adding to the same counters.
+     *
+     * @return {@code null} when no endpoint is running
+     */
+    public static Section begin(String scenario, String object, Map<String, LongSupplier> gauges, Supplier<Map<String, Long>> counters) {
+        if (!enabled) {
+            return null;
+        }
+        String labels = "scenario=\"" + escape(scenario) + "\",object=\"" + escape(object) + "\"";
+        Section section;
+        synchronized (SECTIONS) {
+            section = SECTIONS.computeIfAbsent(labels, Section::new);
+        }
+        section.attach(gauges, counters);
+        return section;
+    }
+
+    static String scrape() {
+        List<Section> sections;
+        synchronized (SECTIONS) {
+            sections = new ArrayList<>(SECTIONS.values());
+        }
+        StringBuilder out = new StringBuilder(4_096);
+
+        header(out, "redisperf_active", "gauge", "1 while the scenario's timed section runs.");
+        for (Section section : sections) {
+            sample(out, "redisperf_active", section.labels, section.active ? 1 : 0);
+        }
+        header(out, "redisperf_operations_total", "counter", "Cache operations completed (a set and a get count as two).");
+        for (Section section : sections) {
+            sample(out, "redisperf_operations_total", section.labels, section.operations.sum());
+        }
+        header(out, "redisperf_errors_total", "counter", "Iterations that failed with an exception or an unexpected miss.");
+        for (Section section : sections) {
+            sample(out, "redisperf_errors_total", section.labels, section.errors.sum());
+        }
+        header(out, "redisperf_iteration_latency_seconds", "histogram", "Latency of one timed iteration.");
+        for (Section section : sections) {
+            LatencyHistogram histogram = section.histogram;
+            for (long bound : BOUNDS_NANOS) {
+                sample(out, "redisperf_iteration_latency_seconds_bucket",
+                        section.labels + ",le=\"" + BigDecimal.valueOf(seconds(bound)).toPlainString() + "\"", histogram.countAtMost(bound));
+            }
+            long count = histogram.count();
+            sample(out, "redisperf_iteration_latency_seconds_bucket", section.labels + ",le=\"+Inf\"", count);
+            sample(out, "redisperf_iteration_latency_seconds_sum", section.labels, seconds(histogram.sumNanos()));
+            sample(out, "redisperf_iteration_latency_seconds_count", section.labels, count);
+        }
+
+        StringBuilder gaugeSamples = new StringBuilder();
+        StringBuilder counterSamples = new StringBuilder();
+        StringBuilder ratioSamples = new StringBuilder();
+        for (Section section : sections) {
+            if (!section.active) {
+                continue;
+            }
+            section.gauges.forEach((name, gauge) -> {
+                try {
+                    sample(gaugeSamples, "redisperf_gauge", section.labels + ",gauge=\"" + escape(name) + "\"", gauge.getAsLong());
+                } catch (RuntimeException ignored) {
+                    // gauge not readable right now
+                }
+            });
+            Map<String, Long> counters;
+            try {
+                counters = section.counters.get();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            counters.forEach((name, value) ->
+                    sample(counterSamples, "redisperf_adapter_counter", section.labels + ",counter=\"" + escape(name) + "\"", value));
+            long hits = BenchmarkResult.sumEvents(counters, "nearCache.hits");
+            long misses = BenchmarkResult.sumEvents(counters, "nearCache.misses");
+            if (hits + misses > 0) {
+                sample(ratioSamples, "redisperf_near_cache_hit_ratio", section.labels, hits / (double) (hits + misses));
+            }
+        }
+        header(out, "redisperf_gauge", "gauge", "Adapter gauges of the running scenario (pool.active, pool.idle, pool.waiters, redisson.inFlight).");
+        out.append(gaugeSamples);
+        header(out, "redisperf_adapter_counter", "gauge", "Adapter counters of the running scenario (pool borrows, near-cache hits, ...).");
+        out.append(counterSamples);
+        header(out, "redisperf_near_cache_hit_ratio", "gauge", "nearCache.hits / (hits + misses) of the running scenario.");
+        out.append(ratioSamples);
+
+        header(out, "jvm_gc_collections_total", "counter", "GC collections since JVM start.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total", "gc=\"" + escape(gc.getName()) + "\"", Math.max(0, gc.getCollectionCount()));
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "Time spent in GC since JVM start.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collection_seconds_total", "gc=\"" + escape(gc.getName()) + "\"", Math.max(0, gc.getCollectionTime()) / 1_000.0);
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(out, "jvm_memory_heap_used_bytes", "gauge", "Heap in use.");
+        sample(out, "jvm_memory_heap_used_bytes", "", heap.getUsed());
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(String.format(Locale.ROOT, "%.9g", value));
+        }
+        out.append('\n');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * One timed section: a scenario on one object. Record from the worker threads, then {@link #end()}.
+     */
+    public static final class Section {
+
+        private final String labels;
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private volatile Map<String, LongSupplier> gauges = Collections.emptyMap();
+        private volatile Supplier<Map<String, Long>> counters = Collections::emptyMap;
+        private volatile boolean active;
+
+        private Section(String labels) {
+            this.labels = labels;
+        }
+
+        private void attach(Map<String, LongSupplier> gauges, Supplier<Map<String, Long>> counters) {
+            this.gauges = new LinkedHashMap<>(gauges);
+            this.counters = counters;
+            this.active = true;
+        }
+
+        public void record(long nanos, int operations) {
+            histogram.record(nanos);
+            this.operations.add(operations);
+        }
+
+        /**
+         * Operations outside the timed latency, e.g. Read-Mostly writes.
+         */
+        public void count(int operations) {
+            this.operations.add(operations);
+        }
+
+        public void error() {
+            errors.increment();
+        }
+
+        public void end() {
+            active = false;
+        }
+    }
+}
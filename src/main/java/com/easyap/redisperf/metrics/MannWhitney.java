@@ -0,0 +1,147 @@
+package com.easyap.redisperf.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Two-sided Mann-Whitney U test: do two sets of runs come from the same distribution? Rank-based, so it holds for
+ * the skewed, outlier-prone numbers benchmarks produce. Small samples without ties get the exact distribution of U;
+ * otherwise the normal approximation with tie and continuity correction is used.
+ */
+public final class MannWhitney {
+
+    private static final int EXACT_LIMIT = 30;
+
+    private MannWhitney() {
+    }
+
+    /**
+     * @return two-sided p-value of {@code first} and {@code second} sharing a distribution
+     */
+    public static double pValue(double[] first, double[] second) {
+        int n1 = first.length;
+        int n2 = second.length;
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("Both samples need at least one value");
+        }
+        int n = n1 + n2;
+        double[] pooled = new double[n];
+        System.arraycopy(first, 0, pooled, 0, n1);
+        System.arraycopy(second, 0, pooled, n1, n2);
+        double[] sorted = pooled.clone();
+        Arrays.sort(sorted);
+
+        double rankSum = 0.0;
+        for (double value : first) {
+            rankSum += midRank(sorted, value);
+        }
+        double u = rankSum - n1 * (n1 + 1) / 2.0;
+
+        double tieTerm = 0.0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && sorted[j] == sorted[i]) {
+                j++;
+            }
+            double ties = j - i;
+            tieTerm += ties * ties * ties - ties;
+            i = j;
+        }
+
+        if (tieTerm == 0.0 && n <= EXACT_LIMIT) {
+            return exactPValue((long) u, n1, n2);
+        }
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / (n * (double) (n - 1)));
+        if (variance <= 0.0) {
+            return 1.0;
+        }
+        double z = (Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1.0, 2.0 * (1.0 - standardNormalCdf(Math.max(0.0, z))));
+    }
+
+    /**
+     * Smallest p-value the test can return for these sample sizes: with too few runs no difference, however large,
+     * can reach a given significance level.
+     */
+    public static double minimumPValue(int n1, int n2) {
+        double arrangements = 1.0;
+        for (int i = 1; i <= n2; i++) {
+            arrangements = arrangements * (n1 + i) / i;
+        }
+        return Math.min(1.0, 2.0 / arrangements);
+    }
+
+    private static double midRank(double[] sorted, double value) {
+        int low = lowerBound(sorted, value);
+        int high = low;
+        while (high < sorted.length && sorted[high] == value) {
+            high++;
+        }
+        return (low + 1 + high) / 2.0;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Counts, for every U, the orderings of n1 + n2 distinct values that produce it (f(m, n, u) = f(m - 1, n, u - n)
+     * + f(m, n - 1, u)) and doubles the smaller tail.
+     */
+    private static double exactPValue(long u, int n1, int n2) {
+        int maxU = n1 * n2;
+        double[][] previous = new double[n2 + 1][];
+        for (int j = 0; j <= n2; j++) {
+            previous[j] = new double[maxU + 1];
+            previous[j][0] = 1.0;
+        }
+        for (int i = 1; i <= n1; i++) {
+            double[][] current = new double[n2 + 1][maxU + 1];
+            current[0][0] = 1.0;
+            for (int j = 1; j <= n2; j++) {
+                for (int k = 0; k <= i * j; k++) {
+                    double count = current[j - 1][k];
+                    if (k >= j) {
+                        count += previous[j][k - j];
+                    }
+                    current[j][k] = count;
+                }
+            }
+            previous = current;
+        }
+        double[] counts = previous[n2];
+        double total = 0.0;
+        double lower = 0.0;
+        double upper = 0.0;
+        for (int k = 0; k <= maxU; k++) {
+            total += counts[k];
+            if (k <= u) {
+                lower += counts[k];
+            }
+            if (k >= u) {
+                upper += counts[k];
+            }
+        }
+        return Math.min(1.0, 2.0 * Math.min(lower, upper) / total);
+    }
+
+    /**
+     * Abramowitz-Stegun 26.2.17, accurate to ~1e-7.
+     */
+    private static double standardNormalCdf(double z) {
+        double t = 1.0 / (1.0 + 0.2316419 * Math.abs(z));
+        double density = Math.exp(-z * z / 2.0) / Math.sqrt(2.0 * Math.PI);
+        double tail = density * t * (0.319381530 + t * (-0.356563782 + t * (1.781477937 + t * (-1.821255978 + t * 1.330274429))));
+        return z >= 0 ? 1.0 - tail : tail;
+    }
+}
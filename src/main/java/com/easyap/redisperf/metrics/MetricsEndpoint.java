@@ -0,0 +1,60 @@
+package com.easyap.redisperf.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves {@link LiveMetrics} on {@code http://<host>:<port>/metrics} in the Prometheus text format, so a long run
+ * can be watched on the same dashboards as the Redis server it hits.
+ */
+public final class MetricsEndpoint implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+
+    private MetricsEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @param port {@code 0} or less leaves the endpoint (and live recording) off
+     */
+    public static MetricsEndpoint start(int port) {
+        if (port <= 0) {
+            return new MetricsEndpoint(null);
+        }
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+            server.createContext("/metrics", MetricsEndpoint::handle);
+            server.start();
+            LiveMetrics.enable();
+            System.out.printf("Prometheus metrics on http://0.0.0.0:%d/metrics%n", port);
+            return new MetricsEndpoint(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open metrics endpoint on port " + port, e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] body = LiveMetrics.scrape().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
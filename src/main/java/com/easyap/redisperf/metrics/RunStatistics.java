@@ -0,0 +1,128 @@
+package com.easyap.redisperf.metrics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Summary statistics over the repeated runs of one scenario, with percentile-bootstrap confidence intervals. A
+ * handful of runs is all a benchmark usually gets, so nothing here assumes normality; the resampling seed is fixed
+ * so a report can be reproduced from the same samples.
+ */
+public final class RunStatistics {
+
+    public static final int BOOTSTRAP_RESAMPLES = 10_000;
+    public static final double CONFIDENCE = 0.95;
+    private static final long SEED = 0x5eedL;
+
+    private final double[] samples;
+    private final double mean;
+    private final double stdev;
+    private final double min;
+    private final double max;
+    private final double ciLow;
+    private final double ciHigh;
+
+    private RunStatistics(double[] samples) {
+        this.samples = samples;
+        this.mean = mean(samples);
+        double squares = 0.0;
+        for (double sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        this.stdev = samples.length < 2 ? 0.0 : Math.sqrt(squares / (samples.length - 1));
+        this.min = Arrays.stream(samples).min().orElse(0.0);
+        this.max = Arrays.stream(samples).max().orElse(0.0);
+        double[] means = new double[BOOTSTRAP_RESAMPLES];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < BOOTSTRAP_RESAMPLES; i++) {
+            means[i] = resampledMean(samples, random);
+        }
+        Arrays.sort(means);
+        this.ciLow = quantile(means, (1.0 - CONFIDENCE) / 2.0);
+        this.ciHigh = quantile(means, 1.0 - (1.0 - CONFIDENCE) / 2.0);
+    }
+
+    public static RunStatistics of(double... samples) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        return new RunStatistics(samples.clone());
+    }
+
+    public int runs() {
+        return samples.length;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Sample standard deviation; 0 for a single run.
+     */
+    public double stdev() {
+        return stdev;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * {@code (max - min) / mean} in percent.
+     */
+    public double spreadPercent() {
+        return mean == 0.0 ? 0.0 : (max - min) * 100.0 / mean;
+    }
+
+    public double ciLow() {
+        return ciLow;
+    }
+
+    public double ciHigh() {
+        return ciHigh;
+    }
+
+    /**
+     * Bootstrap interval of {@code mean(this) - mean(other)}, resampling both sides independently.
+     *
+     * @return {@code [low, high]}
+     */
+    public double[] differenceInterval(RunStatistics other) {
+        double[] differences = new double[BOOTSTRAP_RESAMPLES];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < BOOTSTRAP_RESAMPLES; i++) {
+            differences[i] = resampledMean(samples, random) - resampledMean(other.samples, random);
+        }
+        Arrays.sort(differences);
+        return new double[]{
+                quantile(differences, (1.0 - CONFIDENCE) / 2.0),
+                quantile(differences, 1.0 - (1.0 - CONFIDENCE) / 2.0)
+        };
+    }
+
+    private static double resampledMean(double[] samples, SplittableRandom random) {
+        double sum = 0.0;
+        for (int i = 0; i < samples.length; i++) {
+            sum += samples[random.nextInt(samples.length)];
+        }
+        return sum / samples.length;
+    }
+
+    private static double mean(double[] samples) {
+        double sum = 0.0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return sum / samples.length;
+    }
+
+    private static double quantile(double[] sorted, double q) {
+        int index = (int) Math.round(q * (sorted.length - 1));
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,97 @@
+package com.easyap.redisperf.metrics;
+
+import com.easyap.redisperf.config.RedisEndpoint;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the server-side connections of each named client through {@code CLIENT LIST}. This is the only view of
+ * Redisson's connection usage that does not depend on its internals. Against a cluster the counts of every primary
+ * are summed.
+ */
+public final class ServerConnectionGauge implements AutoCloseable {
+
+    private final List<Jedis> connections;
+
+    private ServerConnectionGauge(List<Jedis> connections) {
+        this.connections = connections;
+    }
+
+    public static ServerConnectionGauge open(String redisUri) {
+        return open(Collections.singletonList(redisUri));
+    }
+
+    public static ServerConnectionGauge open(List<String> redisUris) {
+        return new ServerConnectionGauge(telemetryConnections(redisUris));
+    }
+
+    static List<Jedis> telemetryConnections(List<String> redisUris) {
+        if (redisUris.isEmpty()) {
+            throw new IllegalArgumentException("redisUris must not be empty");
+        }
+        List<Jedis> connections = new ArrayList<>(redisUris.size());
+        for (String redisUri : redisUris) {
+            connections.add(telemetryConnection(redisUri));
+        }
+        return connections;
+    }
+
+    static void closeAll(List<Jedis> connections) {
+        for (Jedis jedis : connections) {
+            jedis.close();
+        }
+    }
+
+    /**
+     * A plain connection named {@code redisperf-telemetry}, so it is never counted as one of the clients under test.
+     */
+    static Jedis telemetryConnection(String redisUri) {
+        RedisEndpoint endpoint = RedisEndpoint.fromUri(redisUri);
+        DefaultJedisClientConfig.Builder builder = DefaultJedisClientConfig.builder()
+                .database(endpoint.database())
+                .ssl(endpoint.ssl())
+                .clientName("redisperf-telemetry");
+        if (endpoint.password() != null) {
+            builder.password(endpoint.password());
+        }
+        return new Jedis(new HostAndPort(endpoint.host(), endpoint.port()), builder.build());
+    }
+
+    /**
+     * One gauge per client name, named {@code server.connections.<clientName>}. The gauges share this connection
+     * and must be polled from a single thread.
+     */
+    public Map<String, LongSupplier> gauges(String... clientNames) {
+        Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+        for (String clientName : clientNames) {
+            gauges.put("server.connections." + clientName, () -> count(clientName));
+        }
+        return gauges;
+    }
+
+    private long count(String clientName) {
+        String marker = " name=" + clientName + " ";
+        long count = 0;
+        for (Jedis jedis : connections) {
+            for (String line : jedis.clientList().split("\n")) {
+                if (line.contains(marker)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closeAll(connections);
+    }
+}
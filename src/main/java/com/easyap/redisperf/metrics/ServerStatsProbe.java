@@ -0,0 +1,228 @@
+package com.easyap.redisperf.metrics;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Snapshots {@code INFO stats}, {@code commandstats}, {@code clients} and {@code memory} before and after one
+ * measured test, so a result shows what the server did for it: commands and server time per command, commands per
+ * client operation (hidden PINGs, extra round trips), network bytes and the client-side caching tracking table.
+ * The harness's own {@code INFO} and {@code CLIENT LIST} calls are left out of the command counts; network bytes
+ * include them. Against a cluster every primary is probed and the figures are summed, so they cover the whole run.
+ */
+public final class ServerStatsProbe implements AutoCloseable {
+
+    private static final List<String> TELEMETRY_COMMANDS = Arrays.asList("info", "client", "client|list");
+
+    private final List<Jedis> connections;
+    private final Snapshot start;
+
+    private ServerStatsProbe(List<Jedis> connections) {
+        this.connections = connections;
+        this.start = snapshot();
+    }
+
+    public static ServerStatsProbe start(String redisUri) {
+        return start(Collections.singletonList(redisUri));
+    }
+
+    /**
+     * @param redisUris every server the run touches, e.g. all cluster primaries
+     */
+    public static ServerStatsProbe start(List<String> redisUris) {
+        return new ServerStatsProbe(ServerConnectionGauge.telemetryConnections(redisUris));
+    }
+
+    /**
+     * @return {@code server.*} deltas (and end values for gauges such as {@code server.trackingKeys}); empty when
+     * the server could not be read
+     */
+    public Map<String, Long> finish() {
+        Snapshot end = snapshot();
+        Map<String, Long> counters = new LinkedHashMap<>();
+        if (start == null || end == null) {
+            return counters;
+        }
+        long calls = 0;
+        long usec = 0;
+        Map<String, Long> perCommand = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : end.commands.entrySet()) {
+            if (TELEMETRY_COMMANDS.contains(entry.getKey())) {
+                continue;
+            }
+            long[] before = start.commands.getOrDefault(entry.getKey(), new long[2]);
+            long commandCalls = entry.getValue()[0] - before[0];
+            if (commandCalls <= 0) {
+                continue;
+            }
+            long commandUsec = entry.getValue()[1] - before[1];
+            perCommand.put("server.cmd." + entry.getKey() + ".calls", commandCalls);
+            perCommand.put("server.cmd." + entry.getKey() + ".usec", commandUsec);
+            calls += commandCalls;
+            usec += commandUsec;
+        }
+        counters.put("server.commands", calls);
+        counters.put("server.commandUsec", usec);
+        putDelta(counters, "server.netInputBytes", "total_net_input_bytes", end);
+        putDelta(counters, "server.netOutputBytes", "total_net_output_bytes", end);
+        putDelta(counters, "server.keyspaceHits", "keyspace_hits", end);
+        putDelta(counters, "server.keyspaceMisses", "keyspace_misses", end);
+        putValue(counters, "server.trackingKeys", "tracking_total_keys", end);
+        putValue(counters, "server.trackingClients", "tracking_clients", end);
+        putValue(counters, "server.connectedClients", "connected_clients", end);
+        putValue(counters, "server.usedMemoryBytes", "used_memory", end);
+        counters.putAll(perCommand);
+        return counters;
+    }
+
+    /**
+     * Average server time per command in microseconds, or {@code NaN} without server stats.
+     */
+    public static double usecPerCommand(Map<String, Long> counters) {
+        Long calls = counters.get("server.commands");
+        Long usec = counters.get("server.commandUsec");
+        if (calls == null || usec == null || calls == 0) {
+            return Double.NaN;
+        }
+        return usec / (double) calls;
+    }
+
+    /**
+     * Commands the server executed per operation counted by the client, or {@code NaN} without server stats.
+     */
+    public static double commandsPerOperation(Map<String, Long> counters, long operations) {
+        Long calls = counters.get("server.commands");
+        if (calls == null || operations == 0) {
+            return Double.NaN;
+        }
+        return calls / (double) operations;
+    }
+
+    /**
+     * One line for the console and notes: server time per command, commands per operation, network bytes, tracked
+     * keys, then every command with its calls and average time.
+     */
+    public static String summary(Map<String, Long> counters, long operations) {
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "Server: %.1f us/cmd | %.2f cmd/op",
+                usecPerCommand(counters), commandsPerOperation(counters, operations)));
+        line.append(String.format(Locale.ROOT, " | net in %.1f MB, out %.1f MB",
+                counters.getOrDefault("server.netInputBytes", 0L) / 1_000_000.0,
+                counters.getOrDefault("server.netOutputBytes", 0L) / 1_000_000.0));
+        Long tracked = counters.get("server.trackingKeys");
+        if (tracked != null) {
+            line.append(" | tracked keys ").append(tracked);
+        }
+        String separator = " | ";
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            String name = entry.getKey();
+            if (!name.startsWith("server.cmd.") || !name.endsWith(".calls")) {
+                continue;
+            }
+            String command = name.substring("server.cmd.".length(), name.length() - ".calls".length());
+            long calls = entry.getValue();
+            long usec = counters.getOrDefault("server.cmd." + command + ".usec", 0L);
+            line.append(separator).append(String.format(Locale.ROOT, "%s %d x %.1f us", command, calls, usec / (double) calls));
+            separator = ", ";
+        }
+        return line.toString();
+    }
+
+    private void putDelta(Map<String, Long> counters, String name, String field, Snapshot end) {
+        Long before = start.fields.get(field);
+        Long after = end.fields.get(field);
+        if (before != null && after != null) {
+            counters.put(name, after - before);
+        }
+    }
+
+    /**
+     * Fields missing from older servers (e.g. tracking before Redis 6) are left out.
+     */
+    private static void putValue(Map<String, Long> counters, String name, String field, Snapshot end) {
+        Long value = end.fields.get(field);
+        if (value != null) {
+            counters.put(name, value);
+        }
+    }
+
+    /**
+     * Sum over all servers; {@code null} if any of them could not be read.
+     */
+    private Snapshot snapshot() {
+        try {
+            Map<String, Long> fields = new HashMap<>();
+            Map<String, long[]> commands = new TreeMap<>();
+            for (Jedis jedis : connections) {
+                for (String section : Arrays.asList("stats", "clients", "memory")) {
+                    parseFields(jedis.info(section), fields);
+                }
+                parseCommands(jedis.info("commandstats"), commands);
+            }
+            return new Snapshot(fields, commands);
+        } catch (JedisException e) {
+            return null;
+        }
+    }
+
+    private static void parseFields(String info, Map<String, Long> fields) {
+        for (String line : info.split("\r?\n")) {
+            int colon = line.indexOf(':');
+            if (line.startsWith("#") || colon <= 0) {
+                continue;
+            }
+            try {
+                fields.merge(line.substring(0, colon), Long.parseLong(line.substring(colon + 1).trim()), Long::sum);
+            } catch (NumberFormatException ignored) {
+                // not a counter, e.g. used_memory_human
+            }
+        }
+    }
+
+    /**
+     * Adds to {@code commands}: command name (e.g. {@code get}, {@code client|list}) to {calls, usec}.
+     */
+    private static void parseCommands(String info, Map<String, long[]> commands) {
+        for (String line : info.split("\r?\n")) {
+            int colon = line.indexOf(':');
+            if (!line.startsWith("cmdstat_") || colon <= 0) {
+                continue;
+            }
+            long[] values = new long[2];
+            for (String field : line.substring(colon + 1).split(",")) {
+                if (field.startsWith("calls=")) {
+                    values[0] = Long.parseLong(field.substring("calls=".length()));
+                } else if (field.startsWith("usec=")) {
+                    values[1] = Long.parseLong(field.substring("usec=".length()));
+                }
+            }
+            long[] total = commands.computeIfAbsent(line.substring("cmdstat_".length(), colon), k -> new long[2]);
+            total[0] += values[0];
+            total[1] += values[1];
+        }
+    }
+
+    @Override
+    public void close() {
+        ServerConnectionGauge.closeAll(connections);
+    }
+
+    private static final class Snapshot {
+
+        final Map<String, Long> fields;
+        final Map<String, long[]> commands;
+
+        Snapshot(Map<String, Long> fields, Map<String, long[]> commands) {
+            this.fields = Collections.unmodifiableMap(fields);
+            this.commands = commands;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.easyap.redisperf.model;
+
+import org.apache.commons.lang3.RandomStringUtils;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Structured payload of a chosen size for the payload size sweep: about half of it in string attributes, half in
+ * numeric readings, so serialization walks both an object graph and a primitive array.
+ */
+public class SizedRecord implements Serializable {
+
+    private static final long serialVersionUID = 9L;
+    private static final int ATTRIBUTE_VALUE_LENGTH = 48;
+
+    private final long id;
+    private final Map<String, String> attributes;
+    private final long[] readings;
+
+    public SizedRecord(long id, Map<String, String> attributes, long[] readings) {
+        this.id = id;
+        this.attributes = attributes;
+        this.readings = readings;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public long[] getReadings() {
+        return readings;
+    }
+
+    /**
+     * @param bytes approximate serialized size
+     */
+    public static SizedRecord random(int bytes) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        // each attribute costs its value plus a short key and the map entry overhead
+        int attributeCount = Math.max(1, bytes / 2 / (ATTRIBUTE_VALUE_LENGTH + 16));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.put("a" + i, RandomStringUtils.randomAlphanumeric(ATTRIBUTE_VALUE_LENGTH));
+        }
+        long[] readings = new long[Math.max(1, bytes / 2 / Long.BYTES)];
+        for (int i = 0; i < readings.length; i++) {
+            readings[i] = rnd.nextLong();
+        }
+        return new SizedRecord(rnd.nextLong(), attributes, readings);
+    }
+}
@@ -0,0 +1,107 @@
+package com.easyap.redisperf.pubsub;
+
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Jedis publish/subscribe: publishes through a pooled client, and gives every subscriber its own connection and
+ * thread blocked in {@code SUBSCRIBE} with a {@link BinaryJedisPubSub}, so a slow listener backs up only its own
+ * socket and server output buffer.
+ */
+public class JedisPubSubAdapter implements PubSubAdapter {
+
+    private static final long SUBSCRIBE_TIMEOUT_MILLIS = 5_000;
+
+    private final UnifiedJedis publisher;
+    private final Supplier<Jedis> subscriberConnections;
+    private final ExecutorService subscriberThreads = Executors.newCachedThreadPool();
+    private final List<BinaryJedisPubSub> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong disconnects = new AtomicLong();
+    private volatile boolean closed;
+
+    public JedisPubSubAdapter(UnifiedJedis publisher, Supplier<Jedis> subscriberConnections) {
+        this.publisher = publisher;
+        this.subscriberConnections = subscriberConnections;
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<byte[]> listener) {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        BinaryJedisPubSub pubSub = new BinaryJedisPubSub() {
+            @Override
+            public void onMessage(byte[] messageChannel, byte[] message) {
+                listener.accept(message);
+            }
+
+            @Override
+            public void onSubscribe(byte[] subscribedChannel, int subscribedChannels) {
+                subscribed.countDown();
+            }
+        };
+        Jedis connection = subscriberConnections.get();
+        subscriberThreads.execute(() -> {
+            try {
+                connection.subscribe(pubSub, channel.getBytes(StandardCharsets.UTF_8));
+            } catch (JedisException e) {
+                if (!closed) {
+                    disconnects.incrementAndGet();
+                }
+            } finally {
+                connection.close();
+            }
+        });
+        try {
+            if (!subscribed.await(SUBSCRIBE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Subscription to " + channel + " not confirmed within " + SUBSCRIBE_TIMEOUT_MILLIS + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while subscribing to " + channel, e);
+        }
+        subscribers.add(pubSub);
+    }
+
+    @Override
+    public long publish(String channel, byte[] message) {
+        return publisher.publish(channel.getBytes(StandardCharsets.UTF_8), message);
+    }
+
+    @Override
+    public long disconnects() {
+        return disconnects.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (BinaryJedisPubSub subscriber : subscribers) {
+            if (subscriber.isSubscribed()) {
+                try {
+                    subscriber.unsubscribe();
+                } catch (JedisException ignored) {
+                    // connection already gone; its thread ends on its own
+                }
+            }
+        }
+        subscriberThreads.shutdown();
+        try {
+            subscriberThreads.awaitTermination(SUBSCRIBE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        publisher.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.easyap.redisperf.pubsub;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe on Redis channels. Messages are opaque bytes, published and received the same way by every
+ * client.
+ */
+public interface PubSubAdapter extends AutoCloseable {
+
+    /**
+     * Adds one subscriber to {@code channel} and returns once the server has confirmed the subscription. The
+     * listener runs on a thread of the client.
+     */
+    void subscribe(String channel, Consumer<byte[]> listener);
+
+    /**
+     * @return receivers reported by the server (connections, not listeners)
+     */
+    long publish(String channel, byte[] message);
+
+    /**
+     * Subscriber connections lost while subscribed, e.g. closed by the server's {@code client-output-buffer-limit
+     * pubsub}.
+     */
+    default long disconnects() {
+        return 0L;
+    }
+
+    /**
+     * Unsubscribes every subscriber and releases the client.
+     */
+    @Override
+    void close();
+}
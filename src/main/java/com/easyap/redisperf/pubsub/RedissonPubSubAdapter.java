@@ -0,0 +1,85 @@
+package com.easyap.redisperf.pubsub;
+
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.codec.ByteArrayCodec;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Redisson publish/subscribe through {@link RTopic} with {@link ByteArrayCodec}. Listeners of one channel share
+ * the client's subscription connection (from {@code setSubscriptionConnectionPoolSize}) and are called on
+ * Redisson's own threads.
+ *
+ * <p>Redisson resubscribes on its own when a subscription connection is lost. A {@link StatusListener} per channel
+ * sees every confirmed {@code SUBSCRIBE}; each one after the first is counted as a disconnect. Messages published
+ * while the channel was unsubscribed are gone and show up as drops.</p>
+ */
+public class RedissonPubSubAdapter implements PubSubAdapter {
+
+    private final RedissonClient client;
+    private final List<RTopic> topics = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, Boolean> watchedChannels = new ConcurrentHashMap<>();
+    private final LongAdder disconnects = new LongAdder();
+
+    public RedissonPubSubAdapter(RedissonClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<byte[]> listener) {
+        RTopic topic = client.getTopic(channel, ByteArrayCodec.INSTANCE);
+        if (watchedChannels.putIfAbsent(channel, Boolean.TRUE) == null) {
+            topic.addListener(new ResubscribeCounter());
+        }
+        MessageListener<byte[]> messageListener = (messageChannel, message) -> listener.accept(message);
+        topic.addListener(byte[].class, messageListener);
+        topics.add(topic);
+    }
+
+    @Override
+    public long publish(String channel, byte[] message) {
+        return client.getTopic(channel, ByteArrayCodec.INSTANCE).publish(message);
+    }
+
+    @Override
+    public long disconnects() {
+        return disconnects.sum();
+    }
+
+    @Override
+    public void close() {
+        for (RTopic topic : topics) {
+            topic.removeAllListeners();
+        }
+        client.shutdown();
+    }
+
+    /**
+     * The first confirmation is the initial subscription; later ones follow a lost connection.
+     */
+    private final class ResubscribeCounter implements StatusListener {
+
+        private boolean subscribed;
+
+        @Override
+        public synchronized void onSubscribe(String channel) {
+            if (subscribed) {
+                disconnects.increment();
+            }
+            subscribed = true;
+        }
+
+        @Override
+        public void onUnsubscribe(String channel) {
+            // only on close
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.easyap.redisperf.stream;
+
+import redis.clients.jedis.StreamEntryID;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.params.XAddParams;
+import redis.clients.jedis.params.XReadGroupParams;
+import redis.clients.jedis.resps.StreamEntryBinary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams on Jedis binary commands: {@code XADD}, {@code XREADGROUP} (decoded as {@link StreamEntryBinary}),
+ * {@code XACK} and {@code XPENDING}.
+ */
+public class JedisStreamAdapter implements StreamAdapter {
+
+    private static final byte[] TIMESTAMP = TIMESTAMP_FIELD.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PAYLOAD = PAYLOAD_FIELD.getBytes(StandardCharsets.US_ASCII);
+
+    private final UnifiedJedis jedis;
+
+    public JedisStreamAdapter(UnifiedJedis jedis) {
+        this.jedis = jedis;
+    }
+
+    @Override
+    public void createGroup(String stream, String group) {
+        jedis.xgroupCreate(stream, group, new StreamEntryID(), true);
+    }
+
+    @Override
+    public void add(String stream, long producedNanos, byte[] payload, int maxLength) {
+        Map<byte[], byte[]> fields = new HashMap<>(4);
+        fields.put(TIMESTAMP, Long.toString(producedNanos).getBytes(StandardCharsets.US_ASCII));
+        fields.put(PAYLOAD, payload);
+        jedis.xadd(stream.getBytes(StandardCharsets.UTF_8), XAddParams.xAddParams().maxLen(maxLength).approximateTrimming(), fields);
+    }
+
+    @Override
+    public List<StreamEvent> read(String stream, String group, String consumer, int count, int blockMillis) {
+        List<Map.Entry<byte[], List<StreamEntryBinary>>> streams = jedis.xreadGroupBinary(
+                group.getBytes(StandardCharsets.UTF_8),
+                consumer.getBytes(StandardCharsets.UTF_8),
+                XReadGroupParams.xReadGroupParams().count(count).block(blockMillis),
+                Collections.singletonMap(stream.getBytes(StandardCharsets.UTF_8), StreamEntryID.XREADGROUP_UNDELIVERED_ENTRY));
+        if (streams == null || streams.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<StreamEntryBinary> entries = streams.get(0).getValue();
+        List<StreamEvent> events = new ArrayList<>(entries.size());
+        for (StreamEntryBinary entry : entries) {
+            byte[] timestamp = null;
+            byte[] payload = null;
+            // byte[] keys hash by identity, so the fields are matched by content
+            for (Map.Entry<byte[], byte[]> field : entry.getFields().entrySet()) {
+                if (Arrays.equals(field.getKey(), TIMESTAMP)) {
+                    timestamp = field.getValue();
+                } else if (Arrays.equals(field.getKey(), PAYLOAD)) {
+                    payload = field.getValue();
+                }
+            }
+            if (timestamp == null || payload == null) {
+                throw new IllegalStateException("Stream entry " + entry.getID() + " lacks the ts or payload field");
+            }
+            events.add(new StreamEvent(entry.getID().toString(),
+                    Long.parseLong(new String(timestamp, StandardCharsets.US_ASCII)), payload));
+        }
+        return events;
+    }
+
+    @Override
+    public void ack(String stream, String group, List<StreamEvent> events) {
+        StreamEntryID[] ids = new StreamEntryID[events.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new StreamEntryID(events.get(i).id());
+        }
+        jedis.xack(stream, group, ids);
+    }
+
+    @Override
+    public long pending(String stream, String group) {
+        return jedis.xpending(stream, group).getTotal();
+    }
+
+    @Override
+    public void close() {
+        jedis.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.easyap.redisperf.stream;
+
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams on Redisson {@link RStream}, with string field names and byte-array values so entries match the ones
+ * Jedis writes.
+ */
+public class RedissonStreamAdapter implements StreamAdapter {
+
+    private static final CompositeCodec CODEC = new CompositeCodec(StringCodec.INSTANCE, ByteArrayCodec.INSTANCE);
+
+    private final RedissonClient client;
+
+    public RedissonStreamAdapter(RedissonClient client) {
+        this.client = client;
+    }
+
+    private RStream<String, byte[]> streamFor(String stream) {
+        return client.getStream(stream, CODEC);
+    }
+
+    @Override
+    public void createGroup(String stream, String group) {
+        streamFor(stream).createGroup(StreamCreateGroupArgs.name(group).id(StreamMessageId.ALL).makeStream());
+    }
+
+    @Override
+    public void add(String stream, long producedNanos, byte[] payload, int maxLength) {
+        Map<String, byte[]> fields = new HashMap<>(4);
+        fields.put(TIMESTAMP_FIELD, Long.toString(producedNanos).getBytes(StandardCharsets.US_ASCII));
+        fields.put(PAYLOAD_FIELD, payload);
+        streamFor(stream).add(StreamAddArgs.entries(fields).trimNonStrict().maxLen(maxLength).noLimit());
+    }
+
+    @Override
+    public List<StreamEvent> read(String stream, String group, String consumer, int count, int blockMillis) {
+        Map<StreamMessageId, Map<String, byte[]>> entries = streamFor(stream).readGroup(group, consumer,
+                StreamReadGroupArgs.neverDelivered().count(count).timeout(Duration.ofMillis(blockMillis)));
+        List<StreamEvent> events = new ArrayList<>(entries.size());
+        for (Map.Entry<StreamMessageId, Map<String, byte[]>> entry : entries.entrySet()) {
+            byte[] timestamp = entry.getValue().get(TIMESTAMP_FIELD);
+            byte[] payload = entry.getValue().get(PAYLOAD_FIELD);
+            if (timestamp == null || payload == null) {
+                throw new IllegalStateException("Stream entry " + entry.getKey() + " lacks the ts or payload field");
+            }
+            events.add(new StreamEvent(entry.getKey().getId0() + "-" + entry.getKey().getId1(),
+                    Long.parseLong(new String(timestamp, StandardCharsets.US_ASCII)), payload));
+        }
+        return events;
+    }
+
+    @Override
+    public void ack(String stream, String group, List<StreamEvent> events) {
+        StreamMessageId[] ids = new StreamMessageId[events.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String id = events.get(i).id();
+            int dash = id.indexOf('-');
+            ids[i] = new StreamMessageId(Long.parseLong(id.substring(0, dash)), Long.parseLong(id.substring(dash + 1)));
+        }
+        streamFor(stream).ack(group, ids);
+    }
+
+    @Override
+    public long pending(String stream, String group) {
+        return streamFor(stream).getPendingInfo(group).getTotal();
+    }
+
+    @Override
+    public void close() {
+        client.shutdown();
+    }
+}
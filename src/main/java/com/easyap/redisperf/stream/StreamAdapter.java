@@ -0,0 +1,39 @@
+package com.easyap.redisperf.stream;
+
+import java.util.List;
+
+/**
+ * Producer and consumer-group operations on a Redis stream. Every entry carries two fields, {@code ts} (the
+ * producer's timestamp as decimal text) and {@code payload} (raw bytes), written the same way by every client.
+ */
+public interface StreamAdapter extends AutoCloseable {
+
+    String TIMESTAMP_FIELD = "ts";
+    String PAYLOAD_FIELD = "payload";
+
+    /**
+     * Creates the group at the start of the stream, creating the stream as well.
+     */
+    void createGroup(String stream, String group);
+
+    /**
+     * {@code XADD}, trimming the stream to about {@code maxLength} entries.
+     */
+    void add(String stream, long producedNanos, byte[] payload, int maxLength);
+
+    /**
+     * {@code XREADGROUP ... >}: up to {@code count} entries never delivered to the group, waiting at most
+     * {@code blockMillis} for the first one.
+     */
+    List<StreamEvent> read(String stream, String group, String consumer, int count, int blockMillis);
+
+    void ack(String stream, String group, List<StreamEvent> events);
+
+    /**
+     * Entries delivered to the group but not acknowledged yet.
+     */
+    long pending(String stream, String group);
+
+    @Override
+    void close();
+}
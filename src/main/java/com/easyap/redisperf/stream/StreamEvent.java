@@ -0,0 +1,32 @@
+package com.easyap.redisperf.stream;
+
+/**
+ * One stream entry as read by a consumer: its id ({@code <ms>-<seq>}), the producer's timestamp and the payload.
+ */
+public final class StreamEvent {
+
+    private final String id;
+    private final long producedNanos;
+    private final byte[] payload;
+
+    public StreamEvent(String id, long producedNanos, byte[] payload) {
+        this.id = id;
+        this.producedNanos = producedNanos;
+        this.payload = payload;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * {@link System#nanoTime()} of the producer, comparable because producers and consumers share the JVM.
+     */
+    public long producedNanos() {
+        return producedNanos;
+    }
+
+    public byte[] payload() {
+        return payload;
+    }
+}
@@ -3,8 +3,10 @@ package com.easyap.redisperf.util;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 
 public final class JavaSerializationUtils {
 
@@ -25,12 +27,33 @@ public final class JavaSerializationUtils {
         }
     }
 
+    /**
+     * Streams the serialized form into {@code output} and closes it, without building the whole payload in memory.
+     */
+    public static void serialize(Object value, OutputStream output) {
+        try (ObjectOutputStream oos = new ObjectOutputStream(output)) {
+            oos.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize object of type " + value.getClass(), e);
+        }
+    }
+
     public static Object deserialize(byte[] data) {
         if (data == null) {
             return null;
         }
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data);
-             ObjectInputStream ois = new ObjectInputStream(bais)) {
+        return deserialize(data, 0, data.length);
+    }
+
+    public static Object deserialize(byte[] data, int offset, int length) {
+        if (data == null) {
+            return null;
+        }
+        return deserialize(new ByteArrayInputStream(data, offset, length));
+    }
+
+    public static Object deserialize(InputStream input) {
+        try (ObjectInputStream ois = new ObjectInputStream(input)) {
             return ois.readObject();
         } catch (IOException | ClassNotFoundException e) {
             throw new IllegalStateException("Failed to deserialize object", e);